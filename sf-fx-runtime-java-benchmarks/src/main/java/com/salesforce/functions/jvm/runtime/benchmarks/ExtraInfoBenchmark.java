@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.benchmarks;
+
+import com.google.gson.Gson;
+import com.salesforce.functions.jvm.runtime.invocation.undertow.ExtraInfo;
+import com.salesforce.functions.jvm.runtime.invocation.undertow.PhaseTimes;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/** Serialization of the x-extra-info header, the same way the invocation interface does it. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtraInfoBenchmark {
+  private final Gson gson = new Gson();
+  private ExtraInfo successExtraInfo;
+  private ExtraInfo exceptionExtraInfo;
+
+  @Setup
+  public void setUp() {
+    successExtraInfo =
+        new ExtraInfo()
+            .withCloudEventData(BenchmarkCloudEvents.withJsonData("{}"))
+            .withFunctionExecutionTime(Duration.ofMillis(12))
+            .withPhaseTimes(new PhaseTimes(Duration.ofNanos(42_000)))
+            .withStatusCode(200);
+
+    exceptionExtraInfo =
+        successExtraInfo
+            .withFunctionExceptionData(new IllegalStateException("Function failed!"))
+            .withStatusCode(500);
+  }
+
+  @Benchmark
+  public String serializeSuccess() throws UnsupportedEncodingException {
+    return URLEncoder.encode(gson.toJson(successExtraInfo), "UTF-8");
+  }
+
+  @Benchmark
+  public String serializeWithStackTrace() throws UnsupportedEncodingException {
+    return URLEncoder.encode(gson.toJson(exceptionExtraInfo), "UTF-8");
+  }
+}
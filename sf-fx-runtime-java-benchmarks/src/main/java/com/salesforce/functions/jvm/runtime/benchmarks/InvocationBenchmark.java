@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.benchmarks;
+
+import com.salesforce.functions.jvm.runtime.Constants;
+import com.salesforce.functions.jvm.runtime.invocation.undertow.UndertowInvocationInterface;
+import com.salesforce.functions.jvm.runtime.project.Project;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunction;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionsProjectFunctionsScanner;
+import com.salesforce.functions.jvm.runtime.util.ClassLoaderUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * A full HTTP request against a function served by {@link UndertowInvocationInterface} in the same
+ * JVM. The functions are the same as the integration test functions. They are discovered and loaded
+ * by the regular scanner in an isolated project class loader, so the benchmark covers the complete
+ * hot path: CloudEvent parsing, extension parsing, (un)marshalling, SDK initialization and writing
+ * the response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvocationBenchmark {
+  private static final String FUNCTIONS_PACKAGE_PATH =
+      "com/salesforce/functions/jvm/runtime/benchmarks/functions/";
+
+  @Param({"pojo", "string-reverse"})
+  public String function;
+
+  private Path sdkJarPath;
+  private Path classesPath;
+  private UndertowInvocationInterface invocationInterface;
+  private URL url;
+  private byte[] body;
+
+  @Setup
+  public void setUp() throws Exception {
+    String functionClassName;
+    switch (function) {
+      case "pojo":
+        functionClassName =
+            "com.salesforce.functions.jvm.runtime.benchmarks.functions.PojoFunction";
+        body = "{\"name\": \"Jonas\", \"age\": 0}".getBytes(StandardCharsets.UTF_8);
+        break;
+      case "string-reverse":
+        functionClassName =
+            "com.salesforce.functions.jvm.runtime.benchmarks.functions.StringReverseFunction";
+        body = "\"Hello World!\"".getBytes(StandardCharsets.UTF_8);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown function: " + function);
+    }
+
+    List<SalesforceFunction> functions =
+        new SalesforceFunctionsProjectFunctionsScanner(Constants.DEFAULT_SALESFORCE_API_VERSION)
+            .scan(createSampleFunctionsProject());
+
+    SalesforceFunction salesforceFunction =
+        functions.stream()
+            .filter(f -> f.getName().equals(functionClassName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Function not found!"));
+
+    int port = findFreePort();
+    invocationInterface = new UndertowInvocationInterface(port, "localhost");
+    invocationInterface.start(salesforceFunction);
+    url = new URL("http://localhost:" + port);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    invocationInterface.stop();
+
+    Files.deleteIfExists(sdkJarPath);
+    try (Stream<Path> paths = Files.walk(classesPath)) {
+      // Deletes the deepest paths first, directories have to be empty to be deleted.
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Benchmark
+  public byte[] invoke() throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod("POST");
+    connection.setDoOutput(true);
+    connection.setFixedLengthStreamingMode(body.length);
+    connection.setRequestProperty("Content-Type", "application/json");
+    connection.setRequestProperty("ce-specversion", "1.0");
+    connection.setRequestProperty("ce-id", BenchmarkCloudEvents.ID);
+    connection.setRequestProperty("ce-source", BenchmarkCloudEvents.SOURCE);
+    connection.setRequestProperty("ce-type", BenchmarkCloudEvents.TYPE);
+    connection.setRequestProperty("ce-time", BenchmarkCloudEvents.TIME);
+    connection.setRequestProperty("ce-sfcontext", BenchmarkCloudEvents.SALESFORCE_CONTEXT);
+    connection.setRequestProperty(
+        "ce-sffncontext", BenchmarkCloudEvents.SALESFORCE_FUNCTION_CONTEXT);
+
+    try (OutputStream outputStream = connection.getOutputStream()) {
+      outputStream.write(body);
+    }
+
+    if (connection.getResponseCode() != 200) {
+      throw new IllegalStateException("Unexpected status code: " + connection.getResponseCode());
+    }
+
+    // Reading the response fully allows the connection to be reused for the next request.
+    try (InputStream inputStream = connection.getInputStream()) {
+      ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        responseBody.write(buffer, 0, read);
+      }
+      return responseBody.toByteArray();
+    }
+  }
+
+  /**
+   * Creates a project from the sample function classes of this module and a copy of the SDK JAR.
+   * Both are copied out of the benchmark class loader since they might be packaged in a JAR file.
+   */
+  private Project createSampleFunctionsProject() throws IOException {
+    ClassLoader classLoader = InvocationBenchmark.class.getClassLoader();
+
+    sdkJarPath =
+        ClassLoaderUtils.copyFileFromClassLoader(classLoader, "sf-fx-sdk-java.jar")
+            .orElseThrow(() -> new IllegalStateException("Could not find SDK JAR!"));
+
+    classesPath = Files.createTempDirectory("sf-fx-benchmark-functions");
+    Path functionsPackagePath = classesPath.resolve(FUNCTIONS_PACKAGE_PATH);
+    Files.createDirectories(functionsPackagePath);
+
+    for (String className :
+        Arrays.asList("Input", "Output", "PojoFunction", "StringReverseFunction")) {
+      try (InputStream inputStream =
+          classLoader.getResourceAsStream(FUNCTIONS_PACKAGE_PATH + className + ".class")) {
+        if (inputStream == null) {
+          throw new IllegalStateException("Could not find sample function class " + className);
+        }
+
+        Files.copy(
+            inputStream,
+            functionsPackagePath.resolve(className + ".class"),
+            StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+
+    List<Path> classpathPaths = Arrays.asList(sdkJarPath, classesPath);
+    return new Project() {
+      @Override
+      public String getTypeName() {
+        return "Benchmark";
+      }
+
+      @Override
+      public List<Path> getClasspathPaths() {
+        return classpathPaths;
+      }
+    };
+  }
+
+  private static int findFreePort() throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(0)) {
+      return serverSocket.getLocalPort();
+    }
+  }
+}
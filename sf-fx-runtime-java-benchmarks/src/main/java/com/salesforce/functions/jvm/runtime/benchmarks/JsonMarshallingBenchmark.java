@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.gson.annotations.SerializedName;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling.JsonFunctionResultMarshaller;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling.JsonPayloadUnmarshaller;
+import io.cloudevents.CloudEvent;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Payload unmarshalling and result marshalling with each of the supported JSON libraries. The
+ * library is picked by {@link com.salesforce.functions.jvm.runtime.json.JsonLibraryDetector} based
+ * on the annotations of the payload class, just like for real functions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonMarshallingBenchmark {
+  private static final String JSON =
+      "{\"name\":\"Jonas\",\"age\":42,\"tags\":[\"a\",\"b\",\"c\"],\"address\":{\"street\":\"1 Market St\",\"city\":\"San Francisco\"}}";
+
+  @Param({"gson", "jackson", "fallback"})
+  public String library;
+
+  private JsonPayloadUnmarshaller unmarshaller;
+  private JsonFunctionResultMarshaller marshaller;
+  private CloudEvent cloudEvent;
+  private Object result;
+
+  @Setup
+  public void setUp() throws Exception {
+    Class<?> payloadClass;
+    switch (library) {
+      case "gson":
+        payloadClass = GsonPayload.class;
+        break;
+      case "jackson":
+        payloadClass = JacksonPayload.class;
+        break;
+      case "fallback":
+        payloadClass = PlainPayload.class;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown JSON library: " + library);
+    }
+
+    unmarshaller = new JsonPayloadUnmarshaller(payloadClass);
+    marshaller = new JsonFunctionResultMarshaller(payloadClass);
+    cloudEvent = BenchmarkCloudEvents.withJsonData(JSON);
+    result = unmarshaller.unmarshall(cloudEvent);
+  }
+
+  @Benchmark
+  public Object unmarshall() {
+    return unmarshaller.unmarshall(cloudEvent);
+  }
+
+  @Benchmark
+  public int marshall() {
+    // The result is released like the invocation interface does after writing the response, the
+    // pooled buffer is therefore reused by the next iteration.
+    SalesforceFunctionResult marshalledResult = marshaller.marshall(result);
+    int size = marshalledResult.getDataBuffer().remaining();
+    marshalledResult.release();
+    return size;
+  }
+
+  public static class GsonPayload {
+    @SerializedName("name")
+    public String name;
+
+    @SerializedName("age")
+    public int age;
+
+    @SerializedName("tags")
+    public List<String> tags = Arrays.asList();
+
+    @SerializedName("address")
+    public Address address;
+  }
+
+  public static class JacksonPayload {
+    @JsonProperty("name")
+    public String name;
+
+    @JsonProperty("age")
+    public int age;
+
+    @JsonProperty("tags")
+    public List<String> tags = Arrays.asList();
+
+    @JsonProperty("address")
+    public Address address;
+  }
+
+  public static class PlainPayload {
+    public String name;
+    public int age;
+    public List<String> tags = Arrays.asList();
+    public Address address;
+  }
+
+  public static class Address {
+    public String street;
+    public String city;
+  }
+}
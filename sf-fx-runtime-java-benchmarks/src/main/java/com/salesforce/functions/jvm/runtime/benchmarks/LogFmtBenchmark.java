@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.benchmarks;
+
+import com.salesforce.functions.jvm.runtime.logger.LogFmt;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogFmtBenchmark {
+  private final Map<String, String> simpleLine = new LinkedHashMap<>();
+  private final Map<String, String> quotedLine = new LinkedHashMap<>();
+
+  @Setup
+  public void setUp() {
+    simpleLine.put("level", "INFO");
+    simpleLine.put("logger", "com.example.MyFunction");
+    simpleLine.put("invocationId", BenchmarkCloudEvents.ID);
+    simpleLine.put("msg", "Processing");
+
+    quotedLine.putAll(simpleLine);
+    quotedLine.put("msg", "Processing \"Account\" records\n\tfor user=005xx000001X8Uz");
+  }
+
+  @Benchmark
+  public String formatSimple() {
+    return LogFmt.format(simpleLine);
+  }
+
+  @Benchmark
+  public String formatWithQuoting() {
+    return LogFmt.format(quotedLine);
+  }
+}
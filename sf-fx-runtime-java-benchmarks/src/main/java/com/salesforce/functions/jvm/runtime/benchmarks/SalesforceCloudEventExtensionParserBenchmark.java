@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.benchmarks;
+
+import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceCloudEventExtensionParser;
+import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceContextCloudEventExtension;
+import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceFunctionContextCloudEventExtension;
+import io.cloudevents.CloudEvent;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SalesforceCloudEventExtensionParserBenchmark {
+  private final CloudEvent cloudEvent = BenchmarkCloudEvents.withJsonData("{}");
+
+  @Benchmark
+  public Optional<SalesforceContextCloudEventExtension> parseSalesforceContext() {
+    return SalesforceCloudEventExtensionParser.parseSalesforceContext(cloudEvent);
+  }
+
+  @Benchmark
+  public Optional<SalesforceFunctionContextCloudEventExtension> parseSalesforceFunctionContext() {
+    return SalesforceCloudEventExtensionParser.parseSalesforceFunctionContext(cloudEvent);
+  }
+}
@@ -0,0 +1,15 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.benchmarks.functions;
+
+public class Output {
+  private final String result;
+
+  public Output(String result) {
+    this.result = result;
+  }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.benchmarks.functions;
+
+import com.salesforce.functions.jvm.sdk.Context;
+import com.salesforce.functions.jvm.sdk.InvocationEvent;
+import com.salesforce.functions.jvm.sdk.SalesforceFunction;
+
+/** Same as the pojo integration test function. */
+public class PojoFunction implements SalesforceFunction<Input, Output> {
+  @Override
+  public Output apply(InvocationEvent<Input> event, Context context) throws Exception {
+    Input data = event.getData();
+    return new Output(
+        String.format("Hello %s, you are %d years old!", data.getName(), data.getAge()));
+  }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.benchmarks.functions;
+
+import com.salesforce.functions.jvm.sdk.Context;
+import com.salesforce.functions.jvm.sdk.InvocationEvent;
+import com.salesforce.functions.jvm.sdk.SalesforceFunction;
+
+/** Same as the string-reverse integration test function. */
+public class StringReverseFunction implements SalesforceFunction<String, String> {
+  @Override
+  public String apply(InvocationEvent<String> event, Context context) throws Exception {
+    return new StringBuilder(event.getData()).reverse().toString();
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.cloudevent;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A CloudEvent extension that is decoded on first access. The raw value of the extension has
+ * already been validated to be well-formed base64, decoding can still fail if the decoded data is
+ * not valid JSON or does not match the extension's schema.
+ *
+ * @param <A> The type of the decoded extension.
+ */
+public final class LazyCloudEventExtension<A> implements Supplier<A> {
+  private final String extensionName;
+  private final String rawExtension;
+  private final Function<String, Optional<A>> decoder;
+
+  // Decoding is idempotent, threads racing on the first access at most decode the extension twice.
+  private volatile A value;
+  private volatile boolean malformed;
+
+  LazyCloudEventExtension(
+      String extensionName, String rawExtension, Function<String, Optional<A>> decoder) {
+    this.extensionName = extensionName;
+    this.rawExtension = rawExtension;
+    this.decoder = decoder;
+  }
+
+  /**
+   * Creates an instance for an extension that has already been decoded.
+   *
+   * @param extensionName The name of the CloudEvent extension.
+   * @param value The decoded extension.
+   * @param <A> The type of the decoded extension.
+   * @return An instance that returns the given value.
+   */
+  public static <A> LazyCloudEventExtension<A> of(String extensionName, A value) {
+    LazyCloudEventExtension<A> extension =
+        new LazyCloudEventExtension<>(extensionName, null, rawExtension -> Optional.of(value));
+    extension.value = value;
+    return extension;
+  }
+
+  /**
+   * Returns the decoded extension, decoding it if it has not been accessed before.
+   *
+   * @return The decoded extension.
+   * @throws MalformedCloudEventExtensionException If the extension is malformed.
+   */
+  @Override
+  public A get() {
+    A result = value;
+    if (result != null) {
+      return result;
+    }
+
+    if (!malformed) {
+      Optional<A> optionalResult = decoder.apply(rawExtension);
+      if (optionalResult.isPresent()) {
+        value = optionalResult.get();
+        return value;
+      }
+
+      malformed = true;
+    }
+
+    throw new MalformedCloudEventExtensionException(extensionName);
+  }
+
+  /**
+   * Returns if the extension has been accessed and could not be decoded.
+   *
+   * @return True if decoding the extension failed.
+   */
+  public boolean isMalformed() {
+    return malformed;
+  }
+
+  /**
+   * Returns if the extension has been decoded successfully.
+   *
+   * @return True if the extension has been decoded.
+   */
+  public boolean isDecoded() {
+    return value != null;
+  }
+}
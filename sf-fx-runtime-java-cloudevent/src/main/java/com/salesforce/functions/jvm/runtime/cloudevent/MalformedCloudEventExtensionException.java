@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.cloudevent;
+
+/**
+ * Thrown when a {@link LazyCloudEventExtension} is accessed for the first time and turns out to be
+ * malformed. Extensions are validated to be well-formed base64 before a function is invoked, but
+ * whether the decoded data is valid JSON that matches the extension's schema is only known once the
+ * function accesses its org.
+ *
+ * <p>The runtime rejects the invocation as malformed even if the function catches this exception.
+ */
+public class MalformedCloudEventExtensionException extends RuntimeException {
+  private final String extensionName;
+
+  public MalformedCloudEventExtensionException(String extensionName) {
+    super("Malformed " + extensionName + " CloudEvent extension!");
+    this.extensionName = extensionName;
+  }
+
+  public String getExtensionName() {
+    return extensionName;
+  }
+}
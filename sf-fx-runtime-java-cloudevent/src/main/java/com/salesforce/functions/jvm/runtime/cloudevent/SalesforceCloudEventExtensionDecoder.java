@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.cloudevent;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.CharArrayReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Decodes the base64 encoded JSON of the sfcontext and sffncontext CloudEvent extensions. The
+ * extensions have a small, fixed schema (see context-schema.json and function-context-schema.json)
+ * which is read with a streaming {@link JsonReader} instead of GSON's reflective databinding. The
+ * base64 and UTF-8 decoding steps use buffers that are reused by each platform thread. Virtual
+ * threads usually run a single invocation, buffers kept for them would never be reused, so they
+ * decode into arrays of the exact size instead.
+ *
+ * <p>The results are the same as binding the decoded JSON with GSON: unknown properties are
+ * ignored, booleans and numbers are accepted for string properties, and an empty document or a JSON
+ * null results in an empty optional. Malformed JSON results in an empty optional. Malformed base64
+ * results in an {@link IllegalArgumentException}, just like with {@link java.util.Base64.Decoder}.
+ */
+final class SalesforceCloudEventExtensionDecoder {
+  // Extensions that need buffers larger than this are decoded into temporary arrays, the buffers of
+  // a thread never grow beyond this size.
+  private static final int MAXIMUM_RETAINED_BUFFER_SIZE = 64 * 1024;
+  private static final int INITIAL_BUFFER_SIZE = 2048;
+
+  private static final int[] BASE64_VALUES = new int[256];
+
+  static {
+    Arrays.fill(BASE64_VALUES, -1);
+
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    for (int i = 0; i < alphabet.length(); i++) {
+      BASE64_VALUES[alphabet.charAt(i)] = i;
+    }
+  }
+
+  private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+  // Thread#isVirtual is only available on Java 21 and later, virtual threads do not exist before.
+  private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+  private SalesforceCloudEventExtensionDecoder() {}
+
+  static Optional<SalesforceContextCloudEventExtension> decodeSalesforceContext(String base64) {
+    try (JsonReader reader = createReader(base64)) {
+      if (isEmptyOrNull(reader)) {
+        return Optional.empty();
+      }
+
+      String apiVersion = null;
+      String payloadVersion = null;
+      UserContext userContext = null;
+
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "apiVersion":
+            apiVersion = nextString(reader);
+            break;
+          case "payloadVersion":
+            payloadVersion = nextString(reader);
+            break;
+          case "userContext":
+            userContext = nextUserContext(reader);
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+      assertFullyConsumed(reader);
+
+      return Optional.of(
+          new SalesforceContextCloudEventExtension(apiVersion, payloadVersion, userContext));
+    } catch (IOException | IllegalStateException | NumberFormatException | URISyntaxException e) {
+      return Optional.empty();
+    }
+  }
+
+  static Optional<SalesforceFunctionContextCloudEventExtension> decodeSalesforceFunctionContext(
+      String base64) {
+    try (JsonReader reader = createReader(base64)) {
+      if (isEmptyOrNull(reader)) {
+        return Optional.empty();
+      }
+
+      String accessToken = null;
+      String functionInvocationId = null;
+      String functionName = null;
+      String apexId = null;
+      String apexFQN = null;
+      String requestId = null;
+      String resource = null;
+
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "accessToken":
+            accessToken = nextString(reader);
+            break;
+          case "functionInvocationId":
+            functionInvocationId = nextString(reader);
+            break;
+          case "functionName":
+            functionName = nextString(reader);
+            break;
+          case "apexId":
+            apexId = nextString(reader);
+            break;
+          case "apexFQN":
+            apexFQN = nextString(reader);
+            break;
+          case "requestId":
+            requestId = nextString(reader);
+            break;
+          case "resource":
+            resource = nextString(reader);
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+      assertFullyConsumed(reader);
+
+      return Optional.of(
+          new SalesforceFunctionContextCloudEventExtension(
+              accessToken,
+              functionInvocationId,
+              functionName,
+              apexId,
+              apexFQN,
+              requestId,
+              resource));
+    } catch (IOException | IllegalStateException | NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Checks if the given string is well-formed base64 without decoding it. Strings accepted by this
+   * method are also accepted by {@link java.util.Base64#getDecoder()}.
+   */
+  static boolean isWellFormedBase64(String base64) {
+    int length = base64.length();
+
+    int paddingLength = 0;
+    if (length > 0 && base64.charAt(length - 1) == '=') {
+      paddingLength = length > 1 && base64.charAt(length - 2) == '=' ? 2 : 1;
+    }
+
+    int dataLength = length - paddingLength;
+    for (int i = 0; i < dataLength; i++) {
+      char c = base64.charAt(i);
+      if (c >= 256 || BASE64_VALUES[c] < 0) {
+        return false;
+      }
+    }
+
+    int lastUnitLength = dataLength % 4;
+    if (lastUnitLength == 1) {
+      return false;
+    }
+
+    // Padding is optional, but if present it must complete the last unit.
+    return paddingLength == 0 || lastUnitLength + paddingLength == 4;
+  }
+
+  private static UserContext nextUserContext(JsonReader reader)
+      throws IOException, URISyntaxException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+
+    String orgId = null;
+    String userId = null;
+    String onBehalfOfUserId = null;
+    String username = null;
+    URI salesforceBaseUrl = null;
+    URI orgDomainUrl = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "orgId":
+          orgId = nextString(reader);
+          break;
+        case "userId":
+          userId = nextString(reader);
+          break;
+        case "onBehalfOfUserId":
+          onBehalfOfUserId = nextString(reader);
+          break;
+        case "username":
+          username = nextString(reader);
+          break;
+        case "salesforceBaseUrl":
+          salesforceBaseUrl = nextUri(reader);
+          break;
+        case "orgDomainUrl":
+          orgDomainUrl = nextUri(reader);
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    return new UserContext(
+        orgId, userId, onBehalfOfUserId, username, salesforceBaseUrl, orgDomainUrl);
+  }
+
+  // Mirrors GSON's adapter for strings, which also accepts booleans and numbers.
+  private static String nextString(JsonReader reader) throws IOException {
+    JsonToken token = reader.peek();
+    if (token == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(reader.nextBoolean());
+    }
+
+    return reader.nextString();
+  }
+
+  // Mirrors GSON's adapter for URIs, which treats the string "null" like a JSON null.
+  private static URI nextUri(JsonReader reader) throws IOException, URISyntaxException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+
+    String string = reader.nextString();
+    return "null".equals(string) ? null : new URI(string);
+  }
+
+  private static boolean isEmptyOrNull(JsonReader reader) throws IOException {
+    JsonToken token;
+    try {
+      token = reader.peek();
+    } catch (EOFException e) {
+      return true;
+    }
+
+    if (token == JsonToken.NULL) {
+      reader.nextNull();
+      return true;
+    }
+
+    return false;
+  }
+
+  private static void assertFullyConsumed(JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.END_DOCUMENT) {
+      throw new IllegalStateException("JSON document was not fully consumed.");
+    }
+  }
+
+  private static JsonReader createReader(String base64) {
+    int maximumByteCount = base64.length() / 4 * 3 + 3;
+
+    final Reader jsonReader;
+    if (maximumByteCount > MAXIMUM_RETAINED_BUFFER_SIZE || isVirtualThread()) {
+      byte[] bytes = new byte[maximumByteCount];
+      int byteCount = decodeBase64(base64, bytes);
+      jsonReader = new StringReader(new String(bytes, 0, byteCount, StandardCharsets.UTF_8));
+    } else {
+      Buffers buffers = BUFFERS.get();
+      int byteCount = decodeBase64(base64, buffers.bytes(maximumByteCount));
+      int charCount = buffers.decodeUtf8(byteCount);
+      jsonReader = new CharArrayReader(buffers.chars, 0, charCount);
+    }
+
+    // GSON reads leniently when binding and so does this decoder.
+    JsonReader reader = new JsonReader(jsonReader);
+    reader.setLenient(true);
+    return reader;
+  }
+
+  private static boolean isVirtualThread() {
+    if (IS_VIRTUAL == null) {
+      return false;
+    }
+
+    try {
+      return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+    } catch (Throwable t) {
+      return false;
+    }
+  }
+
+  private static MethodHandle findIsVirtual() {
+    try {
+      return MethodHandles.publicLookup()
+          .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Decodes the given base64 string into the given array, following the same rules as {@link
+   * java.util.Base64#getDecoder()}: padding is optional, but characters after the padding or
+   * outside the base64 alphabet are rejected.
+   */
+  private static int decodeBase64(String base64, byte[] destination) {
+    int bits = 0;
+    int shiftTo = 18;
+    int destinationIndex = 0;
+    int index = 0;
+    int length = base64.length();
+
+    while (index < length) {
+      char c = base64.charAt(index++);
+
+      if (c == '=') {
+        // Padding cannot start a unit and a unit with only two characters needs two of them.
+        if (shiftTo == 18) {
+          throw new IllegalArgumentException("Input byte array has wrong 4-byte ending unit");
+        }
+
+        if (shiftTo == 6 && (index == length || base64.charAt(index++) != '=')) {
+          throw new IllegalArgumentException("Input byte array has wrong 4-byte ending unit");
+        }
+        break;
+      }
+
+      int value = c < 256 ? BASE64_VALUES[c] : -1;
+      if (value < 0) {
+        throw new IllegalArgumentException(
+            "Illegal base64 character " + Integer.toString(c < 256 ? c : '?', 16));
+      }
+
+      bits |= value << shiftTo;
+      shiftTo -= 6;
+
+      if (shiftTo < 0) {
+        destination[destinationIndex++] = (byte) (bits >> 16);
+        destination[destinationIndex++] = (byte) (bits >> 8);
+        destination[destinationIndex++] = (byte) bits;
+        shiftTo = 18;
+        bits = 0;
+      }
+    }
+
+    if (shiftTo == 6) {
+      destination[destinationIndex++] = (byte) (bits >> 16);
+    } else if (shiftTo == 0) {
+      destination[destinationIndex++] = (byte) (bits >> 16);
+      destination[destinationIndex++] = (byte) (bits >> 8);
+    } else if (shiftTo == 12) {
+      throw new IllegalArgumentException("Last unit does not have enough valid bits");
+    }
+
+    if (index < length) {
+      throw new IllegalArgumentException("Input byte array has incorrect ending byte at " + index);
+    }
+
+    return destinationIndex;
+  }
+
+  private static final class Buffers {
+    // Malformed input is replaced, just like when constructing a String from the bytes.
+    private final CharsetDecoder utf8Decoder =
+        StandardCharsets.UTF_8
+            .newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private byte[] bytes = new byte[INITIAL_BUFFER_SIZE];
+    private char[] chars = new char[INITIAL_BUFFER_SIZE];
+
+    // The minimum size never exceeds MAXIMUM_RETAINED_BUFFER_SIZE, see createReader.
+    private byte[] bytes(int minimumSize) {
+      if (bytes.length < minimumSize) {
+        bytes = new byte[minimumSize];
+      }
+
+      return bytes;
+    }
+
+    private int decodeUtf8(int byteCount) {
+      // Each UTF-8 encoded byte results in at most one UTF-16 char.
+      if (chars.length < byteCount) {
+        chars = new char[byteCount];
+      }
+
+      CharBuffer charBuffer = CharBuffer.wrap(chars);
+      utf8Decoder.reset();
+      utf8Decoder.decode(ByteBuffer.wrap(bytes, 0, byteCount), charBuffer, true);
+      utf8Decoder.flush(charBuffer);
+
+      return charBuffer.position();
+    }
+  }
+}
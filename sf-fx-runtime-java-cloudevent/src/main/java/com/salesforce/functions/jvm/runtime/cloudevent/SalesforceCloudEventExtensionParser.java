@@ -7,7 +7,6 @@
 package com.salesforce.functions.jvm.runtime.cloudevent;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 import io.cloudevents.CloudEvent;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
@@ -16,18 +15,101 @@ import java.util.Optional;
 public final class SalesforceCloudEventExtensionParser {
   private static final Gson gson = new Gson();
 
+  private static final int SALESFORCE_CONTEXT_CACHE_SIZE = 256;
+
+  // The sfcontext extension only depends on the org and user invoking the function and is therefore
+  // usually byte-identical across invocations. Parsed extensions have no setters and can be shared
+  // between invocations. The sffncontext extension is not cached since it contains the request id
+  // and is unique for every invocation.
+  //
+  // Lookups happen on every invocation and must not contend on a lock. Once the cache is full,
+  // entries of orgs and users that have not invoked the function recently are evicted first.
+  private static final SecondChanceCache<String, SalesforceContextCloudEventExtension>
+      salesforceContextCache = new SecondChanceCache<>(SALESFORCE_CONTEXT_CACHE_SIZE);
+
   private SalesforceCloudEventExtensionParser() {}
 
   public static Optional<SalesforceContextCloudEventExtension> parseSalesforceContext(
       CloudEvent cloudEvent) {
-    return parseBase64JsonExtension(
-        cloudEvent, "sfcontext", SalesforceContextCloudEventExtension.class);
+    Object sfContextExtensionObject = cloudEvent.getExtension("sfcontext");
+    if (!(sfContextExtensionObject instanceof String)) {
+      return Optional.empty();
+    }
+
+    return decodeSalesforceContext((String) sfContextExtensionObject);
   }
 
   public static Optional<SalesforceFunctionContextCloudEventExtension>
       parseSalesforceFunctionContext(CloudEvent cloudEvent) {
-    return parseBase64JsonExtension(
-        cloudEvent, "sffncontext", SalesforceFunctionContextCloudEventExtension.class);
+    Object sfFunctionContextExtensionObject = cloudEvent.getExtension("sffncontext");
+    if (!(sfFunctionContextExtensionObject instanceof String)) {
+      return Optional.empty();
+    }
+
+    return SalesforceCloudEventExtensionDecoder.decodeSalesforceFunctionContext(
+        (String) sfFunctionContextExtensionObject);
+  }
+
+  /**
+   * Validates that the sfcontext extension is present and well-formed base64, decoding is deferred
+   * until the extension is accessed for the first time.
+   *
+   * @param cloudEvent The CloudEvent to read the extension from.
+   * @return The lazily decoded extension or an empty optional if the extension is missing or not
+   *     well-formed base64.
+   */
+  public static Optional<LazyCloudEventExtension<SalesforceContextCloudEventExtension>>
+      parseSalesforceContextLazily(CloudEvent cloudEvent) {
+    Object sfContextExtensionObject = cloudEvent.getExtension("sfcontext");
+    if (!(sfContextExtensionObject instanceof String)) {
+      return Optional.empty();
+    }
+
+    String rawExtension = (String) sfContextExtensionObject;
+
+    // Cached extensions are known to be valid and are available without decoding.
+    SalesforceContextCloudEventExtension salesforceContext =
+        salesforceContextCache.get(rawExtension);
+    if (salesforceContext != null) {
+      return Optional.of(LazyCloudEventExtension.of("sfcontext", salesforceContext));
+    }
+
+    if (!SalesforceCloudEventExtensionDecoder.isWellFormedBase64(rawExtension)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(
+        new LazyCloudEventExtension<>(
+            "sfcontext",
+            rawExtension,
+            SalesforceCloudEventExtensionParser::decodeSalesforceContext));
+  }
+
+  /**
+   * Validates that the sffncontext extension is present and well-formed base64, decoding is
+   * deferred until the extension is accessed for the first time.
+   *
+   * @param cloudEvent The CloudEvent to read the extension from.
+   * @return The lazily decoded extension or an empty optional if the extension is missing or not
+   *     well-formed base64.
+   */
+  public static Optional<LazyCloudEventExtension<SalesforceFunctionContextCloudEventExtension>>
+      parseSalesforceFunctionContextLazily(CloudEvent cloudEvent) {
+    Object sfFunctionContextExtensionObject = cloudEvent.getExtension("sffncontext");
+    if (!(sfFunctionContextExtensionObject instanceof String)) {
+      return Optional.empty();
+    }
+
+    String rawExtension = (String) sfFunctionContextExtensionObject;
+    if (!SalesforceCloudEventExtensionDecoder.isWellFormedBase64(rawExtension)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(
+        new LazyCloudEventExtension<>(
+            "sffncontext",
+            rawExtension,
+            SalesforceCloudEventExtensionDecoder::decodeSalesforceFunctionContext));
   }
 
   public static String serializeSalesforceFunctionContext(
@@ -40,21 +122,24 @@ public final class SalesforceCloudEventExtensionParser {
     return writeBase64JsonExtension(salesforceContext);
   }
 
-  private static <A> Optional<A> parseBase64JsonExtension(
-      CloudEvent cloudEvent, String extensionName, Class<A> clazz) {
-    Object sfContextExtensionObject = cloudEvent.getExtension(extensionName);
-    if (!(sfContextExtensionObject instanceof String)) {
-      return Optional.empty();
-    }
+  private static Optional<SalesforceContextCloudEventExtension> decodeSalesforceContext(
+      String rawExtension) {
+    SalesforceContextCloudEventExtension salesforceContext =
+        salesforceContextCache.get(rawExtension);
 
-    byte[] base64DecodedExtension = Base64.getDecoder().decode((String) sfContextExtensionObject);
-    String extensionString = new String(base64DecodedExtension, StandardCharsets.UTF_8);
+    if (salesforceContext == null) {
+      Optional<SalesforceContextCloudEventExtension> optionalSalesforceContext =
+          SalesforceCloudEventExtensionDecoder.decodeSalesforceContext(rawExtension);
 
-    try {
-      return Optional.ofNullable(gson.fromJson(extensionString, clazz));
-    } catch (JsonSyntaxException e) {
-      return Optional.empty();
+      // Malformed extensions are not cached, they are rare and must not evict valid entries.
+      optionalSalesforceContext.ifPresent(
+          parsedSalesforceContext ->
+              salesforceContextCache.put(rawExtension, parsedSalesforceContext));
+
+      return optionalSalesforceContext;
     }
+
+    return Optional.of(salesforceContext);
   }
 
   private static String writeBase64JsonExtension(Object extensionInstance) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.cloudevent;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded concurrent cache with second-chance (clock) eviction, an approximation of LRU.
+ *
+ * <p>Lookups do not take a lock, they only mark the entry as referenced. Once the cache is full, a
+ * clock hand sweeps over the entries, clearing the mark of referenced entries and evicting the
+ * first entry that has not been referenced since the hand last passed it. Frequently read entries
+ * therefore survive, while entries that were only inserted are evicted first.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+final class SecondChanceCache<K, V> {
+  private final int maximumSize;
+  private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+  // Guarded by this. Iterators of ConcurrentHashMap are weakly consistent, the hand can continue
+  // where the last eviction stopped even if the map was modified in the meantime.
+  private Iterator<Map.Entry<K, Entry<V>>> hand = Collections.emptyIterator();
+
+  SecondChanceCache(int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum size must be at least 1!");
+    }
+
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Returns the cached value for the given key and marks it as referenced.
+   *
+   * @param key The key to look up.
+   * @return The cached value or null if there is none.
+   */
+  V get(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+
+    // Hot entries are already marked, not writing the flag again keeps their cache line shared.
+    if (!entry.referenced) {
+      entry.referenced = true;
+    }
+
+    return entry.value;
+  }
+
+  /**
+   * Caches the given value, evicting another entry if the cache is full. Concurrent insertions can
+   * briefly exceed the maximum size by the number of inserting threads.
+   *
+   * @param key The key to cache the value for.
+   * @param value The value to cache.
+   */
+  void put(K key, V value) {
+    if (entries.size() >= maximumSize) {
+      evict();
+    }
+
+    entries.put(key, new Entry<>(value));
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private synchronized void evict() {
+    // Every entry is passed at most twice, once to clear its mark and once to evict it. Readers can
+    // mark entries again while the hand sweeps, the sweep is bounded regardless.
+    int remainingSteps = 2 * entries.size() + 1;
+
+    while (true) {
+      if (!hand.hasNext()) {
+        hand = entries.entrySet().iterator();
+        if (!hand.hasNext()) {
+          return;
+        }
+      }
+
+      Map.Entry<K, Entry<V>> candidate = hand.next();
+      Entry<V> entry = candidate.getValue();
+
+      if (entry.referenced && --remainingSteps > 0) {
+        entry.referenced = false;
+      } else if (entries.remove(candidate.getKey(), entry)) {
+        return;
+      }
+    }
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+    private volatile boolean referenced;
+
+    private Entry(V value) {
+      this.value = value;
+    }
+  }
+}
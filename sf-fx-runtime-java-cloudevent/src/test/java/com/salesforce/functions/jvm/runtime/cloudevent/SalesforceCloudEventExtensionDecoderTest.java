@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.cloudevent;
+
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+public class SalesforceCloudEventExtensionDecoderTest {
+  private static final Gson gson = new Gson();
+
+  private static final List<String> SALESFORCE_CONTEXT_JSON =
+      Arrays.asList(
+          "{\"apiVersion\":\"50.0\",\"payloadVersion\":\"0.1\",\"userContext\":{\"orgId\":\"00Dxx0000006IYJ\",\"userId\":\"005xx000001X8Uz\",\"onBehalfOfUserId\":null,\"username\":\"test@example.com\",\"salesforceBaseUrl\":\"https://example.my.salesforce.com\",\"orgDomainUrl\":\"https://example.my.salesforce.com\"}}",
+          "{\"userContext\":{\"orgDomainUrl\":\"null\",\"unknown\":[1,{\"a\":2}]},\"extra\":{\"x\":true}}",
+          "{\"apiVersion\":50.0,\"payloadVersion\":true,\"userContext\":null}",
+          "{\"apiVersion\":\"1\",\"apiVersion\":\"2\"}",
+          "  {apiVersion: '50.0', 'payloadVersion': unquoted}  ",
+          "{\"userContext\":{\"username\":\"\\u00fcser-\u00e9\u4e2d\ud83d\ude00\"}}",
+          "{}",
+          "null",
+          "",
+          "   ",
+          "[]",
+          "\"string\"",
+          "{\"apiVersion\":{}}",
+          "{\"userContext\":[]}",
+          "{\"apiVersion\":\"50.0\"",
+          "{\"apiVersion\":\"50.0\"} {}",
+          "{\"userContext\":{\"salesforceBaseUrl\":true}}");
+
+  private static final List<String> SALESFORCE_FUNCTION_CONTEXT_JSON =
+      Arrays.asList(
+          "{\"accessToken\":\"00Dxx0000006IYJ!AQEAQNRaM3YrUJr\",\"functionInvocationId\":null,\"functionName\":\"MyFunction\",\"apexId\":null,\"apexFQN\":null,\"requestId\":\"00Dxx0000006IYJEA2-4Y4W3Lw_LkoskcHdEaZze-uuid-MyFunction-2020-09-03T20:56:27.608444Z\",\"resource\":\"http://example.com:8080\"}",
+          "{\"resource\":1e3,\"apexId\":false,\"nested\":{\"requestId\":\"ignored\"}}",
+          "{}",
+          "null",
+          "",
+          "[\"accessToken\"]",
+          "{\"accessToken\":[\"token\"]}",
+          "{\"accessToken\":\"token\"}]");
+
+  @Test
+  public void testDecodeSalesforceContextMatchesGson() {
+    for (String json : SALESFORCE_CONTEXT_JSON) {
+      String base64 = encode(json);
+
+      assertThat(
+          json,
+          SalesforceCloudEventExtensionDecoder.decodeSalesforceContext(base64),
+          is(equalTo(decodeWithGson(base64, SalesforceContextCloudEventExtension.class))));
+    }
+  }
+
+  @Test
+  public void testDecodeSalesforceFunctionContextMatchesGson() {
+    for (String json : SALESFORCE_FUNCTION_CONTEXT_JSON) {
+      String base64 = encode(json);
+
+      assertThat(
+          json,
+          SalesforceCloudEventExtensionDecoder.decodeSalesforceFunctionContext(base64),
+          is(equalTo(decodeWithGson(base64, SalesforceFunctionContextCloudEventExtension.class))));
+    }
+  }
+
+  @Test
+  public void testDecodeSalesforceContext() {
+    UserContext userContext =
+        new UserContext(
+            "00Dxx0000006IYJ",
+            "005xx000001X8Uz",
+            null,
+            "test@example.com",
+            URI.create("https://example.my.salesforce.com"),
+            URI.create("https://example.my.salesforce.com"));
+
+    assertThat(
+        SalesforceCloudEventExtensionDecoder.decodeSalesforceContext(
+            encode(SALESFORCE_CONTEXT_JSON.get(0))),
+        is(
+            optionalWithValue(
+                equalTo(new SalesforceContextCloudEventExtension("50.0", "0.1", userContext)))));
+  }
+
+  @Test
+  public void testDecodeSalesforceContextWithInvalidUri() {
+    assertThat(
+        SalesforceCloudEventExtensionDecoder.decodeSalesforceContext(
+            encode("{\"userContext\":{\"orgDomainUrl\":\"not a uri\"}}")),
+        is(emptyOptional()));
+  }
+
+  @Test
+  public void testDecodeLargeExtension() {
+    StringBuilder username = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      username.append((char) ('a' + i % 26));
+    }
+
+    String json = "{\"userContext\":{\"username\":\"" + username + "\"}}";
+
+    Optional<SalesforceContextCloudEventExtension> result =
+        SalesforceCloudEventExtensionDecoder.decodeSalesforceContext(encode(json));
+
+    assertThat(
+        result
+            .map(SalesforceContextCloudEventExtension::getUserContext)
+            .map(UserContext::getUsername),
+        is(optionalWithValue(equalTo(username.toString()))));
+
+    // Large extensions are decoded into temporary arrays, the buffers of the thread still work.
+    assertThat(
+        SalesforceCloudEventExtensionDecoder.decodeSalesforceContext(
+            encode(SALESFORCE_CONTEXT_JSON.get(0))),
+        is(
+            equalTo(
+                decodeWithGson(
+                    encode(SALESFORCE_CONTEXT_JSON.get(0)),
+                    SalesforceContextCloudEventExtension.class))));
+  }
+
+  @Test
+  public void testBase64DecodingMatchesJdkDecoder() {
+    String json = "{\"apiVersion\":\"5\"}";
+    String padded = encode(json + " ");
+
+    List<String> inputs =
+        Arrays.asList(
+            padded,
+            padded.replace("=", ""),
+            encode(json),
+            encode(json + "  "),
+            padded + "=",
+            padded.substring(0, padded.length() - 1),
+            padded.substring(0, padded.length() - 3),
+            padded + "AAAA",
+            "=",
+            "A===",
+            "AA=A",
+            "AB=",
+            "e30*",
+            "e30\u00e9",
+            "e30\u4e2d",
+            "e 30",
+            "e3-_",
+            "",
+            "e30=",
+            "e3==",
+            "e30==",
+            "e3=",
+            "e30A=");
+
+    for (String input : inputs) {
+      assertThat(
+          input,
+          SalesforceCloudEventExtensionDecoder.isWellFormedBase64(input),
+          is(equalTo(isAcceptedByJdkDecoder(input))));
+
+      assertThat(
+          input,
+          decodeOutcome(() -> SalesforceCloudEventExtensionDecoder.decodeSalesforceContext(input)),
+          is(
+              equalTo(
+                  decodeOutcome(
+                      () -> decodeWithGson(input, SalesforceContextCloudEventExtension.class)))));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeMalformedBase64() {
+    SalesforceCloudEventExtensionDecoder.decodeSalesforceFunctionContext("not base64!");
+  }
+
+  @Test
+  public void testDecodeMalformedUtf8() {
+    byte[] bytes = "{\"accessToken\":\"__\"}".getBytes(StandardCharsets.UTF_8);
+    bytes[16] = (byte) 0xC3;
+    bytes[17] = (byte) 0xFF;
+    String base64 = Base64.getEncoder().encodeToString(bytes);
+
+    assertThat(
+        SalesforceCloudEventExtensionDecoder.decodeSalesforceFunctionContext(base64),
+        is(equalTo(decodeWithGson(base64, SalesforceFunctionContextCloudEventExtension.class))));
+  }
+
+  private static Object decodeOutcome(DecodeAction action) {
+    try {
+      return action.decode();
+    } catch (IllegalArgumentException e) {
+      return "IllegalArgumentException";
+    }
+  }
+
+  private static boolean isAcceptedByJdkDecoder(String base64) {
+    try {
+      Base64.getDecoder().decode(base64);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private static <A> Optional<A> decodeWithGson(String base64, Class<A> clazz) {
+    String json = new String(Base64.getDecoder().decode(base64), StandardCharsets.UTF_8);
+
+    try {
+      return Optional.ofNullable(gson.fromJson(json, clazz));
+    } catch (JsonSyntaxException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static String encode(String json) {
+    return Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @FunctionalInterface
+  private interface DecodeAction {
+    Optional<?> decode();
+  }
+}
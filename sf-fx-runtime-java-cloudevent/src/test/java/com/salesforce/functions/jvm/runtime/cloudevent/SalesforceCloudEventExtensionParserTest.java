@@ -11,6 +11,7 @@ import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
@@ -18,6 +19,7 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Optional;
+import org.junit.Assert;
 import org.junit.Test;
 
 public class SalesforceCloudEventExtensionParserTest {
@@ -58,6 +60,227 @@ public class SalesforceCloudEventExtensionParserTest {
     assertThat(result, is(optionalWithValue(equalTo(salesforceContext))));
   }
 
+  @Test
+  public void testParseSalesforceContextIsCachedByRawValue() {
+    String rawExtension =
+        SalesforceCloudEventExtensionParser.serializeSalesforceContextCloudEventExtension(
+            new SalesforceContextCloudEventExtension(
+                "60.0",
+                "0.1",
+                new UserContext(
+                    "00Dxx0000006IYJ",
+                    "005xx000001X8Uz",
+                    null,
+                    "cached@example.com",
+                    URI.create("https://example.my.salesforce.com"),
+                    URI.create("https://example.my.salesforce.com"))));
+
+    CloudEvent cloudEvent =
+        CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+            .withExtension("sfcontext", rawExtension)
+            .build();
+
+    CloudEvent otherCloudEvent =
+        CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+            .withId("other-id")
+            .withExtension("sfcontext", new String(rawExtension.toCharArray()))
+            .build();
+
+    SalesforceContextCloudEventExtension salesforceContext =
+        SalesforceCloudEventExtensionParser.parseSalesforceContext(cloudEvent).get();
+
+    assertThat(salesforceContext.getUserContext().getUsername(), is(equalTo("cached@example.com")));
+    assertThat(
+        SalesforceCloudEventExtensionParser.parseSalesforceContext(otherCloudEvent),
+        is(optionalWithValue(sameInstance(salesforceContext))));
+  }
+
+  @Test
+  public void testFrequentlyParsedSalesforceContextStaysCached() {
+    CloudEvent hotCloudEvent = makeCloudEventForUser("hot@example.com");
+    SalesforceContextCloudEventExtension hotSalesforceContext =
+        SalesforceCloudEventExtensionParser.parseSalesforceContext(hotCloudEvent).get();
+
+    for (int i = 0; i < 1000; i++) {
+      SalesforceCloudEventExtensionParser.parseSalesforceContext(
+          makeCloudEventForUser("other" + i + "@example.com"));
+
+      assertThat(
+          SalesforceCloudEventExtensionParser.parseSalesforceContext(hotCloudEvent),
+          is(optionalWithValue(sameInstance(hotSalesforceContext))));
+    }
+  }
+
+  private CloudEvent makeCloudEventForUser(String username) {
+    return CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+        .withExtension(
+            "sfcontext",
+            SalesforceCloudEventExtensionParser.serializeSalesforceContextCloudEventExtension(
+                new SalesforceContextCloudEventExtension(
+                    "60.0",
+                    "0.1",
+                    new UserContext(
+                        "00Dxx0000006IYJ",
+                        "005xx000001X8Uz",
+                        null,
+                        username,
+                        URI.create("https://example.my.salesforce.com"),
+                        URI.create("https://example.my.salesforce.com")))))
+        .build();
+  }
+
+  @Test
+  public void testParseSalesforceContextBeyondCacheSize() {
+    CloudEvent cloudEvent = null;
+    for (int i = 0; i < 1000; i++) {
+      cloudEvent =
+          CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+              .withExtension(
+                  "sfcontext",
+                  SalesforceCloudEventExtensionParser.serializeSalesforceContextCloudEventExtension(
+                      new SalesforceContextCloudEventExtension(
+                          "60.0",
+                          "0.1",
+                          new UserContext(
+                              "00Dxx0000006IYJ",
+                              "005xx000001X8Uz",
+                              null,
+                              "user" + i + "@example.com",
+                              URI.create("https://example.my.salesforce.com"),
+                              URI.create("https://example.my.salesforce.com")))))
+              .build();
+
+      assertThat(
+          SalesforceCloudEventExtensionParser.parseSalesforceContext(cloudEvent)
+              .get()
+              .getUserContext()
+              .getUsername(),
+          is(equalTo("user" + i + "@example.com")));
+    }
+
+    // The most recently parsed extension is never the one evicted.
+    assertThat(
+        SalesforceCloudEventExtensionParser.parseSalesforceContext(cloudEvent),
+        is(
+            optionalWithValue(
+                sameInstance(
+                    SalesforceCloudEventExtensionParser.parseSalesforceContext(cloudEvent)
+                        .get()))));
+  }
+
+  @Test
+  public void testParseSalesforceContextWithDifferentRawValues() {
+    CloudEvent cloudEvent =
+        CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+            .withExtension(
+                "sfcontext",
+                SalesforceCloudEventExtensionParser.serializeSalesforceContextCloudEventExtension(
+                    new SalesforceContextCloudEventExtension("60.0", "0.1", null)))
+            .build();
+
+    CloudEvent otherCloudEvent =
+        CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+            .withExtension(
+                "sfcontext",
+                SalesforceCloudEventExtensionParser.serializeSalesforceContextCloudEventExtension(
+                    new SalesforceContextCloudEventExtension("61.0", "0.1", null)))
+            .build();
+
+    assertThat(
+        SalesforceCloudEventExtensionParser.parseSalesforceContext(cloudEvent)
+            .get()
+            .getApiVersion(),
+        is(equalTo("60.0")));
+    assertThat(
+        SalesforceCloudEventExtensionParser.parseSalesforceContext(otherCloudEvent)
+            .get()
+            .getApiVersion(),
+        is(equalTo("61.0")));
+  }
+
+  @Test
+  public void testParseSalesforceFunctionContextLazily() {
+    SalesforceFunctionContextCloudEventExtension functionContext =
+        new SalesforceFunctionContextCloudEventExtension(
+            "token", null, "MyFunction", null, null, "request-id", "resource");
+
+    CloudEvent cloudEvent =
+        CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+            .withExtension(
+                "sffncontext",
+                SalesforceCloudEventExtensionParser.serializeSalesforceFunctionContext(
+                    functionContext))
+            .build();
+
+    LazyCloudEventExtension<SalesforceFunctionContextCloudEventExtension> result =
+        SalesforceCloudEventExtensionParser.parseSalesforceFunctionContextLazily(cloudEvent).get();
+
+    assertThat(result.isDecoded(), is(false));
+    assertThat(result.get(), is(equalTo(functionContext)));
+    assertThat(result.isDecoded(), is(true));
+    assertThat(result.isMalformed(), is(false));
+  }
+
+  @Test
+  public void testParseSalesforceContextLazilyWithInvalidJson() {
+    CloudEvent cloudEvent =
+        CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+            .withExtension(
+                "sfcontext",
+                Base64.getEncoder().encodeToString("{".getBytes(StandardCharsets.UTF_8)))
+            .build();
+
+    LazyCloudEventExtension<SalesforceContextCloudEventExtension> result =
+        SalesforceCloudEventExtensionParser.parseSalesforceContextLazily(cloudEvent).get();
+
+    assertThat(result.isMalformed(), is(false));
+
+    try {
+      result.get();
+      Assert.fail("Expected MalformedCloudEventExtensionException!");
+    } catch (MalformedCloudEventExtensionException e) {
+      assertThat(e.getExtensionName(), is(equalTo("sfcontext")));
+    }
+
+    assertThat(result.isMalformed(), is(true));
+    assertThat(result.isDecoded(), is(false));
+  }
+
+  @Test
+  public void testParseSalesforceContextLazilyWithInvalidBase64() {
+    CloudEvent cloudEvent =
+        CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+            .withExtension("sfcontext", "not base64!")
+            .build();
+
+    assertThat(
+        SalesforceCloudEventExtensionParser.parseSalesforceContextLazily(cloudEvent),
+        is(emptyOptional()));
+    assertThat(
+        SalesforceCloudEventExtensionParser.parseSalesforceContextLazily(BASE_TESTING_CLOUD_EVENT),
+        is(emptyOptional()));
+  }
+
+  @Test
+  public void testParseSalesforceContextLazilyUsesCache() {
+    CloudEvent cloudEvent =
+        CloudEventBuilder.v1(BASE_TESTING_CLOUD_EVENT)
+            .withExtension(
+                "sfcontext",
+                SalesforceCloudEventExtensionParser.serializeSalesforceContextCloudEventExtension(
+                    new SalesforceContextCloudEventExtension("62.0", "0.1", null)))
+            .build();
+
+    SalesforceContextCloudEventExtension salesforceContext =
+        SalesforceCloudEventExtensionParser.parseSalesforceContextLazily(cloudEvent).get().get();
+
+    LazyCloudEventExtension<SalesforceContextCloudEventExtension> result =
+        SalesforceCloudEventExtensionParser.parseSalesforceContextLazily(cloudEvent).get();
+
+    assertThat(result.isDecoded(), is(true));
+    assertThat(result.get(), is(sameInstance(salesforceContext)));
+  }
+
   @Test
   public void testParseSalesforceFunctionContextWithCapturedCoreInvocationData() {
     CloudEvent cloudEvent =
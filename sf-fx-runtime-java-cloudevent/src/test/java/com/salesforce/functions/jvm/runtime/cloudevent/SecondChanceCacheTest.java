@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.cloudevent;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+
+public class SecondChanceCacheTest {
+
+  @Test
+  public void testGetAndPut() {
+    SecondChanceCache<String, String> cache = new SecondChanceCache<>(2);
+
+    assertThat(cache.get("a"), is(nullValue()));
+
+    cache.put("a", "A");
+    assertThat(cache.get("a"), is(equalTo("A")));
+    assertThat(cache.size(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testSizeIsBounded() {
+    SecondChanceCache<Integer, Integer> cache = new SecondChanceCache<>(256);
+
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, i);
+      assertThat(cache.size(), is(lessThanOrEqualTo(256)));
+    }
+
+    // The most recently inserted entry is never the one evicted.
+    assertThat(cache.get(999), is(equalTo(999)));
+  }
+
+  @Test
+  public void testFrequentlyReadEntrySurvives() {
+    SecondChanceCache<Integer, Integer> cache = new SecondChanceCache<>(256);
+    cache.put(-1, -1);
+
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, i);
+      assertThat(cache.get(-1), is(equalTo(-1)));
+    }
+  }
+
+  @Test
+  public void testUnreadEntriesAreEvictedFirst() {
+    SecondChanceCache<Integer, Integer> cache = new SecondChanceCache<>(4);
+    for (int i = 0; i < 4; i++) {
+      cache.put(i, i);
+    }
+
+    cache.get(0);
+    cache.get(2);
+    cache.put(4, 4);
+    cache.put(5, 5);
+
+    assertThat(cache.get(0), is(equalTo(0)));
+    assertThat(cache.get(2), is(equalTo(2)));
+    assertThat(cache.get(1), is(nullValue()));
+    assertThat(cache.get(3), is(nullValue()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidMaximumSize() {
+    new SecondChanceCache<>(0);
+  }
+}
@@ -7,6 +7,7 @@
 package com.salesforce.functions.jvm.runtime;
 
 import com.salesforce.functions.jvm.runtime.project.ProjectFunction;
+import java.util.List;
 
 /**
  * An InvocationInterface provides an interface for the user to invoke their function. This could be
@@ -24,6 +25,24 @@ public interface InvocationInterface<T, R, E extends Throwable> {
    */
   void start(ProjectFunction<T, R, E> projectFunction) throws Exception;
 
+  /**
+   * Starts the InvocationInterface for all given functions. Implementations that can only expose a
+   * single function do not need to override this method, it then only accepts a list of exactly one
+   * function.
+   *
+   * @param projectFunctions The functions to expose via this InvocationInterface.
+   * @throws Exception When the implementation cannot recover from an error and needs to terminate.
+   * @see #start(ProjectFunction)
+   */
+  default void start(List<? extends ProjectFunction<T, R, E>> projectFunctions) throws Exception {
+    if (projectFunctions.size() != 1) {
+      throw new IllegalArgumentException(
+          "This InvocationInterface can only expose a single function!");
+    }
+
+    start(projectFunctions.get(0));
+  }
+
   /**
    * Stops the InvocationInterface.
    *
@@ -16,14 +16,29 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
 
 public class FunctionBundler {
 
   private FunctionBundler() {}
 
+  /**
+   * Bundles the given functions of a project. The function-bundle.toml describes the first function
+   * in a [function] table, as it always has. If there are multiple functions, all of them are also
+   * described in a [[functions]] array of tables with the same keys.
+   *
+   * @param projectPath The path of the project.
+   * @param project The project the functions belong to.
+   * @param functions The functions to bundle, must not be empty.
+   * @param bundlePath The directory to write the bundle to.
+   * @throws IOException If the bundle could not be written.
+   */
   public static void bundle(
-      Path projectPath, Project project, SalesforceFunction function, Path bundlePath)
+      Path projectPath, Project project, List<SalesforceFunction> functions, Path bundlePath)
       throws IOException {
+    if (functions.isEmpty()) {
+      throw new IllegalArgumentException("At least one function is required!");
+    }
 
     Files.copy(projectPath.resolve("project.toml"), bundlePath.resolve("project.toml"));
 
@@ -64,19 +79,30 @@ public class FunctionBundler {
 
     try (PrintWriter printWriter = new PrintWriter(functionBundleTomlPath.toFile())) {
       printWriter.println("[function]");
-      printWriter.printf("class = \"%s\"\n", function.getName());
-      printWriter.printf(
-          "payload_class = \"%s\"\n", function.getUnmarshaller().getTargetType().getTypeName());
-      printWriter.printf(
-          "payload_media_type = \"%s\"\n",
-          function.getUnmarshaller().getHandledMediaType().toString());
-      printWriter.printf(
-          "return_class = \"%s\"\n", function.getMarshaller().getSourceType().getTypeName());
-      printWriter.printf(
-          "return_media_type = \"%s\"\n", function.getMarshaller().getMediaType().toString());
+      printFunction(printWriter, functions.get(0));
+
+      if (functions.size() > 1) {
+        for (SalesforceFunction function : functions) {
+          printWriter.println("[[functions]]");
+          printFunction(printWriter, function);
+        }
+      }
     }
   }
 
+  private static void printFunction(PrintWriter printWriter, SalesforceFunction function) {
+    printWriter.printf("class = \"%s\"\n", function.getName());
+    printWriter.printf(
+        "payload_class = \"%s\"\n", function.getUnmarshaller().getTargetType().getTypeName());
+    printWriter.printf(
+        "payload_media_type = \"%s\"\n",
+        function.getUnmarshaller().getHandledMediaType().toString());
+    printWriter.printf(
+        "return_class = \"%s\"\n", function.getMarshaller().getSourceType().getTypeName());
+    printWriter.printf(
+        "return_media_type = \"%s\"\n", function.getMarshaller().getMediaType().toString());
+  }
+
   private static Path getPathForDestinationDirectory(Path destinationDirectoryPath, Path path) {
     Path destination =
         Paths.get(destinationDirectoryPath.toString(), path.getFileName().toString());
@@ -45,11 +45,7 @@ class BundleCommandImpl extends AbstractDetectorCommandImpl {
       return NO_FUNCTIONS_FOUND;
     }
 
-    if (functions.size() > 1) {
-      return MULTIPLE_FUNCTIONS_FOUND;
-    }
-
-    FunctionBundler.bundle(projectPath, project, functions.get(0), bundlePath);
+    FunctionBundler.bundle(projectPath, project, functions, bundlePath);
 
     return SUCCESS;
   }
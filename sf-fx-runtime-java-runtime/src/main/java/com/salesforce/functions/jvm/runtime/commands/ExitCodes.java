@@ -9,7 +9,6 @@ package com.salesforce.functions.jvm.runtime.commands;
 final class ExitCodes {
   public static final int SUCCESS = 0;
   public static final int NO_FUNCTIONS_FOUND = 1;
-  public static final int MULTIPLE_FUNCTIONS_FOUND = 2;
   public static final int CANNOT_WRITE_BUNDLE = 3;
   public static final int BUNDLE_DIRECTORY_NOT_EMPTY = 4;
   public static final int BUNDLE_DIRECTORY_NOT_A_DIRECTORY = 5;
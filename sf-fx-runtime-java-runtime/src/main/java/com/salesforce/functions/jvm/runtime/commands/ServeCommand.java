@@ -7,10 +7,12 @@
 package com.salesforce.functions.jvm.runtime.commands;
 
 import com.salesforce.functions.jvm.runtime.invocation.undertow.UndertowInvocationInterface;
+import com.salesforce.functions.jvm.runtime.invocation.undertow.UndertowServerConfiguration;
 import com.salesforce.functions.jvm.runtime.project.ProjectBuilder;
 import com.salesforce.functions.jvm.runtime.project.builder.bundle.FunctionBundleProjectBuilder;
 import com.salesforce.functions.jvm.runtime.project.builder.maven.MavenProjectBuilder;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -35,13 +37,161 @@ public class ServeCommand implements Callable<Integer> {
       defaultValue = "localhost")
   private String host;
 
+  @Option(
+      names = {"--io-threads"},
+      description =
+          "The number of IO threads. Can also be set with SF_FX_IO_THREADS. Defaults to the number of available CPUs, but at least 2.",
+      defaultValue = "${env:SF_FX_IO_THREADS}")
+  private Integer ioThreads;
+
+  @Option(
+      names = {"--worker-threads"},
+      description =
+          "The number of worker threads that execute functions. Can also be set with SF_FX_WORKER_THREADS. Defaults to a value derived from the available CPUs and memory.",
+      defaultValue = "${env:SF_FX_WORKER_THREADS}")
+  private Integer workerThreads;
+
+  @Option(
+      names = {"--buffer-size"},
+      description =
+          "The size of IO buffers in bytes. Can also be set with SF_FX_BUFFER_SIZE. Defaults to a value derived from the available memory.",
+      defaultValue = "${env:SF_FX_BUFFER_SIZE}")
+  private Integer bufferSize;
+
+  @Option(
+      names = {"--direct-buffers"},
+      negatable = true,
+      description =
+          "Whether IO buffers should be allocated off-heap. Can also be set with SF_FX_DIRECT_BUFFERS. Defaults to a value derived from the available memory.",
+      defaultValue = "${env:SF_FX_DIRECT_BUFFERS}")
+  private Boolean directBuffers;
+
+  @Option(
+      names = {"--backlog"},
+      description =
+          "The maximum number of pending connections. Can also be set with SF_FX_BACKLOG. Defaults to '1000'.",
+      defaultValue = "${env:SF_FX_BACKLOG}")
+  private Integer backlog;
+
+  @Option(
+      names = {"--http2"},
+      negatable = true,
+      description =
+          "Whether HTTP/2 (h2c) should be enabled. Can also be set with SF_FX_HTTP2. Defaults to 'false'.",
+      defaultValue = "${env:SF_FX_HTTP2}")
+  private Boolean http2Enabled;
+
+  @Option(
+      names = {"--virtual-threads"},
+      negatable = true,
+      description =
+          "Whether functions should be invoked on virtual threads instead of worker threads. Requires Java 21 or newer, falls back to worker threads otherwise. Can also be set with SF_FX_VIRTUAL_THREADS. Defaults to 'false'.",
+      defaultValue = "${env:SF_FX_VIRTUAL_THREADS}")
+  private Boolean virtualThreadsEnabled;
+
+  @Option(
+      names = {"--max-concurrency"},
+      description =
+          "The maximum number of function invocations that run at the same time, shared by all functions of the project, 0 means unlimited. Can also be set with SF_FX_MAX_CONCURRENCY. Defaults to '0'.",
+      defaultValue = "${env:SF_FX_MAX_CONCURRENCY}")
+  private Integer maxConcurrentInvocations;
+
+  @Option(
+      names = {"--max-queue-size"},
+      description =
+          "The maximum number of invocations waiting for the concurrency limit, further requests are rejected with HTTP 503. Can also be set with SF_FX_MAX_QUEUE_SIZE. Defaults to '100'.",
+      defaultValue = "${env:SF_FX_MAX_QUEUE_SIZE}")
+  private Integer maxQueuedInvocations;
+
+  @Option(
+      names = {"--adaptive-concurrency"},
+      negatable = true,
+      description =
+          "Whether the concurrency limit should adapt to observed execution times, using --max-concurrency as the upper bound. Can also be set with SF_FX_ADAPTIVE_CONCURRENCY. Defaults to 'false'.",
+      defaultValue = "${env:SF_FX_ADAPTIVE_CONCURRENCY}")
+  private Boolean adaptiveConcurrencyLimitEnabled;
+
+  @Option(
+      names = {"--invocation-timeout"},
+      description =
+          "The maximum time in milliseconds a function invocation may take before it is cancelled, applies to all functions of the project, 0 means no timeout. Invocations can request a shorter timeout with the sftimeoutms CloudEvent extension. Can also be set with SF_FX_INVOCATION_TIMEOUT. Defaults to '0'.",
+      defaultValue = "${env:SF_FX_INVOCATION_TIMEOUT}")
+  private Long invocationTimeoutMillis;
+
+  @Option(
+      names = {"--metrics"},
+      negatable = true,
+      description =
+          "Whether metrics should be exposed in the Prometheus text format via HTTP GET requests to /metrics. Can also be set with SF_FX_METRICS. Defaults to 'false'.",
+      defaultValue = "${env:SF_FX_METRICS}")
+  private Boolean metricsEnabled;
+
   private final List<ProjectBuilder> projectBuilders =
       Arrays.asList(new FunctionBundleProjectBuilder(), new MavenProjectBuilder());
 
   @Override
   public Integer call() throws Exception {
     return new ServeCommandImpl(
-            projectPath, projectBuilders, new UndertowInvocationInterface(port, host))
+            projectPath,
+            projectBuilders,
+            new UndertowInvocationInterface(port, host, createServerConfiguration()))
         .call();
   }
+
+  UndertowServerConfiguration createServerConfiguration() {
+    UndertowServerConfiguration configuration =
+        UndertowServerConfiguration.fromAvailableResources();
+
+    if (ioThreads != null) {
+      configuration = configuration.withIoThreads(ioThreads);
+    }
+
+    if (workerThreads != null) {
+      configuration = configuration.withWorkerThreads(workerThreads);
+    }
+
+    if (bufferSize != null) {
+      configuration = configuration.withBufferSize(bufferSize);
+    }
+
+    if (directBuffers != null) {
+      configuration = configuration.withDirectBuffers(directBuffers);
+    }
+
+    if (backlog != null) {
+      configuration = configuration.withBacklog(backlog);
+    }
+
+    if (http2Enabled != null) {
+      configuration = configuration.withHttp2Enabled(http2Enabled);
+    }
+
+    if (virtualThreadsEnabled != null) {
+      configuration = configuration.withVirtualThreadsEnabled(virtualThreadsEnabled);
+    }
+
+    if (maxConcurrentInvocations != null) {
+      configuration = configuration.withMaxConcurrentInvocations(maxConcurrentInvocations);
+    }
+
+    if (maxQueuedInvocations != null) {
+      configuration = configuration.withMaxQueuedInvocations(maxQueuedInvocations);
+    }
+
+    if (adaptiveConcurrencyLimitEnabled != null) {
+      configuration =
+          configuration.withAdaptiveConcurrencyLimitEnabled(adaptiveConcurrencyLimitEnabled);
+    }
+
+    if (invocationTimeoutMillis != null) {
+      configuration =
+          configuration.withInvocationTimeout(Duration.ofMillis(invocationTimeoutMillis));
+    }
+
+    if (metricsEnabled != null) {
+      configuration = configuration.withMetricsEnabled(metricsEnabled);
+    }
+
+    return configuration;
+  }
 }
@@ -9,7 +9,6 @@ package com.salesforce.functions.jvm.runtime.commands;
 import com.salesforce.functions.jvm.runtime.InvocationInterface;
 import com.salesforce.functions.jvm.runtime.project.Project;
 import com.salesforce.functions.jvm.runtime.project.ProjectBuilder;
-import com.salesforce.functions.jvm.runtime.project.ProjectFunction;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunction;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.SalesforceFunctionException;
@@ -38,12 +37,15 @@ class ServeCommandImpl extends AbstractDetectorCommandImpl {
 
   @Override
   protected Integer handle(Project project, List<SalesforceFunction> functions) throws Exception {
-    functions.forEach(function -> LOGGER.info("Found function: {}", function.getName()));
+    if (functions.isEmpty()) {
+      return ExitCodes.NO_FUNCTIONS_FOUND;
+    }
 
-    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException> function =
-        functions.get(0);
+    functions.forEach(function -> LOGGER.info("Found function: {}", function.getName()));
 
-    invocationInterface.start(function);
+    // All functions are served by this process, requests are routed to them by the invocation
+    // interface.
+    invocationInterface.start(functions);
     invocationInterface.block();
 
     return ExitCodes.SUCCESS;
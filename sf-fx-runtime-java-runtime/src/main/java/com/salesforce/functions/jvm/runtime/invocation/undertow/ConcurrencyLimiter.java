@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Limits the number of function invocations that run at the same time.
+ *
+ * <p>Invocations that exceed the limit are queued until a running invocation completes. Once the
+ * queue is full, further invocations are rejected so that they can be shed with a fast error
+ * response instead of piling up and increasing the latency for every request.
+ *
+ * <p>If the limit is adaptive, it is adjusted after each invocation with an
+ * additive-increase/multiplicative-decrease (AIMD) algorithm: Invocations that take much longer
+ * than the moving average indicate overload and decrease the limit, all others slowly increase it
+ * again up to the configured maximum. The limit is decreased at most once per window of {@code
+ * limit} completions, a single latency spike affects all invocations that were running at the time
+ * and must not decrease the limit once for each of them.
+ */
+final class ConcurrencyLimiter {
+  // Invocations that take longer than this multiple of the average are considered to be slowed
+  // down by overload.
+  private static final double LATENCY_TOLERANCE = 2.0;
+  private static final double BACKOFF_RATIO = 0.9;
+  // Weight of a new sample for the exponentially weighted moving average of execution times.
+  private static final double LATENCY_SMOOTHING = 0.05;
+
+  private final int maxLimit;
+  private final int maxQueueSize;
+  private final boolean adaptive;
+  private final Queue<Runnable> queue = new ArrayDeque<>();
+
+  private int limit;
+  private int inFlight = 0;
+  private double averageLatencyNanos = 0;
+  private int completionsSinceDecrease;
+
+  ConcurrencyLimiter(int maxLimit, int maxQueueSize, boolean adaptive) {
+    if (maxLimit < 1) {
+      throw new IllegalArgumentException("Concurrency limit must be at least 1!");
+    }
+
+    this.maxLimit = maxLimit;
+    this.maxQueueSize = maxQueueSize;
+    this.adaptive = adaptive;
+    this.limit = maxLimit;
+    this.completionsSinceDecrease = maxLimit;
+  }
+
+  /**
+   * Runs the given task immediately if the limit has not been reached yet and no other tasks are
+   * waiting, queues it otherwise. Every task that is run must call {@link #release(long)} once the
+   * invocation it started has completed.
+   *
+   * @param task The task that starts the invocation. It must not block.
+   * @return False if the queue is full and the task was rejected.
+   */
+  boolean submit(Runnable task) {
+    synchronized (this) {
+      // Tasks must not overtake tasks that are already waiting.
+      if (inFlight >= limit || !queue.isEmpty()) {
+        if (queue.size() >= maxQueueSize) {
+          return false;
+        }
+
+        queue.add(task);
+        return true;
+      }
+
+      inFlight++;
+    }
+
+    task.run();
+    return true;
+  }
+
+  /**
+   * Releases the slot of a completed invocation and runs queued tasks while slots are available.
+   * More than one task is run if the limit has been increased.
+   *
+   * @param latencyNanos The time the invocation took.
+   */
+  void release(long latencyNanos) {
+    List<Runnable> next = null;
+    synchronized (this) {
+      if (adaptive) {
+        adjustLimit(latencyNanos);
+      }
+
+      inFlight--;
+
+      // If the limit has been decreased in the meantime, no queued task is run.
+      while (inFlight < limit && !queue.isEmpty()) {
+        if (next == null) {
+          next = new ArrayList<>(1);
+        }
+
+        next.add(queue.poll());
+        inFlight++;
+      }
+    }
+
+    if (next != null) {
+      for (Runnable task : next) {
+        task.run();
+      }
+    }
+  }
+
+  private void adjustLimit(long latencyNanos) {
+    if (averageLatencyNanos == 0) {
+      averageLatencyNanos = latencyNanos;
+    }
+
+    if (completionsSinceDecrease < maxLimit) {
+      completionsSinceDecrease++;
+    }
+
+    if (latencyNanos > averageLatencyNanos * LATENCY_TOLERANCE) {
+      if (completionsSinceDecrease >= limit) {
+        limit = Math.max(1, (int) (limit * BACKOFF_RATIO));
+        completionsSinceDecrease = 0;
+      }
+    } else if (inFlight * 2 >= limit) {
+      // Only increase the limit if it's actually used, otherwise it would grow without bounds
+      // during low traffic.
+      limit = Math.min(maxLimit, limit + 1);
+    }
+
+    averageLatencyNanos += LATENCY_SMOOTHING * (latencyNanos - averageLatencyNanos);
+  }
+
+  synchronized int getLimit() {
+    return limit;
+  }
+
+  synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  synchronized int getQueueSize() {
+    return queue.size();
+  }
+}
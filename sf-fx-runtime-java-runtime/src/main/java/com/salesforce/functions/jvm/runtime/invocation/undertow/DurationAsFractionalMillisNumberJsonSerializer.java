@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/** Serializes durations as milliseconds with microsecond precision, i.e. 1.234 for 1234µs. */
+public class DurationAsFractionalMillisNumberJsonSerializer implements JsonSerializer<Duration> {
+  @Override
+  public JsonElement serialize(Duration src, Type typeOfSrc, JsonSerializationContext context) {
+    return new JsonPrimitive(BigDecimal.valueOf(src.toNanos() / 1000, 3));
+  }
+}
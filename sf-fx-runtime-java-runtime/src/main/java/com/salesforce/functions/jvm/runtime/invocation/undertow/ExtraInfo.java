@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 public class ExtraInfo {
   @Expose
@@ -44,6 +45,20 @@ public class ExtraInfo {
   @JsonAdapter(StackTraceElementListJsonSerializer.class)
   private final List<StackTraceElement> stacktrace;
 
+  // Only present in the serialized form for requests that were shed, null is omitted by Gson.
+  @Expose
+  @SerializedName("isShed")
+  private final Boolean isShed;
+
+  // Only present in the serialized form if phase timings have been measured, null is omitted by
+  // Gson.
+  @Expose
+  @SerializedName("phases")
+  private final PhaseTimes phaseTimes;
+
+  // Simple class name of the exception that caused the response, only used for metrics.
+  private final transient String exceptionType;
+
   public ExtraInfo() {
     this.requestId = "n/a";
     this.source = "n/a";
@@ -51,6 +66,9 @@ public class ExtraInfo {
     this.statusCode = 200;
     this.isFunctionError = false;
     this.stacktrace = new ArrayList<>();
+    this.isShed = null;
+    this.phaseTimes = null;
+    this.exceptionType = null;
   }
 
   public ExtraInfo(
@@ -60,12 +78,48 @@ public class ExtraInfo {
       int statusCode,
       boolean isFunctionError,
       List<StackTraceElement> stacktrace) {
+    this(requestId, source, executionTime, statusCode, isFunctionError, stacktrace, false);
+  }
+
+  public ExtraInfo(
+      String requestId,
+      String source,
+      Duration executionTime,
+      int statusCode,
+      boolean isFunctionError,
+      List<StackTraceElement> stacktrace,
+      boolean isShed) {
+    this(
+        requestId,
+        source,
+        executionTime,
+        statusCode,
+        isFunctionError,
+        stacktrace,
+        isShed,
+        null,
+        null);
+  }
+
+  private ExtraInfo(
+      String requestId,
+      String source,
+      Duration executionTime,
+      int statusCode,
+      boolean isFunctionError,
+      List<StackTraceElement> stacktrace,
+      boolean isShed,
+      PhaseTimes phaseTimes,
+      String exceptionType) {
     this.requestId = requestId;
     this.source = source;
     this.executionTime = executionTime;
     this.statusCode = statusCode;
     this.isFunctionError = isFunctionError;
     this.stacktrace = stacktrace;
+    this.isShed = isShed ? Boolean.TRUE : null;
+    this.phaseTimes = phaseTimes;
+    this.exceptionType = exceptionType;
   }
 
   public ExtraInfo withCloudEventData(CloudEvent cloudEvent) {
@@ -75,7 +129,10 @@ public class ExtraInfo {
         this.executionTime,
         this.statusCode,
         this.isFunctionError,
-        this.stacktrace);
+        this.stacktrace,
+        isShed(),
+        this.phaseTimes,
+        this.exceptionType);
   }
 
   public ExtraInfo withInternalExceptionData(Throwable e) {
@@ -85,7 +142,10 @@ public class ExtraInfo {
         this.executionTime,
         this.statusCode,
         false,
-        Collections.unmodifiableList(Arrays.asList(e.getStackTrace())));
+        Collections.unmodifiableList(Arrays.asList(e.getStackTrace())),
+        isShed(),
+        this.phaseTimes,
+        e.getClass().getSimpleName());
   }
 
   public ExtraInfo withFunctionExceptionData(Throwable e) {
@@ -95,7 +155,10 @@ public class ExtraInfo {
         this.executionTime,
         this.statusCode,
         true,
-        Collections.unmodifiableList(Arrays.asList(e.getStackTrace())));
+        Collections.unmodifiableList(Arrays.asList(e.getStackTrace())),
+        isShed(),
+        this.phaseTimes,
+        e.getClass().getSimpleName());
   }
 
   public ExtraInfo withFunctionExceptionData(FunctionThrewExceptionException e) {
@@ -105,7 +168,10 @@ public class ExtraInfo {
         this.executionTime,
         this.statusCode,
         true,
-        Collections.unmodifiableList(e.getFunctionStackTrace()));
+        Collections.unmodifiableList(e.getFunctionStackTrace()),
+        isShed(),
+        this.phaseTimes,
+        e.getClass().getSimpleName());
   }
 
   public ExtraInfo withFunctionExecutionTime(Duration duration) {
@@ -115,7 +181,10 @@ public class ExtraInfo {
         duration,
         this.statusCode,
         this.isFunctionError,
-        this.stacktrace);
+        this.stacktrace,
+        isShed(),
+        this.phaseTimes,
+        this.exceptionType);
   }
 
   public ExtraInfo withStatusCode(int statusCode) {
@@ -125,7 +194,36 @@ public class ExtraInfo {
         this.executionTime,
         statusCode,
         this.isFunctionError,
-        this.stacktrace);
+        this.stacktrace,
+        isShed(),
+        this.phaseTimes,
+        this.exceptionType);
+  }
+
+  public ExtraInfo withShed() {
+    return new ExtraInfo(
+        this.requestId,
+        this.source,
+        this.executionTime,
+        this.statusCode,
+        this.isFunctionError,
+        this.stacktrace,
+        true,
+        this.phaseTimes,
+        this.exceptionType);
+  }
+
+  public ExtraInfo withPhaseTimes(PhaseTimes phaseTimes) {
+    return new ExtraInfo(
+        this.requestId,
+        this.source,
+        this.executionTime,
+        this.statusCode,
+        this.isFunctionError,
+        this.stacktrace,
+        isShed(),
+        phaseTimes,
+        this.exceptionType);
   }
 
   public String getRequestId() {
@@ -151,4 +249,16 @@ public class ExtraInfo {
   public List<StackTraceElement> getStacktrace() {
     return Collections.unmodifiableList(stacktrace);
   }
+
+  public boolean isShed() {
+    return Boolean.TRUE.equals(isShed);
+  }
+
+  public Optional<PhaseTimes> getPhaseTimes() {
+    return Optional.ofNullable(phaseTimes);
+  }
+
+  public Optional<String> getExceptionType() {
+    return Optional.ofNullable(exceptionType);
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import com.salesforce.functions.jvm.runtime.project.ProjectFunction;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.SalesforceFunctionException;
+import io.cloudevents.CloudEvent;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HttpString;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Routes requests to one of the functions served by a single runtime process.
+ *
+ * <p>A function is addressed either by its path (a slash followed by the function name, i.e.
+ * /com.example.MyFunction) or by requesting the root path with the function name in the
+ * x-function-name header. If the path names a function, the header is ignored. When only a single
+ * function is served, all requests to the root path are routed to it regardless of the header, just
+ * like before multiple functions were supported.
+ */
+final class FunctionRouter {
+  static final HttpString FUNCTION_NAME_HEADER = HttpString.tryFromString("x-function-name");
+
+  private static final String ROOT_PATH = "/";
+
+  private final Map<
+          String,
+          ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>>
+      functionsByName = new HashMap<>();
+
+  // The function all requests to the root path are routed to. Null if multiple functions are
+  // served.
+  private final ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+      defaultFunction;
+
+  FunctionRouter(
+      List<
+              ? extends
+                  ProjectFunction<
+                      CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>>
+          projectFunctions) {
+    if (projectFunctions.isEmpty()) {
+      throw new IllegalArgumentException("At least one function is required!");
+    }
+
+    for (ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+        projectFunction : projectFunctions) {
+      if (functionsByName.put(projectFunction.getName(), projectFunction) != null) {
+        throw new IllegalArgumentException(
+            "Multiple functions are named " + projectFunction.getName() + "!");
+      }
+    }
+
+    this.defaultFunction = projectFunctions.size() == 1 ? projectFunctions.get(0) : null;
+  }
+
+  /**
+   * Returns if requests to the given path can be routed to a function, depending on their headers.
+   *
+   * @param path The request path.
+   * @return True for the root path and the paths of all functions.
+   */
+  boolean isRoutablePath(String path) {
+    return path.equals(ROOT_PATH) || functionsByName.containsKey(functionNameOf(path));
+  }
+
+  /**
+   * Finds the function a request should be routed to.
+   *
+   * @param path The request path.
+   * @param headers The request headers.
+   * @return The function or an empty Optional if the request does not address a known function.
+   */
+  Optional<ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>>
+      route(String path, HeaderMap headers) {
+    if (!path.equals(ROOT_PATH)) {
+      return Optional.ofNullable(functionsByName.get(functionNameOf(path)));
+    }
+
+    if (defaultFunction != null) {
+      return Optional.of(defaultFunction);
+    }
+
+    String functionName = headers.getFirst(FUNCTION_NAME_HEADER);
+    if (functionName == null) {
+      return Optional.empty();
+    }
+
+    return Optional.ofNullable(functionsByName.get(functionName));
+  }
+
+  private static String functionNameOf(String path) {
+    return path.startsWith(ROOT_PATH) ? path.substring(ROOT_PATH.length()) : path;
+  }
+}
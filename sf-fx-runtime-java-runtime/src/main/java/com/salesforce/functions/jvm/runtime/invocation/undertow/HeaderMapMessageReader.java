@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import io.cloudevents.SpecVersion;
+import io.cloudevents.core.data.BytesCloudEventData;
+import io.cloudevents.core.message.impl.BaseGenericBinaryMessageReaderImpl;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads binary mode CloudEvents directly from Undertow's {@link HeaderMap}. Unlike the readers of
+ * cloudevents-http-basic, this does not require the headers to be copied into a map of lists first.
+ * Headers are mapped to CloudEvent attributes the same way cloudevents-http-basic does.
+ */
+final class HeaderMapMessageReader extends BaseGenericBinaryMessageReaderImpl<HttpString, String> {
+  private static final String CLOUD_EVENTS_HEADER_PREFIX = "ce-";
+
+  private final HeaderMap headers;
+
+  HeaderMapMessageReader(SpecVersion specVersion, HeaderMap headers, byte[] body) {
+    super(specVersion, body != null && body.length > 0 ? BytesCloudEventData.wrap(body) : null);
+    this.headers = headers;
+  }
+
+  @Override
+  protected boolean isContentTypeHeader(HttpString key) {
+    return Headers.CONTENT_TYPE.equals(key);
+  }
+
+  @Override
+  protected boolean isCloudEventsHeader(HttpString key) {
+    int prefixLength = CLOUD_EVENTS_HEADER_PREFIX.length();
+    if (key.length() <= prefixLength) {
+      return false;
+    }
+
+    for (int i = 0; i < prefixLength; i++) {
+      if (Character.toLowerCase((char) key.byteAt(i)) != CLOUD_EVENTS_HEADER_PREFIX.charAt(i)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  protected String toCloudEventsKey(HttpString key) {
+    return key.toString().substring(CLOUD_EVENTS_HEADER_PREFIX.length()).toLowerCase(Locale.ROOT);
+  }
+
+  @Override
+  protected void forEachHeader(BiConsumer<HttpString, String> fn) {
+    for (HeaderValues headerValues : headers) {
+      HttpString headerName = headerValues.getHeaderName();
+      for (String value : headerValues) {
+        fn.accept(headerName, value);
+      }
+    }
+  }
+
+  @Override
+  protected String toCloudEventsValue(String value) {
+    return value;
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import com.salesforce.functions.jvm.runtime.metrics.Counter;
+import com.salesforce.functions.jvm.runtime.metrics.Gauge;
+import com.salesforce.functions.jvm.runtime.metrics.Histogram;
+import com.salesforce.functions.jvm.runtime.metrics.MetricsRegistry;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.InvocationPhaseTimings;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics recorded by {@link UndertowInvocationInterface} for function invocations.
+ *
+ * <p>Invocation metrics are labeled with the name of the function, their children are resolved once
+ * per function so recording them is only a few uncontended additions. Responses to requests that
+ * were not routed to a function are counted with the function label "none". The concurrency limit
+ * and queue are shared by all functions and therefore not labeled.
+ */
+final class InvocationMetrics {
+  private static final String NO_FUNCTION = "none";
+
+  private final MetricsRegistry registry;
+  private final Counter responses;
+  private final Map<String, FunctionMetrics> functionMetricsByName = new HashMap<>();
+
+  InvocationMetrics(
+      MetricsRegistry registry, ConcurrencyLimiter concurrencyLimiter, List<String> functionNames) {
+    this.registry = registry;
+
+    Gauge inFlightInvocations =
+        registry.gauge(
+            "sf_fx_invocations_in_flight",
+            "Number of function invocations in progress.",
+            "function");
+
+    Histogram invocationDuration =
+        registry.histogram(
+            "sf_fx_invocation_duration_seconds",
+            "Duration of function invocations, including (un)marshalling.",
+            "function");
+
+    Histogram phaseDuration =
+        registry.histogram(
+            "sf_fx_invocation_phase_duration_seconds",
+            "Duration of the individual phases of handling an invocation request.",
+            "function",
+            "phase");
+
+    this.responses =
+        registry.counter(
+            "sf_fx_responses_total",
+            "Number of responses by function, HTTP status code and the exception that caused them.",
+            "function",
+            "status",
+            "exception");
+
+    for (String functionName : functionNames) {
+      functionMetricsByName.put(
+          functionName,
+          new FunctionMetrics(
+              functionName, inFlightInvocations, invocationDuration, phaseDuration, responses));
+    }
+
+    if (concurrencyLimiter != null) {
+      registry
+          .gauge("sf_fx_concurrency_limit", "Current limit of concurrent function invocations.")
+          .labels()
+          .setSupplier(concurrencyLimiter::getLimit);
+
+      registry
+          .gauge("sf_fx_queued_invocations", "Number of function invocations waiting for a slot.")
+          .labels()
+          .setSupplier(concurrencyLimiter::getQueueSize);
+    }
+  }
+
+  /**
+   * Returns the metrics of a single function.
+   *
+   * @param functionName The name of the function.
+   * @return The metrics of the function.
+   * @throws IllegalArgumentException If the function is unknown.
+   */
+  FunctionMetrics forFunction(String functionName) {
+    FunctionMetrics functionMetrics = functionMetricsByName.get(functionName);
+    if (functionMetrics == null) {
+      throw new IllegalArgumentException("Unknown function " + functionName + "!");
+    }
+
+    return functionMetrics;
+  }
+
+  /**
+   * Counts a response to a request that was not routed to a function, i.e. health checks or 404s.
+   */
+  void recordResponse(int statusCode, ExtraInfo extraInfo) {
+    recordResponse(responses, NO_FUNCTION, statusCode, extraInfo);
+  }
+
+  String scrape() {
+    return registry.scrape();
+  }
+
+  private static void recordResponse(
+      Counter responses, String functionName, int statusCode, ExtraInfo extraInfo) {
+    responses
+        .labels(
+            functionName, Integer.toString(statusCode), extraInfo.getExceptionType().orElse("none"))
+        .inc();
+  }
+
+  /** Metrics of a single function, see {@link #forFunction(String)}. */
+  static final class FunctionMetrics {
+    private final String functionName;
+    private final LongAdder inFlightInvocations = new LongAdder();
+    private final Histogram.Child invocationDuration;
+    private final Histogram.Child bodyReadDuration;
+    private final Histogram.Child extensionValidationDuration;
+    private final Histogram.Child unmarshallDuration;
+    private final Histogram.Child sdkInitializationDuration;
+    private final Histogram.Child functionDuration;
+    private final Histogram.Child marshallDuration;
+    private final Histogram.Child responseWriteDuration;
+    private final Counter responses;
+
+    private FunctionMetrics(
+        String functionName,
+        Gauge inFlightInvocations,
+        Histogram invocationDuration,
+        Histogram phaseDuration,
+        Counter responses) {
+      this.functionName = functionName;
+      inFlightInvocations.labels(functionName).setSupplier(this.inFlightInvocations::sum);
+      this.invocationDuration = invocationDuration.labels(functionName);
+      this.bodyReadDuration = phaseDuration.labels(functionName, "body_read");
+      this.extensionValidationDuration = phaseDuration.labels(functionName, "extension_validation");
+      this.unmarshallDuration = phaseDuration.labels(functionName, "unmarshall");
+      this.sdkInitializationDuration = phaseDuration.labels(functionName, "sdk_initialization");
+      this.functionDuration = phaseDuration.labels(functionName, "function");
+      this.marshallDuration = phaseDuration.labels(functionName, "marshall");
+      this.responseWriteDuration = phaseDuration.labels(functionName, "response_write");
+      this.responses = responses;
+    }
+
+    void invocationStarted() {
+      inFlightInvocations.increment();
+    }
+
+    void invocationCompleted() {
+      inFlightInvocations.decrement();
+    }
+
+    void recordInvocation(Duration duration, InvocationPhaseTimings phaseTimings) {
+      invocationDuration.observeNanos(duration.toNanos());
+
+      if (phaseTimings != null) {
+        extensionValidationDuration.observeNanos(
+            phaseTimings.getExtensionValidationTime().toNanos());
+        unmarshallDuration.observeNanos(phaseTimings.getUnmarshallTime().toNanos());
+        sdkInitializationDuration.observeNanos(phaseTimings.getSdkInitializationTime().toNanos());
+        functionDuration.observeNanos(phaseTimings.getFunctionTime().toNanos());
+        marshallDuration.observeNanos(phaseTimings.getMarshallTime().toNanos());
+      }
+    }
+
+    void recordBodyRead(Duration duration) {
+      bodyReadDuration.observeNanos(duration.toNanos());
+    }
+
+    void recordResponseWrite(long nanos) {
+      responseWriteDuration.observeNanos(nanos);
+    }
+
+    void recordResponse(int statusCode, ExtraInfo extraInfo) {
+      InvocationMetrics.recordResponse(responses, functionName, statusCode, extraInfo);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.xnio.XnioExecutor;
+
+/**
+ * Enforces the timeout of a single function invocation running on the thread that started the
+ * timer.
+ *
+ * <p>When the timeout expires before {@link #complete()} has been called, the cancellation
+ * completes, the invocation thread is interrupted and the timeout callback is run. Exactly one of
+ * the timeout callback and the successful {@link #complete()} call wins, which ensures that only
+ * one response is ever sent for the invocation.
+ *
+ * <p>Only that decision is made while holding the timer's lock. Capturing the stack trace,
+ * cancelling outstanding requests and running the callback happen afterwards, so neither the IO
+ * thread nor the invocation thread can block the other on a slow callback.
+ */
+final class InvocationTimer {
+  private final Thread invocationThread;
+  private final Consumer<StackTraceElement[]> onTimeout;
+  private final CompletableFuture<Void> cancellation = new CompletableFuture<>();
+  // Counted down once the invocation thread has been interrupted after the timeout expired.
+  private final CountDownLatch interrupted = new CountDownLatch(1);
+  private XnioExecutor.Key key;
+  private boolean done = false;
+
+  private InvocationTimer(Thread invocationThread, Consumer<StackTraceElement[]> onTimeout) {
+    this.invocationThread = invocationThread;
+    this.onTimeout = onTimeout;
+  }
+
+  /**
+   * Starts a timer for the invocation on the current thread.
+   *
+   * @param executor The executor to run the timeout callback on, usually the IO thread of the
+   *     exchange.
+   * @param timeout The timeout of the invocation.
+   * @param onTimeout Called with the stack trace of the invocation thread when the timeout expires.
+   * @return The started timer.
+   */
+  static InvocationTimer start(
+      XnioExecutor executor, Duration timeout, Consumer<StackTraceElement[]> onTimeout) {
+    InvocationTimer timer = new InvocationTimer(Thread.currentThread(), onTimeout);
+    timer.key = executor.executeAfter(timer::expire, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    return timer;
+  }
+
+  CompletionStage<Void> getCancellation() {
+    return cancellation;
+  }
+
+  /**
+   * Stops the timer after the invocation has completed. Must be called on the invocation thread.
+   *
+   * @return False if the timeout expired before and the result of the invocation must be discarded.
+   */
+  boolean complete() {
+    key.remove();
+
+    synchronized (this) {
+      if (!done) {
+        done = true;
+        return true;
+      }
+    }
+
+    // The timeout expired. Waits for expire() to interrupt this thread, the interrupt is cleared
+    // afterwards so it does not leak into the next task on this thread.
+    boolean awaited = false;
+    while (!awaited) {
+      try {
+        interrupted.await();
+        awaited = true;
+      } catch (InterruptedException e) {
+        // The interrupt from expire() may arrive before the latch is counted down, keep waiting.
+      }
+    }
+
+    Thread.interrupted();
+    return false;
+  }
+
+  private void expire() {
+    synchronized (this) {
+      if (done) {
+        return;
+      }
+
+      done = true;
+    }
+
+    StackTraceElement[] stackTrace = invocationThread.getStackTrace();
+
+    cancellation.complete(null);
+    invocationThread.interrupt();
+    interrupted.countDown();
+
+    onTimeout.accept(stackTrace);
+  }
+}
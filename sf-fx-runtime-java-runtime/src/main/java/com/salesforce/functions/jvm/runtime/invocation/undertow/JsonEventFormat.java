@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.CloudEventData;
+import io.cloudevents.SpecVersion;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.cloudevents.core.data.BytesCloudEventData;
+import io.cloudevents.core.format.EventDeserializationException;
+import io.cloudevents.core.format.EventFormat;
+import io.cloudevents.core.format.EventSerializationException;
+import io.cloudevents.rw.CloudEventDataMapper;
+import io.cloudevents.rw.CloudEventRWException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The JSON event format for structured mode CloudEvents (application/cloudevents+json). The
+ * cloudevents-http-basic module only supports structured mode if an event format is registered, the
+ * JSON format of the CloudEvents SDK would pull in Jackson which the runtime does not depend on.
+ * This implementation reads and writes the format with GSON's streaming API instead.
+ *
+ * <p>Deserialization reads directly from the request body bytes. The data member is copied into its
+ * own byte array, other members are only read once. JSON object and array data has to be re-encoded
+ * into that array since GSON's reader does not expose the position of a value in the body, such
+ * data is therefore buffered twice.
+ */
+final class JsonEventFormat implements EventFormat {
+  static final String CONTENT_TYPE = "application/cloudevents+json";
+  static final JsonEventFormat INSTANCE = new JsonEventFormat();
+
+  private static final String SPEC_VERSION = "specversion";
+  private static final String DATA = "data";
+  private static final String DATA_BASE64 = "data_base64";
+  private static final String DATA_CONTENT_TYPE = "datacontenttype";
+  private static final String DATA_CONTENT_ENCODING = "datacontentencoding";
+
+  private JsonEventFormat() {}
+
+  /**
+   * Returns if the given Content-Type header value denotes a structured mode JSON CloudEvent.
+   *
+   * @param contentType The value of the Content-Type header.
+   * @return True if the content type is application/cloudevents+json, regardless of parameters.
+   */
+  static boolean isStructuredContentType(String contentType) {
+    return CONTENT_TYPE.equalsIgnoreCase(mediaTypeOf(contentType));
+  }
+
+  @Override
+  public String serializedContentType() {
+    return CONTENT_TYPE;
+  }
+
+  @Override
+  public CloudEvent deserialize(byte[] bytes, CloudEventDataMapper<? extends CloudEventData> mapper)
+      throws EventDeserializationException {
+    String specVersion = null;
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    String dataString = null;
+    byte[] dataJson = null;
+    String dataBase64 = null;
+
+    try (JsonReader reader =
+        new JsonReader(
+            new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        String name = reader.nextName();
+        JsonToken token = reader.peek();
+
+        if (token == JsonToken.NULL) {
+          // Members with null values are treated as absent.
+          reader.nextNull();
+          continue;
+        }
+
+        switch (name) {
+          case SPEC_VERSION:
+            specVersion = reader.nextString();
+            break;
+          case DATA:
+            if (token == JsonToken.STRING) {
+              dataString = reader.nextString();
+            } else {
+              dataJson = copyJsonValue(reader);
+            }
+            break;
+          case DATA_BASE64:
+            dataBase64 = reader.nextString();
+            break;
+          default:
+            attributes.put(name, readAttributeValue(name, reader, token));
+        }
+      }
+      reader.endObject();
+
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new IllegalStateException("Unexpected data after the CloudEvent JSON object.");
+      }
+    } catch (IOException
+        | IllegalStateException
+        | NumberFormatException
+        | CloudEventRWException e) {
+      throw new EventDeserializationException(e);
+    }
+
+    if (specVersion == null) {
+      throw new EventDeserializationException(
+          new IllegalStateException("Missing specversion member."));
+    }
+
+    if ((dataString != null || dataJson != null) && dataBase64 != null) {
+      throw new EventDeserializationException(
+          new IllegalStateException("The data and data_base64 members are mutually exclusive."));
+    }
+
+    try {
+      CloudEventBuilder builder = CloudEventBuilder.fromSpecVersion(SpecVersion.parse(specVersion));
+
+      for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+        Object value = attribute.getValue();
+        if (value instanceof String) {
+          builder.withContextAttribute(attribute.getKey(), (String) value);
+        } else if (value instanceof Integer) {
+          builder.withContextAttribute(attribute.getKey(), (Integer) value);
+        } else {
+          builder.withContextAttribute(attribute.getKey(), (Boolean) value);
+        }
+      }
+
+      byte[] data =
+          toDataBytes(
+              dataString,
+              dataJson,
+              dataBase64,
+              (String) attributes.get(DATA_CONTENT_TYPE),
+              attributes.get(DATA_CONTENT_ENCODING));
+
+      if (data != null) {
+        builder.withData(mapper.map(BytesCloudEventData.wrap(data)));
+      }
+
+      return builder.build();
+    } catch (CloudEventRWException | IllegalArgumentException | IllegalStateException e) {
+      throw new EventDeserializationException(e);
+    }
+  }
+
+  @Override
+  public byte[] serialize(CloudEvent event) throws EventSerializationException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    try (JsonWriter writer =
+        new JsonWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+      writer.beginObject();
+      writer.name(SPEC_VERSION).value(event.getSpecVersion().toString());
+
+      for (String attributeName : event.getAttributeNames()) {
+        if (SPEC_VERSION.equals(attributeName)) {
+          continue;
+        }
+
+        Object value = event.getAttribute(attributeName);
+        if (value instanceof OffsetDateTime) {
+          // OffsetDateTime.toString omits zero seconds, which RFC 3339 timestamps require.
+          writer
+              .name(attributeName)
+              .value(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format((OffsetDateTime) value));
+        } else if (value != null) {
+          writer.name(attributeName).value(value.toString());
+        }
+      }
+
+      for (String extensionName : event.getExtensionNames()) {
+        Object value = event.getExtension(extensionName);
+        writer.name(extensionName);
+
+        if (value instanceof Boolean) {
+          writer.value((Boolean) value);
+        } else if (value instanceof Number) {
+          writer.value((Number) value);
+        } else {
+          writer.value(String.valueOf(value));
+        }
+      }
+
+      CloudEventData data = event.getData();
+      if (data != null) {
+        byte[] dataBytes = data.toBytes();
+        String dataContentType = event.getDataContentType();
+
+        if (isJsonContentType(dataContentType)) {
+          writer.name(DATA).jsonValue(new String(dataBytes, StandardCharsets.UTF_8));
+        } else if (dataContentType.toLowerCase(Locale.ROOT).startsWith("text/")) {
+          writer.name(DATA).value(new String(dataBytes, StandardCharsets.UTF_8));
+        } else {
+          writer.name(DATA_BASE64).value(Base64.getEncoder().encodeToString(dataBytes));
+        }
+      }
+
+      writer.endObject();
+    } catch (IOException e) {
+      throw new EventSerializationException(e);
+    }
+
+    return outputStream.toByteArray();
+  }
+
+  private static Object readAttributeValue(String name, JsonReader reader, JsonToken token)
+      throws IOException {
+    switch (token) {
+      case STRING:
+        return reader.nextString();
+      case BOOLEAN:
+        return reader.nextBoolean();
+      case NUMBER:
+        // Like the CloudEvents type system, only integers are supported as numeric values.
+        String number = reader.nextString();
+        try {
+          return Integer.valueOf(number);
+        } catch (NumberFormatException e) {
+          throw CloudEventRWException.newInvalidAttributeType(name, number);
+        }
+      default:
+        throw CloudEventRWException.newInvalidAttributeType(name, token);
+    }
+  }
+
+  private static byte[] toDataBytes(
+      String dataString,
+      byte[] dataJson,
+      String dataBase64,
+      String dataContentType,
+      Object dataContentEncoding) {
+    if (dataBase64 != null) {
+      return Base64.getDecoder().decode(dataBase64);
+    }
+
+    if (dataJson != null) {
+      return dataJson;
+    }
+
+    if (dataString == null) {
+      return null;
+    }
+
+    // CloudEvents 0.3 used the datacontentencoding attribute instead of a separate member.
+    if ("base64".equals(dataContentEncoding)) {
+      return Base64.getDecoder().decode(dataString);
+    }
+
+    // JSON data is the JSON value of the member, a string therefore stays a JSON string.
+    if (isJsonContentType(dataContentType)) {
+      return copyJsonString(dataString);
+    }
+
+    return dataString.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] copyJsonValue(JsonReader reader) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    try (JsonWriter writer =
+        new JsonWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+      writer.setSerializeNulls(true);
+
+      int depth = 0;
+      do {
+        switch (reader.peek()) {
+          case BEGIN_OBJECT:
+            reader.beginObject();
+            writer.beginObject();
+            depth++;
+            break;
+          case END_OBJECT:
+            reader.endObject();
+            writer.endObject();
+            depth--;
+            break;
+          case BEGIN_ARRAY:
+            reader.beginArray();
+            writer.beginArray();
+            depth++;
+            break;
+          case END_ARRAY:
+            reader.endArray();
+            writer.endArray();
+            depth--;
+            break;
+          case NAME:
+            writer.name(reader.nextName());
+            break;
+          case STRING:
+            writer.value(reader.nextString());
+            break;
+          case NUMBER:
+            // Numbers are copied verbatim to preserve their precision.
+            writer.jsonValue(reader.nextString());
+            break;
+          case BOOLEAN:
+            writer.value(reader.nextBoolean());
+            break;
+          case NULL:
+            reader.nextNull();
+            writer.nullValue();
+            break;
+          default:
+            throw new IllegalStateException("Unexpected end of JSON data.");
+        }
+      } while (depth > 0);
+    }
+
+    return outputStream.toByteArray();
+  }
+
+  private static byte[] copyJsonString(String string) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(string.length() + 2);
+
+    try (JsonWriter writer =
+        new JsonWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+      writer.value(string);
+    } catch (IOException e) {
+      // ByteArrayOutputStream does not throw IOExceptions.
+      throw new IllegalStateException(e);
+    }
+
+    return outputStream.toByteArray();
+  }
+
+  private static boolean isJsonContentType(String contentType) {
+    // Data without a content type is JSON, as defined by the JSON event format.
+    if (contentType == null) {
+      return true;
+    }
+
+    String mediaType = mediaTypeOf(contentType).toLowerCase(Locale.ROOT);
+    return mediaType.equals("application/json")
+        || mediaType.equals("text/json")
+        || mediaType.endsWith("+json");
+  }
+
+  private static String mediaTypeOf(String contentType) {
+    int parameterIndex = contentType.indexOf(';');
+    return (parameterIndex == -1 ? contentType : contentType.substring(0, parameterIndex)).trim();
+  }
+}
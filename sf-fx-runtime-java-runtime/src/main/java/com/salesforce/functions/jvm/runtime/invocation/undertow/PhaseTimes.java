@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.InvocationPhaseTimings;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Time spent in the individual phases of handling a request, reported as part of {@link ExtraInfo}.
+ * Phases that have not been reached, i.e. because the function threw an exception, are absent.
+ */
+public class PhaseTimes {
+  @Expose
+  @SerializedName("bodyReadMs")
+  @JsonAdapter(DurationAsFractionalMillisNumberJsonSerializer.class)
+  private final Duration bodyReadTime;
+
+  @Expose
+  @SerializedName("extensionValidationMs")
+  @JsonAdapter(DurationAsFractionalMillisNumberJsonSerializer.class)
+  private final Duration extensionValidationTime;
+
+  @Expose
+  @SerializedName("unmarshallMs")
+  @JsonAdapter(DurationAsFractionalMillisNumberJsonSerializer.class)
+  private final Duration unmarshallTime;
+
+  @Expose
+  @SerializedName("sdkInitializationMs")
+  @JsonAdapter(DurationAsFractionalMillisNumberJsonSerializer.class)
+  private final Duration sdkInitializationTime;
+
+  @Expose
+  @SerializedName("functionMs")
+  @JsonAdapter(DurationAsFractionalMillisNumberJsonSerializer.class)
+  private final Duration functionTime;
+
+  @Expose
+  @SerializedName("marshallMs")
+  @JsonAdapter(DurationAsFractionalMillisNumberJsonSerializer.class)
+  private final Duration marshallTime;
+
+  public PhaseTimes(Duration bodyReadTime) {
+    this.bodyReadTime = bodyReadTime;
+    this.extensionValidationTime = null;
+    this.unmarshallTime = null;
+    this.sdkInitializationTime = null;
+    this.functionTime = null;
+    this.marshallTime = null;
+  }
+
+  public PhaseTimes(Duration bodyReadTime, InvocationPhaseTimings invocationPhaseTimings) {
+    this.bodyReadTime = bodyReadTime;
+    this.extensionValidationTime = invocationPhaseTimings.getExtensionValidationTime();
+    this.unmarshallTime = invocationPhaseTimings.getUnmarshallTime();
+    this.sdkInitializationTime = invocationPhaseTimings.getSdkInitializationTime();
+    this.functionTime = invocationPhaseTimings.getFunctionTime();
+    this.marshallTime = invocationPhaseTimings.getMarshallTime();
+  }
+
+  public Duration getBodyReadTime() {
+    return bodyReadTime;
+  }
+
+  public Optional<Duration> getExtensionValidationTime() {
+    return Optional.ofNullable(extensionValidationTime);
+  }
+
+  public Optional<Duration> getUnmarshallTime() {
+    return Optional.ofNullable(unmarshallTime);
+  }
+
+  public Optional<Duration> getSdkInitializationTime() {
+    return Optional.ofNullable(sdkInitializationTime);
+  }
+
+  public Optional<Duration> getFunctionTime() {
+    return Optional.ofNullable(functionTime);
+  }
+
+  public Optional<Duration> getMarshallTime() {
+    return Optional.ofNullable(marshallTime);
+  }
+}
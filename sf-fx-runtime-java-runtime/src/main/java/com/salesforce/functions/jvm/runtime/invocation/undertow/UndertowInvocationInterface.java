@@ -7,67 +7,142 @@
 package com.salesforce.functions.jvm.runtime.invocation.undertow;
 
 import com.google.common.base.Throwables;
-import com.google.common.io.ByteStreams;
 import com.google.common.net.MediaType;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
 import com.salesforce.functions.jvm.runtime.InvocationInterface;
+import com.salesforce.functions.jvm.runtime.metrics.MetricsRegistry;
 import com.salesforce.functions.jvm.runtime.project.ProjectFunction;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.InvocationCancellation;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.*;
 import io.cloudevents.CloudEvent;
-import io.cloudevents.http.HttpMessageFactory;
+import io.cloudevents.core.format.EventDeserializationException;
 import io.cloudevents.rw.CloudEventRWException;
 import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.*;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xnio.Options;
 
 public class UndertowInvocationInterface
     implements InvocationInterface<
         CloudEvent, SalesforceFunctionResult, SalesforceFunctionException> {
   private final int port;
   private final String host;
+  private final UndertowServerConfiguration configuration;
   private Undertow undertow = null;
+  private ExecutorService virtualThreadExecutor = null;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(UndertowInvocationInterface.class);
 
   public UndertowInvocationInterface(int port, String host) {
+    this(port, host, UndertowServerConfiguration.fromAvailableResources());
+  }
+
+  public UndertowInvocationInterface(
+      int port, String host, UndertowServerConfiguration configuration) {
     this.port = port;
     this.host = host;
+    this.configuration = configuration;
   }
 
   @Override
   public void start(
       ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
           projectFunction) {
+    start(Collections.singletonList(projectFunction));
+  }
+
+  @Override
+  public void start(
+      List<
+              ? extends
+                  ProjectFunction<
+                      CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>>
+          projectFunctions) {
+    FunctionRouter functionRouter = new FunctionRouter(projectFunctions);
+    LOGGER.info("Starting server with {}", configuration);
+
+    if (configuration.isVirtualThreadsEnabled()) {
+      virtualThreadExecutor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor().orElse(null);
+
+      if (virtualThreadExecutor == null) {
+        LOGGER.warn(
+            "Virtual threads are not supported by this JVM, falling back to worker threads.");
+      }
+    }
+
+    ConcurrencyLimiter concurrencyLimiter = createConcurrencyLimiter();
+    InvocationMetrics metrics =
+        new InvocationMetrics(
+            new MetricsRegistry().withJvmMetrics(),
+            concurrencyLimiter,
+            projectFunctions.stream().map(ProjectFunction::getName).collect(Collectors.toList()));
+
     this.undertow =
         Undertow.builder()
             .addHttpListener(port, host)
-            .setHandler(new ProjectFunctionHandler(projectFunction))
+            .setIoThreads(configuration.getIoThreads())
+            .setWorkerThreads(configuration.getWorkerThreads())
+            .setBufferSize(configuration.getBufferSize())
+            .setDirectBuffers(configuration.isDirectBuffers())
+            .setSocketOption(Options.BACKLOG, configuration.getBacklog())
+            .setServerOption(UndertowOptions.ENABLE_HTTP2, configuration.isHttp2Enabled())
+            .setHandler(
+                new ProjectFunctionHandler(
+                    functionRouter,
+                    virtualThreadExecutor,
+                    concurrencyLimiter,
+                    configuration.getInvocationTimeout(),
+                    metrics,
+                    configuration.isMetricsEnabled()))
             .build();
 
     undertow.start();
   }
 
+  private ConcurrencyLimiter createConcurrencyLimiter() {
+    if (configuration.getMaxConcurrentInvocations() <= 0) {
+      return null;
+    }
+
+    return new ConcurrencyLimiter(
+        configuration.getMaxConcurrentInvocations(),
+        configuration.getMaxQueuedInvocations(),
+        configuration.isAdaptiveConcurrencyLimitEnabled());
+  }
+
   @Override
   public void stop() throws Exception {
     if (undertow != null) {
       undertow.stop();
       undertow = null;
     }
+
+    if (virtualThreadExecutor != null) {
+      virtualThreadExecutor.shutdown();
+      virtualThreadExecutor = null;
+    }
   }
 
   @Override
@@ -81,27 +156,67 @@ public class UndertowInvocationInterface
   }
 
   private static class ProjectFunctionHandler implements HttpHandler {
+    // Shed requests are likely to succeed if they are retried after a short amount of time, once
+    // running invocations have completed.
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    // CloudEvent extension that allows an invocation to request a shorter timeout in milliseconds.
+    private static final String TIMEOUT_EXTENSION_NAME = "sftimeoutms";
+
+    private static final String METRICS_PATH = "/metrics";
+
+    // Metrics of the function a request has been routed to. Absent for requests that were not
+    // routed, i.e. health checks or requests for unknown functions.
+    private static final AttachmentKey<InvocationMetrics.FunctionMetrics> FUNCTION_METRICS =
+        AttachmentKey.create(InvocationMetrics.FunctionMetrics.class);
+
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
     private final Gson gson = new Gson();
 
-    private final ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
-        projectFunction;
+    private final FunctionRouter functionRouter;
+
+    // Executor to run function invocations on. If null, Undertow's worker thread pool is used.
+    private final Executor dispatchExecutor;
+
+    // Limits concurrent function invocations. If null, concurrency is unlimited.
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    // Timeout for each invocation, zero or negative if invocations should not time out.
+    private final Duration invocationTimeout;
+
+    private final InvocationMetrics metrics;
+
+    // Whether the metrics are exposed via GET requests to /metrics.
+    private final boolean metricsEnabled;
 
     public ProjectFunctionHandler(
-        ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
-            projectFunction) {
-      this.projectFunction = projectFunction;
+        FunctionRouter functionRouter,
+        Executor dispatchExecutor,
+        ConcurrencyLimiter concurrencyLimiter,
+        Duration invocationTimeout,
+        InvocationMetrics metrics,
+        boolean metricsEnabled) {
+      this.functionRouter = functionRouter;
+      this.dispatchExecutor = dispatchExecutor;
+      this.concurrencyLimiter = concurrencyLimiter;
+      this.invocationTimeout = invocationTimeout;
+      this.metrics = metrics;
+      this.metricsEnabled = metricsEnabled;
     }
 
     @Override
-    public void handleRequest(HttpServerExchange exchange) throws Exception {
-      if (exchange.isInIoThread()) {
-        exchange.dispatch(this);
+    public void handleRequest(HttpServerExchange exchange) {
+      // Step 1: Validate basic HTTP request data. This is cheap enough to be done directly on the
+      // IO thread.
+      if (metricsEnabled
+          && exchange.getRequestMethod().equals(Methods.GET)
+          && exchange.getRequestPath().equals(METRICS_PATH)) {
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, MetricsRegistry.CONTENT_TYPE);
+        exchange.getResponseSender().send(metrics.scrape());
         return;
       }
 
-      exchange.startBlocking();
-
-      // Step 1: Validate basic HTTP request data
       if (!exchange.getRequestMethod().equals(Methods.POST)) {
         makeResponse(
             exchange,
@@ -111,7 +226,7 @@ public class UndertowInvocationInterface
         return;
       }
 
-      if (!exchange.getRequestPath().equals("/")) {
+      if (!functionRouter.isRoutablePath(exchange.getRequestPath())) {
         makeResponse(
             exchange,
             StatusCodes.NOT_FOUND,
@@ -128,87 +243,235 @@ public class UndertowInvocationInterface
         return;
       }
 
-      // Step 2: Parse HTTP request as a CloudEvent
-      final byte[] body = ByteStreams.toByteArray(exchange.getInputStream());
+      // Requests to the root path need to name the function in a header if multiple functions are
+      // served.
+      Optional<ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>>
+          optionalProjectFunction =
+              functionRouter.route(exchange.getRequestPath(), exchange.getRequestHeaders());
+
+      if (!optionalProjectFunction.isPresent()) {
+        makeResponse(
+            exchange,
+            StatusCodes.NOT_FOUND,
+            new JsonPrimitive("HTTP 404: Not Found"),
+            new ExtraInfo());
+        return;
+      }
 
-      Map<String, List<String>> headers = new HashMap<>();
+      ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+          projectFunction = optionalProjectFunction.get();
+      exchange.putAttachment(FUNCTION_METRICS, metrics.forFunction(projectFunction.getName()));
+
+      // Step 2: Read the request body without blocking. The receiver reads into a buffer that is
+      // sized from the Content-Length header (if present) and invokes the callback once the full
+      // body has been read. Only then the request is dispatched to a worker (or virtual) thread,
+      // slow clients therefore don't occupy worker threads while uploading.
+      long bodyReadStartNanoTime = System.nanoTime();
       exchange
-          .getRequestHeaders()
-          .forEach(
-              headerValues -> {
-                String name = headerValues.getHeaderName().toString();
-                List<String> values = new ArrayList<>(headerValues);
-                headers.put(name, values);
-              });
+          .getRequestReceiver()
+          .receiveFullBytes(
+              (receivedExchange, body) ->
+                  dispatchCloudEventRequest(
+                      receivedExchange,
+                      projectFunction,
+                      body,
+                      Duration.ofNanos(System.nanoTime() - bodyReadStartNanoTime)),
+              (failedExchange, e) ->
+                  makeResponse(
+                      failedExchange,
+                      StatusCodes.BAD_REQUEST,
+                      new JsonPrimitive("Could not read request body: " + e.getMessage()),
+                      new ExtraInfo().withInternalExceptionData(e)));
+    }
+
+    private void dispatchCloudEventRequest(
+        HttpServerExchange exchange,
+        ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+            projectFunction,
+        byte[] body,
+        Duration bodyReadTime) {
+      exchange.getAttachment(FUNCTION_METRICS).recordBodyRead(bodyReadTime);
+
+      // Invocations are dispatched as plain tasks rather than handlers. Undertow ends exchanges
+      // of dispatched handlers once they return, which would race with a timeout response that is
+      // still being written from the IO thread. Every path of the invocation ends the exchange by
+      // sending a response instead.
+      if (concurrencyLimiter == null) {
+        exchange.dispatch(
+            dispatchExecutor,
+            () -> handleCloudEventRequest(exchange, projectFunction, body, bodyReadTime));
+        return;
+      }
+
+      // The exchange has to stay dispatched while its invocation waits in the queue, Undertow
+      // would otherwise end it as soon as this callback returns. Admission itself is cheap and
+      // decided on the current thread, queued invocations are dispatched once a slot is released.
+      exchange.dispatch(
+          SameThreadExecutor.INSTANCE,
+          () -> {
+            boolean admitted =
+                concurrencyLimiter.submit(
+                    () ->
+                        exchange.dispatch(
+                            dispatchExecutor,
+                            () -> {
+                              long startNanoTime = System.nanoTime();
+                              try {
+                                handleCloudEventRequest(
+                                    exchange, projectFunction, body, bodyReadTime);
+                              } finally {
+                                concurrencyLimiter.release(System.nanoTime() - startNanoTime);
+                              }
+                            }));
+
+            // Rejecting requests early keeps the latency of admitted requests stable during
+            // overload.
+            if (!admitted) {
+              exchange.getResponseHeaders().put(Headers.RETRY_AFTER, RETRY_AFTER_SECONDS);
+              makeResponse(
+                  exchange,
+                  StatusCodes.SERVICE_UNAVAILABLE,
+                  new JsonPrimitive("HTTP 503: Service Unavailable"),
+                  new ExtraInfo().withShed());
+            }
+          });
+    }
+
+    private void handleCloudEventRequest(
+        HttpServerExchange exchange,
+        ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+            projectFunction,
+        byte[] body,
+        Duration bodyReadTime) {
+      InvocationMetrics.FunctionMetrics functionMetrics = exchange.getAttachment(FUNCTION_METRICS);
+      functionMetrics.invocationStarted();
+      try {
+        parseAndApplyCloudEvent(exchange, projectFunction, body, bodyReadTime);
+      } catch (Throwable t) {
+        LOGGER.error("Unexpected error while handling function invocation!", t);
+
+        // Exceptions of timed out invocations are discarded before they end up here, the exchange
+        // is only written to if no other response has been started.
+        if (!exchange.isResponseStarted()) {
+          makeResponse(
+              exchange,
+              StatusCodes.INTERNAL_SERVER_ERROR,
+              new JsonPrimitive("HTTP 500: Internal Server Error"),
+              new ExtraInfo().withInternalExceptionData(t));
+        }
+      } finally {
+        functionMetrics.invocationCompleted();
+      }
+    }
+
+    private void parseAndApplyCloudEvent(
+        HttpServerExchange exchange,
+        ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+            projectFunction,
+        byte[] body,
+        Duration bodyReadTime) {
+      ExtraInfo extraInfo = new ExtraInfo().withPhaseTimes(new PhaseTimes(bodyReadTime));
 
+      // Step 3: Parse HTTP request as a CloudEvent. Binary mode attributes are read straight from
+      // Undertow's headers, structured mode events straight from the already received body.
       final CloudEvent cloudEvent;
       try {
-        cloudEvent = HttpMessageFactory.createReaderFromMultimap(headers, body).toEvent();
-      } catch (IllegalStateException | CloudEventRWException e) {
+        cloudEvent =
+            UndertowMessageFactory.createReader(exchange.getRequestHeaders(), body).toEvent();
+      } catch (IllegalStateException | CloudEventRWException | EventDeserializationException e) {
         makeResponse(
             exchange,
             StatusCodes.BAD_REQUEST,
             new JsonPrimitive("Could not parse CloudEvent: " + e.getMessage()),
-            new ExtraInfo().withInternalExceptionData(e));
+            extraInfo.withInternalExceptionData(e));
         return;
       }
 
-      // Step 3: Apply function with the CloudEvent, translating exceptions to semantic HTTP error
+      // Step 4: Apply function with the CloudEvent, translating exceptions to semantic HTTP error
       // responses.
       try {
         long startNanoTime = System.nanoTime();
-        SalesforceFunctionResult result = projectFunction.apply(cloudEvent);
+        SalesforceFunctionResult result = applyFunction(exchange, projectFunction, cloudEvent);
         long elapsedNanoTime = System.nanoTime() - startNanoTime;
+        exchange
+            .getAttachment(FUNCTION_METRICS)
+            .recordInvocation(
+                Duration.ofNanos(elapsedNanoTime), result.getPhaseTimings().orElse(null));
+
+        ExtraInfo resultExtraInfo =
+            extraInfo
+                .withPhaseTimes(
+                    result
+                        .getPhaseTimings()
+                        .map(phaseTimings -> new PhaseTimes(bodyReadTime, phaseTimings))
+                        .orElse(new PhaseTimes(bodyReadTime)))
+                .withCloudEventData(cloudEvent)
+                .withFunctionExecutionTime(Duration.ofNanos(elapsedNanoTime));
 
-        // Currently, the HTTP interface only supports JSON results. Since the runtime supports
-        // other content types as well, we need to make sure to only return JSON.
-        if (!result.getMediaType().equals(MediaType.JSON_UTF_8)) {
+        // Results can be of any media type, i.e. raw bytes for functions returning byte[]. Only
+        // wildcard media types cannot be used as a Content-Type.
+        if (result.getMediaType().hasWildcard()) {
+          result.release();
           makeResponse(
               exchange,
               StatusCodes.SERVICE_UNAVAILABLE,
-              new JsonPrimitive("Function returned non-JSON data which is unsupported!"),
-              new ExtraInfo()
-                  .withCloudEventData(cloudEvent)
-                  .withFunctionExecutionTime(Duration.ofNanos(elapsedNanoTime)));
+              new JsonPrimitive(
+                  "Function returned data of unsupported media type "
+                      + result.getMediaType()
+                      + "!"),
+              resultExtraInfo);
           return;
         }
 
+        // JSON results keep the plain application/json content type of all other responses. Other
+        // formats (i.e. CBOR or application/octet-stream) are sent with their media type. In both
+        // cases, the marshalled bytes are sent as-is.
+        String contentType =
+            result.getMediaType().equals(MediaType.JSON_UTF_8)
+                ? JSON_CONTENT_TYPE
+                : result.getMediaType().toString();
+
+        // The result data is released once it has been written, so pooled buffers can be reused.
         makeResponse(
             exchange,
             StatusCodes.OK,
-            // We validated earlier that the data is indeed an UTF-8 encoded JSON string
-            gson.fromJson(new String(result.getData(), StandardCharsets.UTF_8), JsonElement.class),
-            new ExtraInfo()
-                .withCloudEventData(cloudEvent)
-                .withFunctionExecutionTime(Duration.ofNanos(elapsedNanoTime)));
+            contentType,
+            result.getDataBuffer(),
+            resultExtraInfo,
+            result::release);
+
+      } catch (FunctionTimedOutException e) {
+        // The timeout response has already been sent when the timeout expired. Whatever the
+        // function returned or threw in the meantime is discarded.
+        LOGGER.debug("Discarding result of timed out function invocation {}.", cloudEvent.getId());
 
       } catch (MalformedOrMissingSalesforceContextExtensionException e) {
         makeResponse(
             exchange,
             StatusCodes.BAD_REQUEST,
             new JsonPrimitive("CloudEvent is missing required sfcontext extension!"),
-            new ExtraInfo().withCloudEventData(cloudEvent).withInternalExceptionData(e));
+            extraInfo.withCloudEventData(cloudEvent).withInternalExceptionData(e));
 
       } catch (MalformedOrMissingSalesforceFunctionContextExtensionException e) {
         makeResponse(
             exchange,
             StatusCodes.BAD_REQUEST,
             new JsonPrimitive("CloudEvent is missing required sffncontext extension!"),
-            new ExtraInfo().withCloudEventData(cloudEvent).withInternalExceptionData(e));
+            extraInfo.withCloudEventData(cloudEvent).withInternalExceptionData(e));
 
       } catch (PayloadUnmarshallingException e) {
         makeResponse(
             exchange,
             StatusCodes.BAD_REQUEST,
-            new JsonPrimitive("Could not unmarshall payload: " + e.getCause().getMessage()),
-            new ExtraInfo().withCloudEventData(cloudEvent).withFunctionExceptionData(e));
+            new JsonPrimitive("Could not unmarshall payload: " + getCauseMessage(e)),
+            extraInfo.withCloudEventData(cloudEvent).withFunctionExceptionData(e));
 
       } catch (FunctionResultMarshallingException e) {
         makeResponse(
             exchange,
             StatusCodes.BAD_REQUEST,
-            new JsonPrimitive("Could not marshall function result: " + e.getCause().getMessage()),
-            new ExtraInfo().withCloudEventData(cloudEvent).withFunctionExceptionData(e));
+            new JsonPrimitive("Could not marshall function result: " + getCauseMessage(e)),
+            extraInfo.withCloudEventData(cloudEvent).withFunctionExceptionData(e));
 
       } catch (FunctionThrewExceptionException e) {
         String message =
@@ -225,29 +488,149 @@ public class UndertowInvocationInterface
             exchange,
             StatusCodes.INTERNAL_SERVER_ERROR,
             new JsonPrimitive(message),
-            new ExtraInfo().withCloudEventData(cloudEvent).withFunctionExceptionData(e));
+            extraInfo.withCloudEventData(cloudEvent).withFunctionExceptionData(e));
 
       } catch (SdkInitializationException e) {
         makeResponse(
             exchange,
             StatusCodes.SERVICE_UNAVAILABLE,
             new JsonPrimitive("Could not initialize SDK for function!"),
-            new ExtraInfo().withCloudEventData(cloudEvent).withInternalExceptionData(e));
+            extraInfo.withCloudEventData(cloudEvent).withInternalExceptionData(e));
 
       } catch (SalesforceFunctionException e) {
         makeResponse(
             exchange,
             StatusCodes.SERVICE_UNAVAILABLE,
-            new JsonPrimitive(
-                "Unknown error while executing function: " + e.getCause().getMessage()),
-            new ExtraInfo().withCloudEventData(cloudEvent).withInternalExceptionData(e));
+            new JsonPrimitive("Unknown error while executing function: " + getCauseMessage(e)),
+            extraInfo.withCloudEventData(cloudEvent).withInternalExceptionData(e));
       }
     }
 
+    // Exceptions usually wrap the actual cause, but not all of them have one.
+    private static String getCauseMessage(SalesforceFunctionException e) {
+      return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+    }
+
+    private SalesforceFunctionResult applyFunction(
+        HttpServerExchange exchange,
+        ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+            projectFunction,
+        CloudEvent cloudEvent) {
+      Optional<Duration> optionalTimeout = getInvocationTimeout(cloudEvent);
+      if (!optionalTimeout.isPresent()) {
+        return projectFunction.apply(cloudEvent);
+      }
+
+      Duration timeout = optionalTimeout.get();
+      InvocationTimer timer =
+          InvocationTimer.start(
+              exchange.getIoThread(),
+              timeout,
+              functionStackTrace -> {
+                LOGGER.warn(
+                    "Function invocation {} timed out after {}ms!",
+                    cloudEvent.getId(),
+                    timeout.toMillis());
+
+                FunctionTimedOutException e = new FunctionTimedOutException(timeout);
+                e.setStackTrace(functionStackTrace);
+
+                makeResponse(
+                    exchange,
+                    StatusCodes.GATEWAY_TIME_OUT,
+                    new JsonPrimitive(
+                        "Function did not complete within " + timeout.toMillis() + "ms!"),
+                    new ExtraInfo()
+                        .withCloudEventData(cloudEvent)
+                        .withFunctionExecutionTime(timeout)
+                        .withFunctionExceptionData(e));
+              });
+
+      InvocationCancellation.set(timer.getCancellation());
+      final SalesforceFunctionResult result;
+      try {
+        result = projectFunction.apply(cloudEvent);
+      } catch (Throwable t) {
+        if (!timer.complete()) {
+          throw new FunctionTimedOutException(timeout);
+        }
+
+        throw t;
+      } finally {
+        InvocationCancellation.clear();
+      }
+
+      if (!timer.complete()) {
+        result.release();
+        throw new FunctionTimedOutException(timeout);
+      }
+
+      return result;
+    }
+
+    private Optional<Duration> getInvocationTimeout(CloudEvent cloudEvent) {
+      Duration timeout = invocationTimeout;
+
+      Object extensionValue = cloudEvent.getExtension(TIMEOUT_EXTENSION_NAME);
+      if (extensionValue != null) {
+        try {
+          Duration requestedTimeout = Duration.ofMillis(Long.parseLong(extensionValue.toString()));
+
+          // Invocations can only shorten the configured timeout, never extend it.
+          if (isPositive(requestedTimeout)
+              && (!isPositive(timeout) || requestedTimeout.compareTo(timeout) < 0)) {
+            timeout = requestedTimeout;
+          }
+        } catch (NumberFormatException e) {
+          LOGGER.warn(
+              "Ignoring invalid {} CloudEvent extension value: {}",
+              TIMEOUT_EXTENSION_NAME,
+              extensionValue);
+        }
+      }
+
+      return isPositive(timeout) ? Optional.of(timeout) : Optional.empty();
+    }
+
+    private static boolean isPositive(Duration duration) {
+      return !duration.isZero() && !duration.isNegative();
+    }
+
     private void makeResponse(
         HttpServerExchange exchange, int status, JsonElement data, ExtraInfo extraInfo) {
+      makeResponse(
+          exchange,
+          status,
+          JSON_CONTENT_TYPE,
+          ByteBuffer.wrap(gson.toJson(data).getBytes(StandardCharsets.UTF_8)),
+          extraInfo);
+    }
+
+    private void makeResponse(
+        HttpServerExchange exchange,
+        int status,
+        String contentType,
+        ByteBuffer data,
+        ExtraInfo extraInfo) {
+      makeResponse(exchange, status, contentType, data, extraInfo, () -> {});
+    }
+
+    private void makeResponse(
+        HttpServerExchange exchange,
+        int status,
+        String contentType,
+        ByteBuffer data,
+        ExtraInfo extraInfo,
+        Runnable releaseData) {
+      InvocationMetrics.FunctionMetrics functionMetrics = exchange.getAttachment(FUNCTION_METRICS);
+      if (functionMetrics != null) {
+        functionMetrics.recordResponse(status, extraInfo);
+      } else {
+        metrics.recordResponse(status, extraInfo);
+      }
+
       exchange.setStatusCode(status);
-      exchange.getResponseHeaders().add(Headers.CONTENT_TYPE, "application/json");
+      exchange.getResponseHeaders().add(Headers.CONTENT_TYPE, contentType);
 
       try {
         exchange
@@ -260,8 +643,30 @@ public class UndertowInvocationInterface
         LOGGER.warn("Could not write x-extra-info header!", e);
       }
 
-      exchange.getResponseSender().send(gson.toJson(data), StandardCharsets.UTF_8);
-      exchange.getResponseSender().close();
+      // Sending ends the exchange once all data has been written.
+      long responseWriteStartNanoTime = System.nanoTime();
+      exchange
+          .getResponseSender()
+          .send(
+              data,
+              new IoCallback() {
+                @Override
+                public void onComplete(HttpServerExchange exchange, Sender sender) {
+                  if (functionMetrics != null) {
+                    functionMetrics.recordResponseWrite(
+                        System.nanoTime() - responseWriteStartNanoTime);
+                  }
+                  releaseData.run();
+                  IoCallback.END_EXCHANGE.onComplete(exchange, sender);
+                }
+
+                @Override
+                public void onException(
+                    HttpServerExchange exchange, Sender sender, IOException exception) {
+                  releaseData.run();
+                  IoCallback.END_EXCHANGE.onException(exchange, sender, exception);
+                }
+              });
     }
   }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import io.cloudevents.core.message.MessageReader;
+import io.cloudevents.core.message.impl.GenericStructuredMessageReader;
+import io.cloudevents.core.message.impl.MessageUtils;
+import io.cloudevents.rw.CloudEventRWException;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+
+/**
+ * Creates {@link MessageReader}s for HTTP requests received by Undertow, the counterpart of
+ * cloudevents-http-basic's HttpMessageFactory. Binary mode CloudEvents are read from the request's
+ * {@link HeaderMap} as is, structured mode CloudEvents are read from the request body with {@link
+ * JsonEventFormat}.
+ */
+final class UndertowMessageFactory {
+  private static final String SPEC_VERSION_HEADER = "ce-specversion";
+
+  private UndertowMessageFactory() {}
+
+  static MessageReader createReader(HeaderMap headers, byte[] body) throws CloudEventRWException {
+    String contentType = headers.getFirst(Headers.CONTENT_TYPE);
+    if (contentType != null && JsonEventFormat.isStructuredContentType(contentType)) {
+      return new GenericStructuredMessageReader(JsonEventFormat.INSTANCE, body);
+    }
+
+    // Falls back to formats registered with the CloudEvents SDK before reading binary mode.
+    return MessageUtils.parseStructuredOrBinaryMessage(
+        () -> contentType,
+        format -> new GenericStructuredMessageReader(format, body),
+        () -> headers.getFirst(SPEC_VERSION_HEADER),
+        specVersion -> new HeaderMapMessageReader(specVersion, headers, body));
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import java.time.Duration;
+
+/**
+ * Tuning options for the Undertow server used by {@link UndertowInvocationInterface}.
+ *
+ * <p>The defaults are derived from the resources that are actually available to the JVM. Both
+ * {@link Runtime#availableProcessors()} and {@link Runtime#maxMemory()} respect container limits,
+ * so the server is sized for the dyno it runs on instead of the host machine.
+ */
+public final class UndertowServerConfiguration {
+  // Heap that is assumed to be needed by a single concurrently running function invocation. This
+  // caps the default number of worker threads on machines with many CPUs but little memory.
+  private static final long HEAP_BYTES_PER_WORKER_THREAD = 16L * 1024 * 1024;
+
+  // Options that do not depend on the available resources are initialized with their defaults.
+  // Concurrency is unlimited by default, the queue size only applies once a limit is set.
+  private int ioThreads;
+  private int workerThreads;
+  private int bufferSize;
+  private boolean directBuffers;
+  private int backlog = 1000;
+  private boolean http2Enabled = false;
+  private boolean virtualThreadsEnabled = false;
+  private int maxConcurrentInvocations = 0;
+  private int maxQueuedInvocations = 100;
+  private boolean adaptiveConcurrencyLimitEnabled = false;
+  private Duration invocationTimeout = Duration.ZERO;
+  private boolean metricsEnabled = false;
+
+  private UndertowServerConfiguration() {}
+
+  // Configurations are immutable once they have been handed out, with* methods only modify copies.
+  private UndertowServerConfiguration(UndertowServerConfiguration other) {
+    this.ioThreads = other.ioThreads;
+    this.workerThreads = other.workerThreads;
+    this.bufferSize = other.bufferSize;
+    this.directBuffers = other.directBuffers;
+    this.backlog = other.backlog;
+    this.http2Enabled = other.http2Enabled;
+    this.virtualThreadsEnabled = other.virtualThreadsEnabled;
+    this.maxConcurrentInvocations = other.maxConcurrentInvocations;
+    this.maxQueuedInvocations = other.maxQueuedInvocations;
+    this.adaptiveConcurrencyLimitEnabled = other.adaptiveConcurrencyLimitEnabled;
+    this.invocationTimeout = other.invocationTimeout;
+    this.metricsEnabled = other.metricsEnabled;
+  }
+
+  /**
+   * Creates a configuration that is sized according to the CPU and memory limits of the current
+   * JVM.
+   *
+   * @return The default configuration for this JVM.
+   */
+  public static UndertowServerConfiguration fromAvailableResources() {
+    return fromResources(
+        Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory());
+  }
+
+  static UndertowServerConfiguration fromResources(int availableProcessors, long maxMemory) {
+    // Same as Undertow's defaults, but based on the values from the method arguments.
+    int ioThreads = Math.max(availableProcessors, 2);
+
+    long memoryBoundWorkerThreads = maxMemory / HEAP_BYTES_PER_WORKER_THREAD;
+    int workerThreads =
+        (int) Math.max(ioThreads, Math.min(ioThreads * 8L, memoryBoundWorkerThreads));
+
+    // Buffer sizes follow Undertow's own heuristics. Small heaps get small heap buffers since every
+    // connection holds on to at least one buffer.
+    int bufferSize;
+    boolean directBuffers;
+    if (maxMemory < 64 * 1024 * 1024) {
+      bufferSize = 512;
+      directBuffers = false;
+    } else if (maxMemory < 128 * 1024 * 1024) {
+      bufferSize = 1024;
+      directBuffers = true;
+    } else {
+      // 16KiB minus some space for TLS/HTTP overhead so a buffer fits into a single TLS record.
+      bufferSize = 1024 * 16 - 20;
+      directBuffers = true;
+    }
+
+    UndertowServerConfiguration configuration = new UndertowServerConfiguration();
+    configuration.ioThreads = ioThreads;
+    configuration.workerThreads = workerThreads;
+    configuration.bufferSize = bufferSize;
+    configuration.directBuffers = directBuffers;
+    return configuration;
+  }
+
+  public UndertowServerConfiguration withIoThreads(int ioThreads) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.ioThreads = ioThreads;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withWorkerThreads(int workerThreads) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.workerThreads = workerThreads;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withBufferSize(int bufferSize) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.bufferSize = bufferSize;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withDirectBuffers(boolean directBuffers) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.directBuffers = directBuffers;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withBacklog(int backlog) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.backlog = backlog;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withHttp2Enabled(boolean http2Enabled) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.http2Enabled = http2Enabled;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.virtualThreadsEnabled = virtualThreadsEnabled;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withMaxConcurrentInvocations(int maxConcurrentInvocations) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.maxConcurrentInvocations = maxConcurrentInvocations;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withMaxQueuedInvocations(int maxQueuedInvocations) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.maxQueuedInvocations = maxQueuedInvocations;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withAdaptiveConcurrencyLimitEnabled(
+      boolean adaptiveConcurrencyLimitEnabled) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.adaptiveConcurrencyLimitEnabled = adaptiveConcurrencyLimitEnabled;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withInvocationTimeout(Duration invocationTimeout) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.invocationTimeout = invocationTimeout;
+    return copy;
+  }
+
+  public UndertowServerConfiguration withMetricsEnabled(boolean metricsEnabled) {
+    UndertowServerConfiguration copy = new UndertowServerConfiguration(this);
+    copy.metricsEnabled = metricsEnabled;
+    return copy;
+  }
+
+  public int getIoThreads() {
+    return ioThreads;
+  }
+
+  public int getWorkerThreads() {
+    return workerThreads;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  public boolean isDirectBuffers() {
+    return directBuffers;
+  }
+
+  public int getBacklog() {
+    return backlog;
+  }
+
+  public boolean isHttp2Enabled() {
+    return http2Enabled;
+  }
+
+  /**
+   * Whether function invocations should run on virtual threads instead of the worker thread pool.
+   * Virtual threads are only available on Java 21 or newer, older JVMs will fall back to the worker
+   * thread pool.
+   *
+   * @return If virtual threads are enabled.
+   */
+  public boolean isVirtualThreadsEnabled() {
+    return virtualThreadsEnabled;
+  }
+
+  /**
+   * The maximum number of function invocations that run at the same time. Requests that exceed this
+   * limit are queued and eventually shed.
+   *
+   * @return The maximum number of concurrent invocations or 0 if concurrency is unlimited.
+   */
+  public int getMaxConcurrentInvocations() {
+    return maxConcurrentInvocations;
+  }
+
+  /**
+   * The maximum number of invocations that wait for a free slot when the concurrency limit has been
+   * reached. Any further requests are rejected with HTTP 503.
+   *
+   * @return The maximum number of queued invocations.
+   */
+  public int getMaxQueuedInvocations() {
+    return maxQueuedInvocations;
+  }
+
+  /**
+   * Whether the concurrency limit should adapt to observed execution times. If enabled, the
+   * configured maximum is an upper bound for the actual limit.
+   *
+   * @return If the adaptive concurrency limit is enabled.
+   */
+  public boolean isAdaptiveConcurrencyLimitEnabled() {
+    return adaptiveConcurrencyLimitEnabled;
+  }
+
+  /**
+   * The maximum time a function invocation may take. Invocations can request a shorter timeout with
+   * the sftimeoutms CloudEvent extension.
+   *
+   * @return The invocation timeout or {@link Duration#ZERO} if invocations never time out.
+   */
+  public Duration getInvocationTimeout() {
+    return invocationTimeout;
+  }
+
+  /**
+   * Whether metrics are exposed in the Prometheus text format via HTTP GET requests to /metrics.
+   *
+   * @return If the metrics endpoint is enabled.
+   */
+  public boolean isMetricsEnabled() {
+    return metricsEnabled;
+  }
+
+  @Override
+  public String toString() {
+    return "UndertowServerConfiguration{"
+        + "ioThreads="
+        + ioThreads
+        + ", workerThreads="
+        + workerThreads
+        + ", bufferSize="
+        + bufferSize
+        + ", directBuffers="
+        + directBuffers
+        + ", backlog="
+        + backlog
+        + ", http2Enabled="
+        + http2Enabled
+        + ", virtualThreadsEnabled="
+        + virtualThreadsEnabled
+        + ", maxConcurrentInvocations="
+        + maxConcurrentInvocations
+        + ", maxQueuedInvocations="
+        + maxQueuedInvocations
+        + ", adaptiveConcurrencyLimitEnabled="
+        + adaptiveConcurrencyLimitEnabled
+        + ", invocationTimeout="
+        + invocationTimeout
+        + ", metricsEnabled="
+        + metricsEnabled
+        + '}';
+  }
+}
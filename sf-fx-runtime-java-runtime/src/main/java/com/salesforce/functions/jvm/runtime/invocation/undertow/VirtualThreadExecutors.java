@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates executors that run each task on a new virtual thread.
+ *
+ * <p>The runtime targets Java 8, so the Java 21 API cannot be referenced directly. It is looked up
+ * reflectively instead, making virtual threads available whenever the runtime happens to run on a
+ * JVM that supports them.
+ */
+final class VirtualThreadExecutors {
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadExecutors.class);
+
+  /**
+   * Creates a new executor that starts a new virtual thread for each task.
+   *
+   * @return The executor or an empty optional if the JVM does not support virtual threads.
+   */
+  static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+    final Method method;
+    try {
+      method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of((ExecutorService) method.invoke(null));
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      // Java 19 and 20 have the method, but throw an UnsupportedOperationException unless preview
+      // features are enabled.
+      LOGGER.debug("Could not create virtual thread executor.", e);
+      return Optional.empty();
+    }
+  }
+
+  private VirtualThreadExecutors() {}
+}
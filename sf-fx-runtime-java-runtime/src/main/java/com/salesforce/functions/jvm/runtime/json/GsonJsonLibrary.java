@@ -10,7 +10,14 @@ import com.google.gson.*;
 import com.google.gson.annotations.SerializedName;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonDeserializationException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonSerializationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 
 public final class GsonJsonLibrary implements JsonLibrary {
   private final Gson gson = new Gson();
@@ -36,6 +43,16 @@ public final class GsonJsonLibrary implements JsonLibrary {
     }
   }
 
+  @Override
+  public Object deserialize(byte[] json, Type type) throws JsonDeserializationException {
+    try {
+      return gson.fromJson(
+          new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8), type);
+    } catch (JsonParseException e) {
+      throw new JsonDeserializationException(e);
+    }
+  }
+
   @Override
   public String serialize(Object object) throws JsonSerializationException {
     try {
@@ -45,6 +62,18 @@ public final class GsonJsonLibrary implements JsonLibrary {
     }
   }
 
+  @Override
+  public void serialize(Object object, OutputStream outputStream)
+      throws JsonSerializationException {
+    try {
+      Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+      gson.toJson(object, writer);
+      writer.flush();
+    } catch (JsonIOException | IOException e) {
+      throw new JsonSerializationException(e);
+    }
+  }
+
   @Override
   public boolean mustBeUsedFor(Type type) {
     Package annotationsPackage = SerializedName.class.getPackage();
@@ -9,21 +9,34 @@ package com.salesforce.functions.jvm.runtime.json;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonDeserializationException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonLibraryNotPresentException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonSerializationException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 
 public final class GsonReflectionJsonLibrary implements JsonLibrary {
-  private final Method parseStringMethod;
-  private final Method getAsJsonObjectMethod;
-  private final Method getMethod;
-  private final Method fromJsonMethod;
-  private final Method toJsonMethod;
+  // The GSON methods are resolved once and bound to erased signatures so that each call can use
+  // invokeExact without boxing arguments into varargs arrays or wrapping exceptions. The handles
+  // belong to the GSON classes of a single project class loader, so they are instance fields and
+  // the JIT does not treat them as constants like it would static final handles.
+  private final MethodHandle parseStringHandle;
+  private final MethodHandle getAsJsonObjectHandle;
+  private final MethodHandle getHandle;
+  private final MethodHandle fromJsonHandle;
+  private final MethodHandle fromJsonReaderHandle;
+  private final MethodHandle toJsonHandle;
+  private final MethodHandle toJsonAppendableHandle;
 
   private final Package annotationsPackage;
 
-  private final Object gson;
-
   public GsonReflectionJsonLibrary(ClassLoader classLoader) throws JsonLibraryNotPresentException {
     try {
       Class<?> jsonParserClass = classLoader.loadClass("com.google.gson.JsonParser");
@@ -31,13 +44,47 @@ public final class GsonReflectionJsonLibrary implements JsonLibrary {
       Class<?> jsonObjectClass = classLoader.loadClass("com.google.gson.JsonObject");
       Class<?> gsonClass = classLoader.loadClass("com.google.gson.Gson");
 
-      parseStringMethod = jsonParserClass.getMethod("parseString", String.class);
-      getAsJsonObjectMethod = jsonElementClass.getMethod("getAsJsonObject");
-      getMethod = jsonObjectClass.getMethod("get", String.class);
-      fromJsonMethod = gsonClass.getMethod("fromJson", jsonElementClass, Type.class);
-      toJsonMethod = gsonClass.getMethod("toJson", Object.class);
+      Object gson = gsonClass.getConstructor().newInstance();
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+      parseStringHandle =
+          lookup
+              .unreflect(jsonParserClass.getMethod("parseString", String.class))
+              .asType(MethodType.methodType(Object.class, String.class));
+
+      getAsJsonObjectHandle =
+          lookup
+              .unreflect(jsonElementClass.getMethod("getAsJsonObject"))
+              .asType(MethodType.methodType(Object.class, Object.class));
+
+      getHandle =
+          lookup
+              .unreflect(jsonObjectClass.getMethod("get", String.class))
+              .asType(MethodType.methodType(Object.class, Object.class, String.class));
+
+      fromJsonHandle =
+          lookup
+              .unreflect(gsonClass.getMethod("fromJson", jsonElementClass, Type.class))
+              .bindTo(gson)
+              .asType(MethodType.methodType(Object.class, Object.class, Type.class));
 
-      gson = gsonClass.getConstructor().newInstance();
+      fromJsonReaderHandle =
+          lookup
+              .unreflect(gsonClass.getMethod("fromJson", Reader.class, Type.class))
+              .bindTo(gson)
+              .asType(MethodType.methodType(Object.class, Reader.class, Type.class));
+
+      toJsonHandle =
+          lookup
+              .unreflect(gsonClass.getMethod("toJson", Object.class))
+              .bindTo(gson)
+              .asType(MethodType.methodType(String.class, Object.class));
+
+      toJsonAppendableHandle =
+          lookup
+              .unreflect(gsonClass.getMethod("toJson", Object.class, Appendable.class))
+              .bindTo(gson)
+              .asType(MethodType.methodType(void.class, Object.class, Appendable.class));
 
       Class<?> serializedNameAnnotationClass =
           classLoader.loadClass("com.google.gson.annotations.SerializedName");
@@ -62,31 +109,52 @@ public final class GsonReflectionJsonLibrary implements JsonLibrary {
   public Object deserializeAt(String json, Type type, String... path)
       throws JsonDeserializationException {
     try {
-      Object jsonElement = parseStringMethod.invoke(null, json);
+      Object jsonElement = (Object) parseStringHandle.invokeExact(json);
 
       if (path.length > 0) {
-        jsonElement = getAsJsonObjectMethod.invoke(jsonElement);
+        jsonElement = (Object) getAsJsonObjectHandle.invokeExact(jsonElement);
         for (String pathItem : path) {
-          jsonElement = getAsJsonObjectMethod.invoke(getMethod.invoke(jsonElement, pathItem));
+          Object child = (Object) getHandle.invokeExact(jsonElement, pathItem);
+          jsonElement = (Object) getAsJsonObjectHandle.invokeExact(child);
         }
       }
 
-      return fromJsonMethod.invoke(gson, jsonElement, type);
-    } catch (IllegalAccessException e) {
-      throw new JsonDeserializationException(e);
-    } catch (InvocationTargetException e) {
-      throw new JsonDeserializationException(e.getCause());
+      return (Object) fromJsonHandle.invokeExact(jsonElement, type);
+    } catch (Throwable t) {
+      throw new JsonDeserializationException(t);
+    }
+  }
+
+  @Override
+  public Object deserialize(byte[] json, Type type) throws JsonDeserializationException {
+    Reader reader = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8);
+
+    try {
+      return (Object) fromJsonReaderHandle.invokeExact(reader, type);
+    } catch (Throwable t) {
+      throw new JsonDeserializationException(t);
     }
   }
 
   @Override
   public String serialize(Object object) throws JsonSerializationException {
     try {
-      return (String) toJsonMethod.invoke(gson, object);
-    } catch (IllegalAccessException e) {
-      throw new JsonSerializationException(e);
-    } catch (InvocationTargetException e) {
-      throw new JsonSerializationException(e.getCause());
+      return (String) toJsonHandle.invokeExact(object);
+    } catch (Throwable t) {
+      throw new JsonSerializationException(t);
+    }
+  }
+
+  @Override
+  public void serialize(Object object, OutputStream outputStream)
+      throws JsonSerializationException {
+    Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+
+    try {
+      toJsonAppendableHandle.invokeExact(object, (Appendable) writer);
+      writer.flush();
+    } catch (Throwable t) {
+      throw new JsonSerializationException(t);
     }
   }
 }
@@ -9,23 +9,40 @@ package com.salesforce.functions.jvm.runtime.json;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonDeserializationException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonLibraryNotPresentException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonSerializationException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public final class JacksonReflectionJsonLibrary implements JsonLibrary {
-  private final Method readTreeMethod;
-  private final Method atMethod;
-  private final Method readerForMethod;
-  private final Method readValueMethod;
-  private final Method writeValueAsStringMethod;
+  // The Jackson methods are resolved once and bound to erased signatures so that each call can use
+  // invokeExact without boxing arguments into varargs arrays or wrapping exceptions. The handles
+  // belong to the Jackson classes of a single project class loader, so they are instance fields and
+  // the JIT does not treat them as constants like it would static final handles.
+  private final MethodHandle readTreeHandle;
+  private final MethodHandle atHandle;
+  private final MethodHandle readerForHandle;
+  private final MethodHandle readValueHandle;
+  private final MethodHandle readValueBytesHandle;
+  private final MethodHandle writeValueAsStringHandle;
+  private final MethodHandle writeValueHandle;
+  private final MethodHandle constructTypeHandle;
+
+  // ObjectReaders are immutable and thread-safe. The target types are fixed per function, so
+  // resolving the JavaType and reader once per type avoids repeating that lookup per invocation.
+  private final ConcurrentMap<Type, Object> objectReaders = new ConcurrentHashMap<>();
 
   private final Package annotationsPackage;
   private final Package annotationsPackageDatabind;
 
-  private final Object objectMapper;
-  private final Method constructTypeMethod;
-
   public JacksonReflectionJsonLibrary(ClassLoader classLoader)
       throws JsonLibraryNotPresentException {
     try {
@@ -35,15 +52,10 @@ public final class JacksonReflectionJsonLibrary implements JsonLibrary {
           classLoader.loadClass("com.fasterxml.jackson.databind.ObjectReader");
       Class<?> jsonNodeClass = classLoader.loadClass("com.fasterxml.jackson.databind.JsonNode");
       Class<?> javaTypeClass = classLoader.loadClass("com.fasterxml.jackson.databind.JavaType");
+      Class<?> objectWriterClass =
+          classLoader.loadClass("com.fasterxml.jackson.databind.ObjectWriter");
 
-      readTreeMethod = objectMapperClass.getMethod("readTree", String.class);
-      atMethod = jsonNodeClass.getMethod("at", String.class);
-      readerForMethod = objectMapperClass.getMethod("readerFor", javaTypeClass);
-      readValueMethod = objectReaderClass.getMethod("readValue", jsonNodeClass);
-      writeValueAsStringMethod = objectMapperClass.getMethod("writeValueAsString", Object.class);
-      constructTypeMethod = objectMapperClass.getMethod("constructType", Type.class);
-
-      objectMapper = objectMapperClass.getConstructor().newInstance();
+      Object objectMapper = objectMapperClass.getConstructor().newInstance();
 
       // Configure the ObjectMapper to not fail on empty beans
       Class<?> serializationFeatureClass =
@@ -62,6 +74,65 @@ public final class JacksonReflectionJsonLibrary implements JsonLibrary {
           classLoader.loadClass("com.fasterxml.jackson.databind.annotation.JsonSerialize");
       annotationsPackageDatabind = jsonSerializeAnnotationClass.getPackage();
 
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+      readTreeHandle =
+          lookup
+              .unreflect(objectMapperClass.getMethod("readTree", String.class))
+              .bindTo(objectMapper)
+              .asType(MethodType.methodType(Object.class, String.class));
+
+      atHandle =
+          lookup
+              .unreflect(jsonNodeClass.getMethod("at", String.class))
+              .asType(MethodType.methodType(Object.class, Object.class, String.class));
+
+      readerForHandle =
+          lookup
+              .unreflect(objectMapperClass.getMethod("readerFor", javaTypeClass))
+              .bindTo(objectMapper)
+              .asType(MethodType.methodType(Object.class, Object.class));
+
+      readValueHandle =
+          lookup
+              .unreflect(objectReaderClass.getMethod("readValue", jsonNodeClass))
+              .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+
+      // Streams passed to serialize are owned by the caller and must not be closed by Jackson
+      Class<?> jsonGeneratorFeatureClass =
+          classLoader.loadClass("com.fasterxml.jackson.core.JsonGenerator$Feature");
+      Object autoCloseTarget =
+          jsonGeneratorFeatureClass.getField("AUTO_CLOSE_TARGET").get(jsonGeneratorFeatureClass);
+      objectMapperClass
+          .getMethod("configure", jsonGeneratorFeatureClass, boolean.class)
+          .invoke(objectMapper, autoCloseTarget, false);
+
+      Object objectWriter = objectMapperClass.getMethod("writer").invoke(objectMapper);
+      readValueBytesHandle =
+          lookup
+              .unreflect(objectReaderClass.getMethod("readValue", byte[].class))
+              .asType(MethodType.methodType(Object.class, Object.class, byte[].class));
+
+      writeValueAsStringHandle =
+          lookup
+              .unreflect(objectWriterClass.getMethod("writeValueAsString", Object.class))
+              .bindTo(objectWriter)
+              .asType(MethodType.methodType(String.class, Object.class));
+
+      // Jackson's UTF-8 generator escapes characters outside the BMP, writing to a Writer keeps the
+      // output identical to writeValueAsString.
+      writeValueHandle =
+          lookup
+              .unreflect(objectWriterClass.getMethod("writeValue", Writer.class, Object.class))
+              .bindTo(objectWriter)
+              .asType(MethodType.methodType(void.class, Writer.class, Object.class));
+
+      constructTypeHandle =
+          lookup
+              .unreflect(objectMapperClass.getMethod("constructType", Type.class))
+              .bindTo(objectMapper)
+              .asType(MethodType.methodType(Object.class, Type.class));
+
     } catch (NoSuchMethodException
         | ClassNotFoundException
         | InstantiationException
@@ -84,30 +155,62 @@ public final class JacksonReflectionJsonLibrary implements JsonLibrary {
   public Object deserializeAt(String json, Type type, String... path)
       throws JsonDeserializationException {
     try {
-      Object jsonNode = readTreeMethod.invoke(objectMapper, json);
+      Object jsonNode = (Object) readTreeHandle.invokeExact(json);
 
       if (path.length > 0) {
-        jsonNode = atMethod.invoke(jsonNode, "/" + String.join("/", path));
+        jsonNode = (Object) atHandle.invokeExact(jsonNode, "/" + String.join("/", path));
       }
 
-      Object objectReader =
-          readerForMethod.invoke(objectMapper, constructTypeMethod.invoke(objectMapper, type));
-      return readValueMethod.invoke(objectReader, jsonNode);
-    } catch (IllegalAccessException e) {
-      throw new JsonDeserializationException(e);
-    } catch (InvocationTargetException e) {
-      throw new JsonDeserializationException(e.getCause());
+      return (Object) readValueHandle.invokeExact(getObjectReader(type), jsonNode);
+    } catch (Throwable t) {
+      throw new JsonDeserializationException(t);
     }
   }
 
+  @Override
+  public Object deserialize(byte[] json, Type type) throws JsonDeserializationException {
+    try {
+      return (Object) readValueBytesHandle.invokeExact(getObjectReader(type), json);
+    } catch (Throwable t) {
+      throw new JsonDeserializationException(t);
+    }
+  }
+
+  private Object getObjectReader(Type type) throws Throwable {
+    Object objectReader = objectReaders.get(type);
+
+    if (objectReader == null) {
+      Object javaType = (Object) constructTypeHandle.invokeExact(type);
+      objectReader = (Object) readerForHandle.invokeExact(javaType);
+
+      Object existingObjectReader = objectReaders.putIfAbsent(type, objectReader);
+      if (existingObjectReader != null) {
+        objectReader = existingObjectReader;
+      }
+    }
+
+    return objectReader;
+  }
+
   @Override
   public String serialize(Object object) throws JsonSerializationException {
     try {
-      return (String) writeValueAsStringMethod.invoke(objectMapper, object);
-    } catch (IllegalAccessException e) {
-      throw new JsonSerializationException(e);
-    } catch (InvocationTargetException e) {
-      throw new JsonSerializationException(e.getCause());
+      return (String) writeValueAsStringHandle.invokeExact(object);
+    } catch (Throwable t) {
+      throw new JsonSerializationException(t);
+    }
+  }
+
+  @Override
+  public void serialize(Object object, OutputStream outputStream)
+      throws JsonSerializationException {
+    Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+
+    try {
+      writeValueHandle.invokeExact(writer, object);
+      writer.flush();
+    } catch (Throwable t) {
+      throw new JsonSerializationException(t);
     }
   }
 }
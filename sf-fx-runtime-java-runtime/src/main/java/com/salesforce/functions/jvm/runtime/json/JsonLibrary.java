@@ -8,6 +8,7 @@ package com.salesforce.functions.jvm.runtime.json;
 
 import com.salesforce.functions.jvm.runtime.json.exception.JsonDeserializationException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonSerializationException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 
 /**
@@ -34,6 +35,20 @@ public interface JsonLibrary {
    */
   Object deserializeAt(String json, Type type, String... path) throws JsonDeserializationException;
 
+  /**
+   * Deserializes the given UTF-8 encoded JSON to an Object of the given class. In contrast to
+   * {@link #deserializeAt(String, Type, String...)}, implementations bind directly from a streaming
+   * parser without decoding the whole input to a string or building an intermediate tree first.
+   *
+   * @param json The UTF-8 encoded JSON to deserialize.
+   * @param type The type of the object the JSON should be deserialized to.
+   * @return The given JSON object as a Java object of the given class. The exact outcome of this
+   *     method is library specific.
+   * @throws JsonDeserializationException When the deserialization failed for any reason. Look at
+   *     the exception's cause for the underlying library exception.
+   */
+  Object deserialize(byte[] json, Type type) throws JsonDeserializationException;
+
   /**
    * Serializes the given object to a JSON compliant string. The exact outcome of this method is
    * library specific (i.e. based on annotations) and therefore no concrete promises about the shape
@@ -46,6 +61,17 @@ public interface JsonLibrary {
    */
   String serialize(Object object) throws JsonSerializationException;
 
+  /**
+   * Serializes the given object as UTF-8 encoded JSON to the given stream. The same restrictions as
+   * for {@link #serialize(Object)} apply. The stream is flushed but not closed.
+   *
+   * @param object The object to serialize.
+   * @param outputStream The stream to write the serialized object to.
+   * @throws JsonSerializationException When the serialization or writing to the stream failed for
+   *     any reason. Look at the exception's cause for the underlying exception.
+   */
+  void serialize(Object object, OutputStream outputStream) throws JsonSerializationException;
+
   /**
    * Returns if the given type must be processed by this JSON library. Implementations should only
    * return true when the type strongly indicates it should be processed with this library. This is
@@ -6,13 +6,29 @@
  */
 package com.salesforce.functions.jvm.runtime.json;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.salesforce.functions.jvm.runtime.json.exception.AmbiguousJsonLibraryException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonLibraryNotPresentException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public final class JsonLibraryDetector {
+  /*
+  JSON library instances are expensive to create and are thread-safe, so they are shared between all types of the
+  same class loader. The libraries and detection results reference classes of the class loader they were created
+  for, so entries stay cached for as long as the cache itself even though keys are weak. This is intentional: there
+  is a single project class loader per process, and dropping its libraries under memory pressure would only force
+  them and their cached readers to be rebuilt on the next invocation.
+  */
+  private static final LoadingCache<ClassLoader, ClassLoaderJsonLibraries> JSON_LIBRARIES =
+      CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(ClassLoaderJsonLibraries::new));
+
+  private static final JsonLibrary FALLBACK_JSON_LIBRARY = new GsonJsonLibrary();
 
   /**
    * Detects which JsonLibrary should be used with the given class. If no specific JsonLibrary is
@@ -50,22 +66,19 @@ public final class JsonLibraryDetector {
    */
   public static JsonLibrary detect(Type type, ClassLoader classLoader)
       throws AmbiguousJsonLibraryException {
-    List<JsonLibrary> availableJsonLibraries = new ArrayList<>();
+    ClassLoaderJsonLibraries jsonLibraries = JSON_LIBRARIES.getUnchecked(classLoader);
 
-    try {
-      availableJsonLibraries.add(new GsonReflectionJsonLibrary(classLoader));
-    } catch (JsonLibraryNotPresentException e) {
-      // If the library is not present in the user project's classpath, it cannot be used in any
-      // case. We can safely ignore this exception and carry on.
+    JsonLibrary jsonLibrary = jsonLibraries.detectedJsonLibraries.get(type);
+    if (jsonLibrary == null) {
+      jsonLibrary = detect(type, jsonLibraries.availableJsonLibraries);
+      jsonLibraries.detectedJsonLibraries.putIfAbsent(type, jsonLibrary);
     }
 
-    try {
-      availableJsonLibraries.add(new JacksonReflectionJsonLibrary(classLoader));
-    } catch (JsonLibraryNotPresentException e) {
-      // If the library is not present in the user project's classpath, it cannot be used in any
-      // case. We can safely ignore this exception and carry on.
-    }
+    return jsonLibrary;
+  }
 
+  private static JsonLibrary detect(Type type, List<JsonLibrary> availableJsonLibraries)
+      throws AmbiguousJsonLibraryException {
     // Find the JSON library that declares to be responsible for the given class
     JsonLibrary responsibleJsonLibrary = null;
     for (JsonLibrary jsonLibrary : availableJsonLibraries) {
@@ -90,11 +103,33 @@ public final class JsonLibraryDetector {
     the class has Gson annotations and we never reaches this code.
     */
     if (responsibleJsonLibrary == null) {
-      responsibleJsonLibrary = new GsonJsonLibrary();
+      responsibleJsonLibrary = FALLBACK_JSON_LIBRARY;
     }
 
     return responsibleJsonLibrary;
   }
 
+  private static final class ClassLoaderJsonLibraries {
+    private final List<JsonLibrary> availableJsonLibraries = new ArrayList<>();
+    private final ConcurrentMap<Type, JsonLibrary> detectedJsonLibraries =
+        new ConcurrentHashMap<>();
+
+    private ClassLoaderJsonLibraries(ClassLoader classLoader) {
+      try {
+        availableJsonLibraries.add(new GsonReflectionJsonLibrary(classLoader));
+      } catch (JsonLibraryNotPresentException e) {
+        // If the library is not present in the user project's classpath, it cannot be used in any
+        // case. We can safely ignore this exception and carry on.
+      }
+
+      try {
+        availableJsonLibraries.add(new JacksonReflectionJsonLibrary(classLoader));
+      } catch (JsonLibraryNotPresentException e) {
+        // If the library is not present in the user project's classpath, it cannot be used in any
+        // case. We can safely ignore this exception and carry on.
+      }
+    }
+  }
+
   private JsonLibraryDetector() {}
 }
@@ -8,6 +8,7 @@ package com.salesforce.functions.jvm.runtime.json;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.List;
 
 public class ListParameterizedType implements ParameterizedType {
@@ -31,4 +32,27 @@ public class ListParameterizedType implements ParameterizedType {
   public Type getOwnerType() {
     return null;
   }
+
+  // Compatible with the JDK's ParameterizedType implementation so instances can be used as cache
+  // keys interchangeably with types obtained via reflection.
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof ParameterizedType)) {
+      return false;
+    }
+
+    ParameterizedType that = (ParameterizedType) o;
+    return that.getOwnerType() == null
+        && List.class.equals(that.getRawType())
+        && Arrays.equals(getActualTypeArguments(), that.getActualTypeArguments());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(getActualTypeArguments()) ^ List.class.hashCode();
+  }
 }
@@ -8,24 +8,32 @@ package com.salesforce.functions.jvm.runtime.json;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.security.CodeSource;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 class Util {
   public static List<Annotation> getAnnotationsOnClassFieldsAndMethods(Class<?> clazz) {
     ArrayList<Annotation> annotations = new ArrayList<>();
 
+    // Annotations can be read without making the members accessible first.
     for (Field field : clazz.getDeclaredFields()) {
-      field.setAccessible(true);
       annotations.addAll(Arrays.asList(field.getAnnotations()));
     }
 
     for (Method method : clazz.getDeclaredMethods()) {
-      method.setAccessible(true);
       annotations.addAll(Arrays.asList(method.getAnnotations()));
     }
 
@@ -34,35 +42,152 @@ class Util {
     return annotations;
   }
 
+  /**
+   * Checks if the given type or any type reachable from it contains an annotation from the given
+   * package. Reachable types are type arguments, array component types, wildcard and type variable
+   * bounds, superclasses and the types of non-static fields, followed recursively. Classes loaded
+   * by the bootstrap class loader are not inspected since they cannot carry annotations of JSON
+   * libraries.
+   *
+   * <p>Superclasses and field types are only followed into classes from the same code sources as
+   * the classes the given type is made of. Classes of third-party libraries, i.e. DTOs with their
+   * own JSON annotations, do not influence which JSON library is used for the project's own types.
+   * Classes that cannot be inspected, i.e. because they reference a missing optional dependency,
+   * are treated as carrying no annotations.
+   *
+   * @param type The type to check.
+   * @param annotationsPackage The package of the annotations to look for.
+   * @return Whether an annotation from the given package was found.
+   */
   public static boolean typeContainsAnnotationFromPackage(Type type, Package annotationsPackage) {
-    List<Class<?>> classesToCheck = new ArrayList<>();
-    if (type instanceof Class<?>) {
-      classesToCheck.add((Class<?>) type);
+    Set<Class<?>> rootClasses = getClassesOfType(type);
+    Set<String> rootCodeSourceLocations = new HashSet<>();
+    for (Class<?> rootClass : rootClasses) {
+      rootCodeSourceLocations.add(getCodeSourceLocation(rootClass));
     }
 
-    if (type instanceof ParameterizedType) {
-      ParameterizedType parameterizedType = (ParameterizedType) type;
+    Set<Class<?>> visitedClasses = new HashSet<>();
+    Deque<Type> typesToCheck = new ArrayDeque<>();
+    typesToCheck.push(type);
 
-      if (parameterizedType.getRawType() instanceof Class<?>) {
-        classesToCheck.add((Class<?>) parameterizedType.getRawType());
-      }
+    while (!typesToCheck.isEmpty()) {
+      Type currentType = typesToCheck.pop();
+
+      if (currentType instanceof ParameterizedType) {
+        ParameterizedType parameterizedType = (ParameterizedType) currentType;
+        typesToCheck.push(parameterizedType.getRawType());
+        pushAll(typesToCheck, parameterizedType.getActualTypeArguments());
+      } else if (currentType instanceof GenericArrayType) {
+        typesToCheck.push(((GenericArrayType) currentType).getGenericComponentType());
+      } else if (currentType instanceof WildcardType) {
+        pushAll(typesToCheck, ((WildcardType) currentType).getUpperBounds());
+        pushAll(typesToCheck, ((WildcardType) currentType).getLowerBounds());
+      } else if (currentType instanceof TypeVariable<?>) {
+        pushAll(typesToCheck, ((TypeVariable<?>) currentType).getBounds());
+      } else if (currentType instanceof Class<?>) {
+        Class<?> clazz = (Class<?>) currentType;
+
+        if (clazz.isArray()) {
+          typesToCheck.push(clazz.getComponentType());
+          continue;
+        }
+
+        if (clazz.isPrimitive() || clazz.getClassLoader() == null || !visitedClasses.add(clazz)) {
+          continue;
+        }
+
+        if (!rootClasses.contains(clazz)
+            && !rootCodeSourceLocations.contains(getCodeSourceLocation(clazz))) {
+          continue;
+        }
+
+        final List<Annotation> annotations;
+        final List<Type> memberTypes = new ArrayList<>();
+        try {
+          annotations = Util.getAnnotationsOnClassFieldsAndMethods(clazz);
 
-      for (Type actualTypeArgument : parameterizedType.getActualTypeArguments()) {
-        if (actualTypeArgument instanceof Class<?>) {
-          classesToCheck.add((Class<?>) actualTypeArgument);
+          for (Field field : clazz.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+              memberTypes.add(field.getGenericType());
+            }
+          }
+
+          if (clazz.getGenericSuperclass() != null) {
+            memberTypes.add(clazz.getGenericSuperclass());
+          }
+        } catch (LinkageError | TypeNotPresentException e) {
+          // The class cannot be used by any JSON library either, it is treated as not annotated.
+          continue;
         }
+
+        for (Annotation annotation : annotations) {
+          if (annotation.annotationType().getPackage().equals(annotationsPackage)) {
+            return true;
+          }
+        }
+
+        typesToCheck.addAll(memberTypes);
       }
     }
 
-    for (Class<?> clazz : classesToCheck) {
-      for (Annotation annotation : Util.getAnnotationsOnClassFieldsAndMethods(clazz)) {
-        if (annotation.annotationType().getPackage().equals(annotationsPackage)) {
-          return true;
+    return false;
+  }
+
+  // Returns the classes the given type is made of, without following fields or superclasses.
+  private static Set<Class<?>> getClassesOfType(Type type) {
+    Set<Class<?>> classes = new HashSet<>();
+    Set<Type> visitedTypes = new HashSet<>();
+    Deque<Type> typesToCheck = new ArrayDeque<>();
+    typesToCheck.push(type);
+
+    while (!typesToCheck.isEmpty()) {
+      Type currentType = typesToCheck.pop();
+      if (!visitedTypes.add(currentType)) {
+        continue;
+      }
+
+      if (currentType instanceof ParameterizedType) {
+        ParameterizedType parameterizedType = (ParameterizedType) currentType;
+        typesToCheck.push(parameterizedType.getRawType());
+        pushAll(typesToCheck, parameterizedType.getActualTypeArguments());
+      } else if (currentType instanceof GenericArrayType) {
+        typesToCheck.push(((GenericArrayType) currentType).getGenericComponentType());
+      } else if (currentType instanceof WildcardType) {
+        pushAll(typesToCheck, ((WildcardType) currentType).getUpperBounds());
+        pushAll(typesToCheck, ((WildcardType) currentType).getLowerBounds());
+      } else if (currentType instanceof TypeVariable<?>) {
+        pushAll(typesToCheck, ((TypeVariable<?>) currentType).getBounds());
+      } else if (currentType instanceof Class<?>) {
+        Class<?> clazz = (Class<?>) currentType;
+        if (clazz.isArray()) {
+          typesToCheck.push(clazz.getComponentType());
+        } else {
+          classes.add(clazz);
         }
       }
     }
 
-    return false;
+    return classes;
+  }
+
+  // Locations are compared as strings, URL#equals might resolve host names.
+  private static String getCodeSourceLocation(Class<?> clazz) {
+    try {
+      CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+      if (codeSource == null || codeSource.getLocation() == null) {
+        return null;
+      }
+
+      return codeSource.getLocation().toString();
+    } catch (SecurityException e) {
+      return null;
+    }
+  }
+
+  private static void pushAll(Deque<Type> deque, Type[] types) {
+    for (Type type : types) {
+      deque.push(type);
+    }
   }
 
   private Util() {}
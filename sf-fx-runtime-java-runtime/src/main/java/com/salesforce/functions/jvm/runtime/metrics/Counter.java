@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** A monotonically increasing counter. */
+public final class Counter extends Metric<Counter.Child> {
+
+  public Counter(String name, String help, String... labelNames) {
+    super(name, help, labelNames);
+  }
+
+  @Override
+  protected Child newChild() {
+    return new Child();
+  }
+
+  @Override
+  protected String getType() {
+    return "counter";
+  }
+
+  @Override
+  protected void writeChild(PrometheusTextWriter writer, String labels, Child child) {
+    writer.writeSample(getName(), labels, child.get());
+  }
+
+  public static final class Child {
+    private final LongAdder value = new LongAdder();
+
+    private Child() {}
+
+    public void inc() {
+      value.increment();
+    }
+
+    public long get() {
+      return value.sum();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A value that can go up and down. The value is read from a supplier when metrics are collected.
+ */
+public final class Gauge extends Metric<Gauge.Child> {
+
+  public Gauge(String name, String help, String... labelNames) {
+    super(name, help, labelNames);
+  }
+
+  @Override
+  protected Child newChild() {
+    return new Child();
+  }
+
+  @Override
+  protected String getType() {
+    return "gauge";
+  }
+
+  @Override
+  protected void writeChild(PrometheusTextWriter writer, String labels, Child child) {
+    writer.writeSample(getName(), labels, child.get());
+  }
+
+  public static final class Child {
+    private volatile DoubleSupplier supplier = () -> 0;
+
+    private Child() {}
+
+    public void setSupplier(DoubleSupplier supplier) {
+      this.supplier = supplier;
+    }
+
+    public double get() {
+      return supplier.getAsDouble();
+    }
+  }
+}
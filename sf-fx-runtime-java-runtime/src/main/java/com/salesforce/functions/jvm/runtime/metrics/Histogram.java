@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations with exponential buckets.
+ *
+ * <p>Bucket boundaries are powers of two in nanoseconds, ranging from roughly 131µs to 34s. This
+ * gives a constant relative error like HDR histograms and allows finding the bucket for a value
+ * with a single bit operation instead of a search. Durations are exposed in seconds.
+ */
+public final class Histogram extends Metric<Histogram.Child> {
+  private static final int MIN_EXPONENT = 17;
+  private static final int MAX_EXPONENT = 35;
+  // One bucket per exponent plus the +Inf bucket
+  private static final int BUCKET_COUNT = MAX_EXPONENT - MIN_EXPONENT + 2;
+
+  public Histogram(String name, String help, String... labelNames) {
+    super(name, help, labelNames);
+  }
+
+  @Override
+  protected Child newChild() {
+    return new Child();
+  }
+
+  @Override
+  protected String getType() {
+    return "histogram";
+  }
+
+  @Override
+  protected void writeChild(PrometheusTextWriter writer, String labels, Child child) {
+    String separator = labels.isEmpty() ? "" : ",";
+
+    long cumulativeCount = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      cumulativeCount += child.buckets[i].sum();
+
+      String upperBound =
+          i == BUCKET_COUNT - 1
+              ? "+Inf"
+              : PrometheusTextWriter.formatValue((1L << (MIN_EXPONENT + i)) / 1e9);
+
+      writer.writeSample(
+          getName() + "_bucket", labels + separator + "le=\"" + upperBound + "\"", cumulativeCount);
+    }
+
+    writer.writeSample(getName() + "_sum", labels, child.getSumNanos() / 1e9);
+    writer.writeSample(getName() + "_count", labels, cumulativeCount);
+  }
+
+  static int bucketIndex(long nanos) {
+    if (nanos <= 1L << MIN_EXPONENT) {
+      return 0;
+    }
+
+    // Smallest exponent e with nanos <= 2^e
+    int exponent = 64 - Long.numberOfLeadingZeros(nanos - 1);
+    return Math.min(exponent - MIN_EXPONENT, BUCKET_COUNT - 1);
+  }
+
+  public static final class Child {
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder sumNanos = new LongAdder();
+
+    private Child() {
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    public void observeNanos(long nanos) {
+      buckets[bucketIndex(nanos)].increment();
+      sumNanos.add(nanos);
+    }
+
+    public long getCount() {
+      long count = 0;
+      for (LongAdder bucket : buckets) {
+        count += bucket.sum();
+      }
+      return count;
+    }
+
+    public long getSumNanos() {
+      return sumNanos.sum();
+    }
+  }
+}
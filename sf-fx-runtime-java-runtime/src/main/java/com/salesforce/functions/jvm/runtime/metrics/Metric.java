@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Base class for a family of metrics that share a name and label names, but differ in label values.
+ * Each distinct combination of label values is represented by a child that is created on first use.
+ *
+ * <p>Callers on hot paths should resolve children once with {@link #labels(String...)} and keep a
+ * reference to them, recording a value on a child never allocates or locks.
+ *
+ * @param <C> The type of the children.
+ */
+public abstract class Metric<C> {
+  private final String name;
+  private final String help;
+  private final List<String> labelNames;
+  private final ConcurrentMap<List<String>, C> children = new ConcurrentHashMap<>();
+
+  protected Metric(String name, String help, String... labelNames) {
+    this.name = name;
+    this.help = help;
+    this.labelNames = Collections.unmodifiableList(Arrays.asList(labelNames.clone()));
+  }
+
+  /**
+   * Returns the child for the given label values, creating it if it does not exist yet.
+   *
+   * @param labelValues The label values, in the same order as the label names of this metric.
+   * @return The child for the given label values.
+   */
+  public C labels(String... labelValues) {
+    if (labelValues.length != labelNames.size()) {
+      throw new IllegalArgumentException(
+          "Expected " + labelNames.size() + " label values, got " + labelValues.length + "!");
+    }
+
+    return children.computeIfAbsent(
+        Collections.unmodifiableList(new ArrayList<>(Arrays.asList(labelValues))),
+        key -> newChild());
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  protected abstract C newChild();
+
+  protected abstract String getType();
+
+  /**
+   * Writes the samples of a single child.
+   *
+   * @param writer The writer to write the samples to.
+   * @param labels The rendered label names and values of the child, without braces.
+   * @param child The child to write.
+   */
+  protected abstract void writeChild(PrometheusTextWriter writer, String labels, C child);
+
+  void writeTo(PrometheusTextWriter writer) {
+    writer.writeHeader(name, help, getType());
+
+    for (Map.Entry<List<String>, C> entry : children.entrySet()) {
+      writeChild(
+          writer, PrometheusTextWriter.renderLabels(labelNames, entry.getKey()), entry.getValue());
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds all metrics of the runtime and renders them in the Prometheus text exposition format.
+ *
+ * <p>This is a deliberately small implementation without any dependencies. Functions are loaded
+ * into the same JVM and may bring their own version of a metrics library, which must not conflict
+ * with the runtime.
+ */
+public final class MetricsRegistry {
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final List<Metric<?>> metrics = new CopyOnWriteArrayList<>();
+
+  public Counter counter(String name, String help, String... labelNames) {
+    return register(new Counter(name, help, labelNames));
+  }
+
+  public Gauge gauge(String name, String help, String... labelNames) {
+    return register(new Gauge(name, help, labelNames));
+  }
+
+  public Histogram histogram(String name, String help, String... labelNames) {
+    return register(new Histogram(name, help, labelNames));
+  }
+
+  /**
+   * Registers gauges for the heap, garbage collection and threads of the current JVM.
+   *
+   * @return This registry.
+   */
+  public MetricsRegistry withJvmMetrics() {
+    MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    Gauge memoryUsed = gauge("jvm_memory_used_bytes", "Used memory of the JVM.", "area");
+    memoryUsed.labels("heap").setSupplier(() -> memoryMXBean.getHeapMemoryUsage().getUsed());
+    memoryUsed.labels("nonheap").setSupplier(() -> memoryMXBean.getNonHeapMemoryUsage().getUsed());
+
+    Gauge memoryMax = gauge("jvm_memory_max_bytes", "Maximum memory of the JVM.", "area");
+    memoryMax.labels("heap").setSupplier(() -> memoryMXBean.getHeapMemoryUsage().getMax());
+    memoryMax.labels("nonheap").setSupplier(() -> memoryMXBean.getNonHeapMemoryUsage().getMax());
+
+    Gauge gcCount = gauge("jvm_gc_collections", "Number of garbage collections.", "gc");
+    Gauge gcTime = gauge("jvm_gc_collection_seconds", "Time spent in garbage collection.", "gc");
+    for (GarbageCollectorMXBean gcMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      gcCount.labels(gcMXBean.getName()).setSupplier(gcMXBean::getCollectionCount);
+      gcTime.labels(gcMXBean.getName()).setSupplier(() -> gcMXBean.getCollectionTime() / 1e3);
+    }
+
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    gauge("jvm_threads_current", "Current number of live threads.")
+        .labels()
+        .setSupplier(threadMXBean::getThreadCount);
+
+    return this;
+  }
+
+  /**
+   * Renders the current values of all metrics.
+   *
+   * @return The metrics in the Prometheus text exposition format.
+   */
+  public String scrape() {
+    PrometheusTextWriter writer = new PrometheusTextWriter();
+    for (Metric<?> metric : metrics) {
+      metric.writeTo(writer);
+    }
+    return writer.toString();
+  }
+
+  private <T extends Metric<?>> T register(T metric) {
+    for (Metric<?> existingMetric : metrics) {
+      if (existingMetric.getName().equals(metric.getName())) {
+        throw new IllegalArgumentException(
+            "Metric " + metric.getName() + " is already registered!");
+      }
+    }
+
+    metrics.add(metric);
+    return metric;
+  }
+}
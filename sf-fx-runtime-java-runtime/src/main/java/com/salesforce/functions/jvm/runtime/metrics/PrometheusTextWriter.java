@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.metrics;
+
+import java.util.List;
+
+/** Writes metrics in the Prometheus text exposition format (version 0.0.4). */
+final class PrometheusTextWriter {
+  private final StringBuilder builder = new StringBuilder();
+
+  void writeHeader(String name, String help, String type) {
+    builder.append("# HELP ").append(name).append(' ').append(escapeHelp(help)).append('\n');
+    builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  void writeSample(String name, String labels, double value) {
+    builder.append(name);
+    if (!labels.isEmpty()) {
+      builder.append('{').append(labels).append('}');
+    }
+    builder.append(' ').append(formatValue(value)).append('\n');
+  }
+
+  @Override
+  public String toString() {
+    return builder.toString();
+  }
+
+  static String renderLabels(List<String> labelNames, List<String> labelValues) {
+    StringBuilder labels = new StringBuilder();
+    for (int i = 0; i < labelNames.size(); i++) {
+      if (i > 0) {
+        labels.append(',');
+      }
+
+      labels
+          .append(labelNames.get(i))
+          .append("=\"")
+          .append(escapeLabelValue(labelValues.get(i)))
+          .append('"');
+    }
+    return labels.toString();
+  }
+
+  static String formatValue(double value) {
+    if (value == Double.POSITIVE_INFINITY) {
+      return "+Inf";
+    } else if (value == Double.NEGATIVE_INFINITY) {
+      return "-Inf";
+    } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      // Avoids the scientific notation and trailing ".0" of Double.toString for whole numbers
+      return Long.toString((long) value);
+    }
+
+    return Double.toString(value);
+  }
+
+  private static String escapeHelp(String help) {
+    return help.replace("\\", "\\\\").replace("\n", "\\n");
+  }
+
+  private static String escapeLabelValue(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Associates the function invocation on the current thread with a {@link CompletionStage} that
+ * completes when the invocation is cancelled, i.e. because it timed out.
+ *
+ * <p>Functions are invoked on the thread that calls {@link SalesforceFunction#apply}, which allows
+ * the invocation interface to pass the cancellation down to the SDK without being part of the
+ * function signature. The SDK uses it to abort in-flight Data API requests. Since {@link
+ * CompletionStage} is a JVM class, it can be shared with the SDK class loader.
+ */
+public final class InvocationCancellation {
+  private static final ThreadLocal<CompletionStage<Void>> CURRENT = new ThreadLocal<>();
+
+  public static void set(CompletionStage<Void> cancellation) {
+    CURRENT.set(cancellation);
+  }
+
+  public static void clear() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Returns the cancellation for the function invocation on the current thread.
+   *
+   * @return The cancellation or a stage that never completes if none has been set.
+   */
+  public static CompletionStage<Void> current() {
+    CompletionStage<Void> cancellation = CURRENT.get();
+    return cancellation != null ? cancellation : new CompletableFuture<>();
+  }
+
+  private InvocationCancellation() {}
+}
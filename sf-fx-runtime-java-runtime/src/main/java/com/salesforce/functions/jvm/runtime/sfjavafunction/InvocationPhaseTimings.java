@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction;
+
+import java.time.Duration;
+
+/** Time spent in the individual phases of a single {@link SalesforceFunction} invocation. */
+public final class InvocationPhaseTimings {
+  private final Duration extensionValidationTime;
+  private final Duration unmarshallTime;
+  private final Duration sdkInitializationTime;
+  private final Duration functionTime;
+  private final Duration marshallTime;
+
+  public InvocationPhaseTimings(
+      Duration extensionValidationTime,
+      Duration unmarshallTime,
+      Duration sdkInitializationTime,
+      Duration functionTime,
+      Duration marshallTime) {
+    this.extensionValidationTime = extensionValidationTime;
+    this.unmarshallTime = unmarshallTime;
+    this.sdkInitializationTime = sdkInitializationTime;
+    this.functionTime = functionTime;
+    this.marshallTime = marshallTime;
+  }
+
+  /**
+   * Time spent validating the sfcontext and sffncontext CloudEvent extensions before the function
+   * is invoked. Decoding them is deferred until first use and is part of the SDK initialization
+   * time.
+   *
+   * @return The extension validation time.
+   */
+  public Duration getExtensionValidationTime() {
+    return extensionValidationTime;
+  }
+
+  /**
+   * Time spent unmarshalling the CloudEvent payload into the input type of the function.
+   *
+   * @return The unmarshalling time.
+   */
+  public Duration getUnmarshallTime() {
+    return unmarshallTime;
+  }
+
+  /**
+   * Time spent constructing the SDK objects (event and context) the function receives, including
+   * decoding the CloudEvent extensions when the function first accesses its org.
+   *
+   * @return The SDK initialization time.
+   */
+  public Duration getSdkInitializationTime() {
+    return sdkInitializationTime;
+  }
+
+  /**
+   * Time spent in the user defined function itself.
+   *
+   * @return The function time.
+   */
+  public Duration getFunctionTime() {
+    return functionTime;
+  }
+
+  /**
+   * Time spent marshalling the return value of the function.
+   *
+   * @return The marshalling time.
+   */
+  public Duration getMarshallTime() {
+    return marshallTime;
+  }
+}
@@ -10,12 +10,13 @@ import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceContextCloudEve
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceFunctionContextCloudEventExtension;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.SalesforceFunctionException;
 import io.cloudevents.CloudEvent;
+import java.util.function.Supplier;
 
 public interface InvocationWrapper {
   Object invoke(
       Object payload,
       CloudEvent cloudEvent,
-      SalesforceContextCloudEventExtension salesforceContext,
-      SalesforceFunctionContextCloudEventExtension functionContext)
+      Supplier<SalesforceContextCloudEventExtension> salesforceContext,
+      Supplier<SalesforceFunctionContextCloudEventExtension> functionContext)
       throws SalesforceFunctionException;
 }
@@ -6,6 +6,7 @@
  */
 package com.salesforce.functions.jvm.runtime.sfjavafunction;
 
+import com.salesforce.functions.jvm.runtime.cloudevent.LazyCloudEventExtension;
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceCloudEventExtensionParser;
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceContextCloudEventExtension;
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceFunctionContextCloudEventExtension;
@@ -16,6 +17,8 @@ import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.SalesforceF
 import com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling.FunctionResultMarshaller;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling.PayloadUnmarshaller;
 import io.cloudevents.CloudEvent;
+import java.time.Duration;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +35,10 @@ public class SalesforceFunction
     implements ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException> {
   private static final Logger LOGGER = LoggerFactory.getLogger(SalesforceFunction.class);
 
+  // A single mutable slot per thread avoids boxing on every invocation.
+  private static final ThreadLocal<long[]> SDK_INITIALIZATION_NANOS =
+      ThreadLocal.withInitial(() -> new long[1]);
+
   private final PayloadUnmarshaller unmarshaller;
   private final FunctionResultMarshaller marshaller;
   private final String functionClassName;
@@ -55,20 +62,121 @@ public class SalesforceFunction
 
   @Override
   public SalesforceFunctionResult apply(CloudEvent cloudEvent) throws SalesforceFunctionException {
-    SalesforceContextCloudEventExtension salesforceContext =
-        SalesforceCloudEventExtensionParser.parseSalesforceContext(cloudEvent)
+    // Extensions are only validated here, they are decoded once the SDK accesses the org context.
+    // Functions that never use the org context do not pay for decoding them.
+    long extensionValidationStartNanoTime = System.nanoTime();
+    LazyCloudEventExtension<SalesforceContextCloudEventExtension> salesforceContext =
+        SalesforceCloudEventExtensionParser.parseSalesforceContextLazily(cloudEvent)
             .orElseThrow(MalformedOrMissingSalesforceContextExtensionException::new);
 
-    SalesforceFunctionContextCloudEventExtension salesforceFunctionContext =
-        SalesforceCloudEventExtensionParser.parseSalesforceFunctionContext(cloudEvent)
-            .orElseThrow(MalformedOrMissingSalesforceFunctionContextExtensionException::new);
+    LazyCloudEventExtension<SalesforceFunctionContextCloudEventExtension>
+        salesforceFunctionContext =
+            SalesforceCloudEventExtensionParser.parseSalesforceFunctionContextLazily(cloudEvent)
+                .orElseThrow(MalformedOrMissingSalesforceFunctionContextExtensionException::new);
 
+    long unmarshallStartNanoTime = System.nanoTime();
     Object payloadData = unmarshaller.unmarshall(cloudEvent);
-    Object returnValue =
-        invocationWrapper.invoke(
-            payloadData, cloudEvent, salesforceContext, salesforceFunctionContext);
 
-    return marshaller.marshall(returnValue);
+    long invocationStartNanoTime = System.nanoTime();
+    TimedDecodingSupplier<SalesforceContextCloudEventExtension> timedSalesforceContext =
+        new TimedDecodingSupplier<>(salesforceContext);
+    TimedDecodingSupplier<SalesforceFunctionContextCloudEventExtension>
+        timedSalesforceFunctionContext = new TimedDecodingSupplier<>(salesforceFunctionContext);
+
+    final Object returnValue;
+    final long sdkInitializationNanos;
+    try {
+      returnValue =
+          invocationWrapper.invoke(
+              payloadData, cloudEvent, timedSalesforceContext, timedSalesforceFunctionContext);
+    } catch (SalesforceFunctionException e) {
+      throwIfMalformed(salesforceContext, salesforceFunctionContext);
+      throw e;
+    } finally {
+      timedSalesforceContext.invocationCompleted();
+      timedSalesforceFunctionContext.invocationCompleted();
+      sdkInitializationNanos = SDK_INITIALIZATION_NANOS.get()[0];
+      SDK_INITIALIZATION_NANOS.get()[0] = 0;
+    }
+
+    // The function might have caught the exception of a malformed extension, the invocation is
+    // rejected regardless.
+    throwIfMalformed(salesforceContext, salesforceFunctionContext);
+
+    long marshallStartNanoTime = System.nanoTime();
+    SalesforceFunctionResult result = marshaller.marshall(returnValue, cloudEvent);
+    long marshallEndNanoTime = System.nanoTime();
+
+    InvocationPhaseTimings phaseTimings =
+        new InvocationPhaseTimings(
+            Duration.ofNanos(unmarshallStartNanoTime - extensionValidationStartNanoTime),
+            Duration.ofNanos(invocationStartNanoTime - unmarshallStartNanoTime),
+            Duration.ofNanos(sdkInitializationNanos),
+            Duration.ofNanos(
+                marshallStartNanoTime - invocationStartNanoTime - sdkInitializationNanos),
+            Duration.ofNanos(marshallEndNanoTime - marshallStartNanoTime));
+
+    return result.withPhaseTimings(phaseTimings);
+  }
+
+  /**
+   * Records time the {@link InvocationWrapper} spent constructing SDK objects for the invocation on
+   * the current thread. It is subtracted from the invocation time to get the time spent in the
+   * function itself. Multiple recordings during the same invocation add up.
+   *
+   * @param nanos The SDK initialization time in nanoseconds.
+   */
+  static void recordSdkInitializationTime(long nanos) {
+    SDK_INITIALIZATION_NANOS.get()[0] += nanos;
+  }
+
+  /**
+   * Extensions are decoded while the function runs, the time spent decoding them is recorded as SDK
+   * initialization time so it is not attributed to the function. Only decoding on the invoking
+   * thread during the invocation is recorded, the thread-local is not reset for any other access.
+   */
+  private static final class TimedDecodingSupplier<A> implements Supplier<A> {
+    private final LazyCloudEventExtension<A> extension;
+
+    // Null once the invocation has completed.
+    private volatile Thread invokingThread = Thread.currentThread();
+
+    TimedDecodingSupplier(LazyCloudEventExtension<A> extension) {
+      this.extension = extension;
+    }
+
+    @Override
+    public A get() {
+      if (extension.isDecoded() || Thread.currentThread() != invokingThread) {
+        return extension.get();
+      }
+
+      long decodingStartNanoTime = System.nanoTime();
+      try {
+        return extension.get();
+      } finally {
+        recordSdkInitializationTime(System.nanoTime() - decodingStartNanoTime);
+      }
+    }
+
+    void invocationCompleted() {
+      invokingThread = null;
+    }
+  }
+
+  // Malformed extensions surface when they are first accessed during the invocation, they are
+  // reported the same way as extensions that were already rejected during validation.
+  private static void throwIfMalformed(
+      LazyCloudEventExtension<SalesforceContextCloudEventExtension> salesforceContext,
+      LazyCloudEventExtension<SalesforceFunctionContextCloudEventExtension>
+          salesforceFunctionContext) {
+    if (salesforceContext.isMalformed()) {
+      throw new MalformedOrMissingSalesforceContextExtensionException();
+    }
+
+    if (salesforceFunctionContext.isMalformed()) {
+      throw new MalformedOrMissingSalesforceFunctionContextExtensionException();
+    }
   }
 
   public PayloadUnmarshaller getUnmarshaller() {
@@ -7,6 +7,9 @@
 package com.salesforce.functions.jvm.runtime.sfjavafunction;
 
 import com.google.common.net.MediaType;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Result of a {@link SalesforceFunction} invocation. Even though customers define functions with
@@ -15,11 +18,53 @@ import com.google.common.net.MediaType;
  */
 public class SalesforceFunctionResult {
   private final MediaType mediaType;
-  private final byte[] data;
+  private final ByteBuffer data;
+  private final InvocationPhaseTimings phaseTimings;
+
+  // Shared between copies of this result made by withPhaseTimings, so the data is released once.
+  private final AtomicReference<Runnable> releaseCallback;
 
   public SalesforceFunctionResult(MediaType mediaType, byte[] data) {
+    this(mediaType, data, null);
+  }
+
+  public SalesforceFunctionResult(
+      MediaType mediaType, byte[] data, InvocationPhaseTimings phaseTimings) {
+    this(mediaType, ByteBuffer.wrap(data), phaseTimings);
+  }
+
+  public SalesforceFunctionResult(MediaType mediaType, ByteBuffer data) {
+    this(mediaType, data, (InvocationPhaseTimings) null);
+  }
+
+  /**
+   * @param mediaType The media type of the data.
+   * @param data The data of the result.
+   * @param releaseCallback Called when the result is released, i.e. to return the data buffer to a
+   *     pool.
+   */
+  public SalesforceFunctionResult(MediaType mediaType, ByteBuffer data, Runnable releaseCallback) {
+    this(mediaType, data, null, new AtomicReference<>(releaseCallback));
+  }
+
+  private SalesforceFunctionResult(
+      MediaType mediaType, ByteBuffer data, InvocationPhaseTimings phaseTimings) {
+    this(mediaType, data, phaseTimings, new AtomicReference<>());
+  }
+
+  private SalesforceFunctionResult(
+      MediaType mediaType,
+      ByteBuffer data,
+      InvocationPhaseTimings phaseTimings,
+      AtomicReference<Runnable> releaseCallback) {
     this.mediaType = mediaType;
     this.data = data;
+    this.phaseTimings = phaseTimings;
+    this.releaseCallback = releaseCallback;
+  }
+
+  public SalesforceFunctionResult withPhaseTimings(InvocationPhaseTimings phaseTimings) {
+    return new SalesforceFunctionResult(mediaType, data, phaseTimings, releaseCallback);
   }
 
   public MediaType getMediaType() {
@@ -27,6 +72,35 @@ public class SalesforceFunctionResult {
   }
 
   public byte[] getData() {
-    return data;
+    ByteBuffer buffer = getDataBuffer();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Returns the data of this result without copying it. The contents of the buffer must not be
+   * modified.
+   *
+   * @return A buffer with the data of this result, positioned at its start.
+   */
+  public ByteBuffer getDataBuffer() {
+    return data.duplicate();
+  }
+
+  public Optional<InvocationPhaseTimings> getPhaseTimings() {
+    return Optional.ofNullable(phaseTimings);
+  }
+
+  /**
+   * Releases the data of this result once it is no longer needed, i.e. after it has been written to
+   * the response. The data must not be accessed after the result has been released. Releasing a
+   * result more than once has no effect.
+   */
+  public void release() {
+    Runnable callback = releaseCallback.getAndSet(null);
+    if (callback != null) {
+      callback.run();
+    }
   }
 }
@@ -6,8 +6,8 @@
  */
 package com.salesforce.functions.jvm.runtime.sfjavafunction;
 
-import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceContextCloudEventExtension;
-import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceFunctionContextCloudEventExtension;
+import com.salesforce.functions.jvm.runtime.json.JacksonReflectionJsonLibrary;
+import com.salesforce.functions.jvm.runtime.json.JsonLibraryDetector;
 import com.salesforce.functions.jvm.runtime.json.ListParameterizedType;
 import com.salesforce.functions.jvm.runtime.json.exception.AmbiguousJsonLibraryException;
 import com.salesforce.functions.jvm.runtime.project.Project;
@@ -28,11 +28,15 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
@@ -190,6 +194,10 @@ public class SalesforceFunctionsProjectFunctionsScanner
             .enableMethodInfo()
             .scan();
 
+    // Binary formats (i.e. CBOR) are offered in addition to JSON when the project depends on the
+    // corresponding Jackson data format module.
+    final List<JacksonBinaryFormat> binaryFormats = JacksonBinaryFormat.detect(projectClassLoader);
+
     final List<SalesforceFunction> foundFunctions = new ArrayList<>();
 
     for (ClassInfo classInfo :
@@ -326,6 +334,10 @@ public class SalesforceFunctionsProjectFunctionsScanner
         FunctionResultMarshaller marshaller = null;
         if (returnTypeString.equals("java.lang.String")) {
           marshaller = new StringFunctionResultMarshaller();
+        } else if (returnTypeString.equals("byte[]")) {
+          marshaller = new OctetStreamFunctionResultMarshaller(byte[].class);
+        } else if (returnTypeString.equals("java.nio.ByteBuffer")) {
+          marshaller = new OctetStreamFunctionResultMarshaller(ByteBuffer.class);
         } else {
           try {
             Matcher listMatcher = LIST_TYPE_STRING_PATTERN.matcher(returnTypeString);
@@ -362,6 +374,33 @@ public class SalesforceFunctionsProjectFunctionsScanner
           continue;
         }
 
+        if (unmarshaller instanceof JsonPayloadUnmarshaller
+            && supportsBinaryFormats(
+                unmarshaller.getTargetType(), binaryFormats, projectClassLoader)) {
+          List<PayloadUnmarshaller> binaryUnmarshallers = new ArrayList<>();
+          for (JacksonBinaryFormat binaryFormat : binaryFormats) {
+            binaryUnmarshallers.add(
+                new JacksonBinaryPayloadUnmarshaller(binaryFormat, unmarshaller.getTargetType()));
+          }
+
+          unmarshaller =
+              new ContentTypeNegotiatingPayloadUnmarshaller(unmarshaller, binaryUnmarshallers);
+        }
+
+        if (marshaller instanceof JsonFunctionResultMarshaller
+            && supportsBinaryFormats(
+                marshaller.getSourceType(), binaryFormats, projectClassLoader)) {
+          List<FunctionResultMarshaller> binaryMarshallers = new ArrayList<>();
+          for (JacksonBinaryFormat binaryFormat : binaryFormats) {
+            binaryMarshallers.add(
+                new JacksonBinaryFunctionResultMarshaller(
+                    binaryFormat, marshaller.getSourceType()));
+          }
+
+          marshaller =
+              new ContentTypeNegotiatingFunctionResultMarshaller(marshaller, binaryMarshallers);
+        }
+
         final Constructor<?> eventClassConstructor;
         final Constructor<?> contextClassConstructor;
         try {
@@ -375,9 +414,10 @@ public class SalesforceFunctionsProjectFunctionsScanner
           contextClassConstructor =
               contextClass.getConstructor(
                   CloudEvent.class,
-                  SalesforceContextCloudEventExtension.class,
-                  SalesforceFunctionContextCloudEventExtension.class,
-                  String.class);
+                  Supplier.class,
+                  Supplier.class,
+                  String.class,
+                  CompletionStage.class);
         } catch (ClassNotFoundException | NoSuchMethodException e) {
           LOGGER.error("Could not find SDK implementation class or constructor!", e);
           return Collections.emptyList();
@@ -391,6 +431,8 @@ public class SalesforceFunctionsProjectFunctionsScanner
                 new Slf4j1MdcDataInvocationWrapper(
                     sdkClassLoader,
                     (payload, cloudEvent, salesforceContext, functionContext) -> {
+                      long sdkInitializationStartNanoTime = System.nanoTime();
+
                       Object event;
                       try {
                         event = eventClassConstructor.newInstance(cloudEvent, payload);
@@ -408,7 +450,8 @@ public class SalesforceFunctionsProjectFunctionsScanner
                                 cloudEvent,
                                 salesforceContext,
                                 functionContext,
-                                salesforceApiVersion);
+                                salesforceApiVersion,
+                                InvocationCancellation.current());
                       } catch (InstantiationException
                           | IllegalAccessException
                           | InvocationTargetException e) {
@@ -416,6 +459,9 @@ public class SalesforceFunctionsProjectFunctionsScanner
                             "Could not instantiate context class!", e);
                       }
 
+                      SalesforceFunction.recordSdkInitializationTime(
+                          System.nanoTime() - sdkInitializationStartNanoTime);
+
                       try {
                         return functionApplyMethod.invoke(functionInstance, event, context);
                       } catch (IllegalAccessException e) {
@@ -436,6 +482,24 @@ public class SalesforceFunctionsProjectFunctionsScanner
     return foundFunctions;
   }
 
+  private static boolean supportsBinaryFormats(
+      Type type, List<JacksonBinaryFormat> binaryFormats, ClassLoader projectClassLoader) {
+    if (binaryFormats.isEmpty()) {
+      return false;
+    }
+
+    // The binary formats are implemented with Jackson. Only types that are (un)marshalled with
+    // the project's Jackson for JSON as well are guaranteed to have the same properties in every
+    // format. All other types use GSON, which works with private fields and without a default
+    // constructor, and are therefore limited to JSON.
+    try {
+      return JsonLibraryDetector.detect(type, projectClassLoader)
+          instanceof JacksonReflectionJsonLibrary;
+    } catch (AmbiguousJsonLibraryException e) {
+      return false;
+    }
+  }
+
   private Optional<String> getSdkImplementationJarName(ClassLoader classLoader) throws IOException {
     final Properties properties = new Properties();
 
@@ -12,6 +12,7 @@ import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.SalesforceF
 import io.cloudevents.CloudEvent;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,8 +57,8 @@ public class Slf4j1MdcDataInvocationWrapper implements InvocationWrapper {
   public Object invoke(
       Object payload,
       CloudEvent cloudEvent,
-      SalesforceContextCloudEventExtension salesforceContext,
-      SalesforceFunctionContextCloudEventExtension functionContext)
+      Supplier<SalesforceContextCloudEventExtension> salesforceContext,
+      Supplier<SalesforceFunctionContextCloudEventExtension> functionContext)
       throws SalesforceFunctionException {
 
     if (mdcClearMethod != null) {
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.exception;
+
+import java.time.Duration;
+
+public class FunctionTimedOutException extends SalesforceFunctionException {
+  private final Duration timeout;
+
+  public FunctionTimedOutException(Duration timeout) {
+    super("Function did not complete within " + timeout.toMillis() + "ms");
+    this.timeout = timeout;
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import com.google.common.net.MediaType;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionResultMarshallingException;
+import io.cloudevents.CloudEvent;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marshalls function results in the format of the invocation's payload. CloudEvents carry no
+ * equivalent of an Accept header, the datacontenttype of the event is used instead. Results of
+ * events without a datacontenttype or with one that none of the alternative marshallers produce are
+ * marshalled by the default marshaller.
+ */
+public class ContentTypeNegotiatingFunctionResultMarshaller implements FunctionResultMarshaller {
+  private final FunctionResultMarshaller defaultMarshaller;
+  private final Map<MediaType, FunctionResultMarshaller> marshallers = new HashMap<>();
+
+  public ContentTypeNegotiatingFunctionResultMarshaller(
+      FunctionResultMarshaller defaultMarshaller,
+      List<FunctionResultMarshaller> alternativeMarshallers) {
+    this.defaultMarshaller = defaultMarshaller;
+
+    for (FunctionResultMarshaller marshaller : alternativeMarshallers) {
+      marshallers.put(marshaller.getMediaType().withoutParameters(), marshaller);
+    }
+  }
+
+  @Override
+  public MediaType getMediaType() {
+    return defaultMarshaller.getMediaType();
+  }
+
+  @Override
+  public Type getSourceType() {
+    return defaultMarshaller.getSourceType();
+  }
+
+  @Override
+  public void marshallTo(Object object, OutputStream outputStream)
+      throws FunctionResultMarshallingException {
+    defaultMarshaller.marshallTo(object, outputStream);
+  }
+
+  @Override
+  public SalesforceFunctionResult marshall(Object object, CloudEvent cloudEvent)
+      throws FunctionResultMarshallingException {
+    FunctionResultMarshaller marshaller =
+        ContentTypeNegotiatingPayloadUnmarshaller.parseDataContentType(cloudEvent)
+            .map(marshallers::get)
+            .orElse(defaultMarshaller);
+
+    return marshaller.marshall(object);
+  }
+}
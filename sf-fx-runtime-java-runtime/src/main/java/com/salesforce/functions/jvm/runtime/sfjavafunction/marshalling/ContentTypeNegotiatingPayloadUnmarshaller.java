@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import com.google.common.net.MediaType;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.PayloadUnmarshallingException;
+import io.cloudevents.CloudEvent;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Selects the {@link PayloadUnmarshaller} based on the datacontenttype of the CloudEvent. Events
+ * without a datacontenttype or with one that none of the alternative unmarshallers handle are
+ * unmarshalled by the default unmarshaller.
+ */
+public class ContentTypeNegotiatingPayloadUnmarshaller implements PayloadUnmarshaller {
+  private final PayloadUnmarshaller defaultUnmarshaller;
+  private final Map<MediaType, PayloadUnmarshaller> unmarshallers = new HashMap<>();
+
+  public ContentTypeNegotiatingPayloadUnmarshaller(
+      PayloadUnmarshaller defaultUnmarshaller, List<PayloadUnmarshaller> alternativeUnmarshallers) {
+    this.defaultUnmarshaller = defaultUnmarshaller;
+
+    for (PayloadUnmarshaller unmarshaller : alternativeUnmarshallers) {
+      unmarshallers.put(unmarshaller.getHandledMediaType().withoutParameters(), unmarshaller);
+    }
+  }
+
+  @Override
+  public MediaType getHandledMediaType() {
+    return defaultUnmarshaller.getHandledMediaType();
+  }
+
+  @Override
+  public Type getTargetType() {
+    return defaultUnmarshaller.getTargetType();
+  }
+
+  @Override
+  public Object unmarshall(CloudEvent cloudEvent) throws PayloadUnmarshallingException {
+    PayloadUnmarshaller unmarshaller =
+        parseDataContentType(cloudEvent).map(unmarshallers::get).orElse(defaultUnmarshaller);
+
+    return unmarshaller.unmarshall(cloudEvent);
+  }
+
+  static Optional<MediaType> parseDataContentType(CloudEvent cloudEvent) {
+    String dataContentType = cloudEvent.getDataContentType();
+    if (dataContentType == null) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(MediaType.parse(dataContentType).withoutParameters());
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -9,6 +9,9 @@ package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
 import com.google.common.net.MediaType;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionResultMarshallingException;
+import com.salesforce.functions.jvm.runtime.util.ByteArrayPool;
+import io.cloudevents.CloudEvent;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 
 public interface FunctionResultMarshaller {
@@ -16,10 +19,48 @@ public interface FunctionResultMarshaller {
 
   Type getSourceType();
 
-  byte[] marshallBytes(Object object) throws FunctionResultMarshallingException;
+  /**
+   * Marshalls the given object and writes the result to the given stream. Implementations must not
+   * close the stream.
+   *
+   * @param object The object to marshall.
+   * @param outputStream The stream to write the marshalled object to.
+   * @throws FunctionResultMarshallingException When marshalling or writing to the stream failed.
+   */
+  void marshallTo(Object object, OutputStream outputStream)
+      throws FunctionResultMarshallingException;
 
   default SalesforceFunctionResult marshall(Object object)
       throws FunctionResultMarshallingException {
-    return new SalesforceFunctionResult(getMediaType(), marshallBytes(object));
+    // The marshalled bytes are handed to the result without another copy. The response body is
+    // not streamed to the client directly since the status code and x-extra-info header can only
+    // be sent after marshalling has finished. The pooled array is returned to the pool when the
+    // result is released after the response has been written.
+    PooledByteArrayOutputStream outputStream =
+        new PooledByteArrayOutputStream(ByteArrayPool.shared(), 1024);
+
+    try {
+      marshallTo(object, outputStream);
+    } catch (RuntimeException e) {
+      outputStream.release();
+      throw e;
+    }
+
+    return new SalesforceFunctionResult(
+        getMediaType(), outputStream.toByteBuffer(), outputStream::release);
+  }
+
+  /**
+   * Marshalls the result of the invocation of the given CloudEvent. Implementations can use the
+   * CloudEvent to select the format of the result.
+   *
+   * @param object The object to marshall.
+   * @param cloudEvent The CloudEvent the function was invoked with.
+   * @return The marshalled result.
+   * @throws FunctionResultMarshallingException When marshalling failed.
+   */
+  default SalesforceFunctionResult marshall(Object object, CloudEvent cloudEvent)
+      throws FunctionResultMarshallingException {
+    return marshall(object);
   }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import com.google.common.net.MediaType;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionResultMarshallingException;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.PayloadUnmarshallingException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A binary data format supported by Jackson through one of its data format modules, i.e. CBOR or
+ * Smile. Like {@link com.salesforce.functions.jvm.runtime.json.JacksonReflectionJsonLibrary}, the
+ * format is accessed via reflection on the function project's class loader and is only available
+ * when the project depends on the corresponding Jackson module.
+ */
+public final class JacksonBinaryFormat {
+  public static final MediaType CBOR = MediaType.create("application", "cbor");
+  public static final MediaType SMILE = MediaType.create("application", "x-jackson-smile");
+  public static final MediaType MESSAGE_PACK = MediaType.create("application", "x-msgpack");
+
+  private final MediaType mediaType;
+  private final MethodHandle constructTypeHandle;
+  private final MethodHandle readerForHandle;
+  private final MethodHandle readValueHandle;
+  private final MethodHandle writeValueHandle;
+
+  // See JacksonReflectionJsonLibrary, the target types are fixed per function.
+  private final ConcurrentMap<Type, Object> objectReaders = new ConcurrentHashMap<>();
+
+  private JacksonBinaryFormat(
+      MediaType mediaType, String jsonFactoryClassName, ClassLoader classLoader)
+      throws ReflectiveOperationException {
+    this.mediaType = mediaType;
+
+    Class<?> jsonFactoryClass = classLoader.loadClass("com.fasterxml.jackson.core.JsonFactory");
+    Class<?> objectMapperClass =
+        classLoader.loadClass("com.fasterxml.jackson.databind.ObjectMapper");
+    Class<?> objectReaderClass =
+        classLoader.loadClass("com.fasterxml.jackson.databind.ObjectReader");
+    Class<?> objectWriterClass =
+        classLoader.loadClass("com.fasterxml.jackson.databind.ObjectWriter");
+    Class<?> javaTypeClass = classLoader.loadClass("com.fasterxml.jackson.databind.JavaType");
+
+    Object jsonFactory = classLoader.loadClass(jsonFactoryClassName).getConstructor().newInstance();
+    Object objectMapper =
+        objectMapperClass.getConstructor(jsonFactoryClass).newInstance(jsonFactory);
+
+    // Same configuration as the JSON ObjectMapper: empty beans can be serialized and streams passed
+    // to serialize are owned by the caller and must not be closed by Jackson.
+    Class<?> serializationFeatureClass =
+        classLoader.loadClass("com.fasterxml.jackson.databind.SerializationFeature");
+    objectMapperClass
+        .getMethod("configure", serializationFeatureClass, boolean.class)
+        .invoke(
+            objectMapper,
+            serializationFeatureClass.getField("FAIL_ON_EMPTY_BEANS").get(null),
+            false);
+
+    Class<?> jsonGeneratorFeatureClass =
+        classLoader.loadClass("com.fasterxml.jackson.core.JsonGenerator$Feature");
+    objectMapperClass
+        .getMethod("configure", jsonGeneratorFeatureClass, boolean.class)
+        .invoke(
+            objectMapper, jsonGeneratorFeatureClass.getField("AUTO_CLOSE_TARGET").get(null), false);
+
+    MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+    constructTypeHandle =
+        lookup
+            .unreflect(objectMapperClass.getMethod("constructType", Type.class))
+            .bindTo(objectMapper)
+            .asType(MethodType.methodType(Object.class, Type.class));
+
+    readerForHandle =
+        lookup
+            .unreflect(objectMapperClass.getMethod("readerFor", javaTypeClass))
+            .bindTo(objectMapper)
+            .asType(MethodType.methodType(Object.class, Object.class));
+
+    readValueHandle =
+        lookup
+            .unreflect(objectReaderClass.getMethod("readValue", byte[].class))
+            .asType(MethodType.methodType(Object.class, Object.class, byte[].class));
+
+    Method writerMethod = objectMapperClass.getMethod("writer");
+    writeValueHandle =
+        lookup
+            .unreflect(objectWriterClass.getMethod("writeValue", OutputStream.class, Object.class))
+            .bindTo(writerMethod.invoke(objectMapper))
+            .asType(MethodType.methodType(void.class, OutputStream.class, Object.class));
+  }
+
+  /**
+   * Detects the binary formats available in the given class loader.
+   *
+   * @param classLoader The class loader of the function project.
+   * @return The available binary formats, empty if the project does not depend on any supported
+   *     Jackson data format module.
+   */
+  public static List<JacksonBinaryFormat> detect(ClassLoader classLoader) {
+    List<JacksonBinaryFormat> formats = new ArrayList<>();
+    tryAdd(formats, CBOR, "com.fasterxml.jackson.dataformat.cbor.CBORFactory", classLoader);
+    tryAdd(formats, SMILE, "com.fasterxml.jackson.dataformat.smile.SmileFactory", classLoader);
+    tryAdd(formats, MESSAGE_PACK, "org.msgpack.jackson.dataformat.MessagePackFactory", classLoader);
+    return formats;
+  }
+
+  private static void tryAdd(
+      List<JacksonBinaryFormat> formats,
+      MediaType mediaType,
+      String jsonFactoryClassName,
+      ClassLoader classLoader) {
+    try {
+      formats.add(new JacksonBinaryFormat(mediaType, jsonFactoryClassName, classLoader));
+    } catch (ReflectiveOperationException | LinkageError e) {
+      // If the module is not present in the user project's classpath, the format cannot be used in
+      // any case. We can safely ignore this exception and carry on.
+    }
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  Object deserialize(byte[] data, Type type) throws PayloadUnmarshallingException {
+    try {
+      return (Object) readValueHandle.invokeExact(getObjectReader(type), data);
+    } catch (Throwable t) {
+      throw new PayloadUnmarshallingException("Could not unmarshall payload!", t);
+    }
+  }
+
+  void serialize(Object object, OutputStream outputStream)
+      throws FunctionResultMarshallingException {
+    try {
+      writeValueHandle.invokeExact(outputStream, object);
+    } catch (Throwable t) {
+      throw new FunctionResultMarshallingException(mediaType + " serialization failed!", t);
+    }
+  }
+
+  private Object getObjectReader(Type type) throws Throwable {
+    Object objectReader = objectReaders.get(type);
+
+    if (objectReader == null) {
+      Object javaType = (Object) constructTypeHandle.invokeExact(type);
+      objectReader = (Object) readerForHandle.invokeExact(javaType);
+
+      Object existingObjectReader = objectReaders.putIfAbsent(type, objectReader);
+      if (existingObjectReader != null) {
+        objectReader = existingObjectReader;
+      }
+    }
+
+    return objectReader;
+  }
+}
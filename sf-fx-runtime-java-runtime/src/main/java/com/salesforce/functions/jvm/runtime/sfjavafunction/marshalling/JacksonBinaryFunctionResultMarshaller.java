@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import com.google.common.net.MediaType;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionResultMarshallingException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+public class JacksonBinaryFunctionResultMarshaller implements FunctionResultMarshaller {
+  private final JacksonBinaryFormat format;
+  private final Type type;
+
+  public JacksonBinaryFunctionResultMarshaller(JacksonBinaryFormat format, Type type) {
+    this.format = format;
+    this.type = type;
+  }
+
+  @Override
+  public MediaType getMediaType() {
+    return format.getMediaType();
+  }
+
+  @Override
+  public Type getSourceType() {
+    return type;
+  }
+
+  @Override
+  public void marshallTo(Object object, OutputStream outputStream)
+      throws FunctionResultMarshallingException {
+    format.serialize(object, outputStream);
+  }
+}
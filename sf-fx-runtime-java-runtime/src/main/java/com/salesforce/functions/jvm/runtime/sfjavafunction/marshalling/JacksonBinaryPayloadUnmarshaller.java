@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import com.google.common.net.MediaType;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.PayloadUnmarshallingException;
+import io.cloudevents.CloudEvent;
+import java.lang.reflect.Type;
+
+public class JacksonBinaryPayloadUnmarshaller implements PayloadUnmarshaller {
+  private final JacksonBinaryFormat format;
+  private final Type type;
+
+  public JacksonBinaryPayloadUnmarshaller(JacksonBinaryFormat format, Type type) {
+    this.format = format;
+    this.type = type;
+  }
+
+  @Override
+  public MediaType getHandledMediaType() {
+    return format.getMediaType();
+  }
+
+  @Override
+  public Type getTargetType() {
+    return type;
+  }
+
+  @Override
+  public Object unmarshall(CloudEvent cloudEvent) throws PayloadUnmarshallingException {
+    if (cloudEvent.getData() == null) {
+      throw new PayloadUnmarshallingException("Cannot unmarshall without any data!");
+    }
+
+    return format.deserialize(cloudEvent.getData().toBytes(), type);
+  }
+}
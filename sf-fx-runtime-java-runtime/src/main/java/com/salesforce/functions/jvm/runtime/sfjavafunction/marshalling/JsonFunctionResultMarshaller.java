@@ -12,8 +12,8 @@ import com.salesforce.functions.jvm.runtime.json.JsonLibraryDetector;
 import com.salesforce.functions.jvm.runtime.json.exception.AmbiguousJsonLibraryException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonSerializationException;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionResultMarshallingException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 
 public class JsonFunctionResultMarshaller implements FunctionResultMarshaller {
   private final Type type;
@@ -41,9 +41,10 @@ public class JsonFunctionResultMarshaller implements FunctionResultMarshaller {
   }
 
   @Override
-  public byte[] marshallBytes(Object object) throws FunctionResultMarshallingException {
+  public void marshallTo(Object object, OutputStream outputStream)
+      throws FunctionResultMarshallingException {
     try {
-      return jsonLibrary.serialize(object).getBytes(StandardCharsets.UTF_8);
+      jsonLibrary.serialize(object, outputStream);
     } catch (JsonSerializationException e) {
       throw new FunctionResultMarshallingException("JSON serialization failed!", e);
     }
@@ -14,7 +14,6 @@ import com.salesforce.functions.jvm.runtime.json.exception.JsonDeserializationEx
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.PayloadUnmarshallingException;
 import io.cloudevents.CloudEvent;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 
 public class JsonPayloadUnmarshaller implements PayloadUnmarshaller {
   private final Type type;
@@ -53,14 +52,10 @@ public class JsonPayloadUnmarshaller implements PayloadUnmarshaller {
     // JSON, detecting the charset is very hard. Please note that the JSON mime-type does not allow
     // for a charset attribute that we can use.
     //
-    // Invalid UTF-8 is not a concern here, when Java's parser detects invalid data, it will insert
-    // Unicode's replacement character and continue to parse the data. There won't be an exception
-    // but actual JSON parsing will most likely fail later on.
-    String cloudEventDataUtf8String =
-        new String(cloudEvent.getData().toBytes(), StandardCharsets.UTF_8);
-
+    // The bytes are passed to the JSON library as-is so it can bind directly from a streaming
+    // parser instead of decoding the payload to a string and building a tree first.
     try {
-      return jsonLibrary.deserializeAt(cloudEventDataUtf8String, type);
+      return jsonLibrary.deserialize(cloudEvent.getData().toBytes(), type);
     } catch (JsonDeserializationException e) {
       throw new PayloadUnmarshallingException("Could not unmarshall payload!", e);
     }
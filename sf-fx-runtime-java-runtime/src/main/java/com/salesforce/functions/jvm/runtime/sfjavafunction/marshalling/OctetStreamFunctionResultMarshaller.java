@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import com.google.common.net.MediaType;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionResultMarshallingException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+/**
+ * Marshalls byte[] and {@link ByteBuffer} results as raw application/octet-stream data. The bytes
+ * are used as-is, without encoding them in JSON. A null result is marshalled as an empty body.
+ */
+public class OctetStreamFunctionResultMarshaller implements FunctionResultMarshaller {
+  private final Class<?> sourceType;
+
+  public OctetStreamFunctionResultMarshaller(Class<?> sourceType) {
+    if (!sourceType.equals(byte[].class) && !sourceType.equals(ByteBuffer.class)) {
+      throw new IllegalArgumentException(
+          "Source type must be byte[] or java.nio.ByteBuffer, got " + sourceType.getName() + "!");
+    }
+
+    this.sourceType = sourceType;
+  }
+
+  @Override
+  public MediaType getMediaType() {
+    return MediaType.OCTET_STREAM;
+  }
+
+  @Override
+  public Type getSourceType() {
+    return sourceType;
+  }
+
+  @Override
+  public void marshallTo(Object object, OutputStream outputStream)
+      throws FunctionResultMarshallingException {
+    ByteBuffer buffer = toByteBuffer(object);
+
+    try {
+      if (buffer.hasArray()) {
+        outputStream.write(
+            buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      } else {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        outputStream.write(bytes);
+      }
+    } catch (IOException e) {
+      throw new FunctionResultMarshallingException("Could not write function result!", e);
+    }
+  }
+
+  @Override
+  public SalesforceFunctionResult marshall(Object object)
+      throws FunctionResultMarshallingException {
+    // The bytes are already in their final form, there is no need to copy them.
+    return new SalesforceFunctionResult(getMediaType(), toByteBuffer(object));
+  }
+
+  private ByteBuffer toByteBuffer(Object object) throws FunctionResultMarshallingException {
+    if (object == null) {
+      return ByteBuffer.allocate(0);
+    }
+
+    if (object instanceof byte[]) {
+      return ByteBuffer.wrap((byte[]) object);
+    }
+
+    if (object instanceof ByteBuffer) {
+      return ((ByteBuffer) object).duplicate();
+    }
+
+    throw new FunctionResultMarshallingException(
+        String.format(
+            "Expected byte[] or java.nio.ByteBuffer for marshalling, got %s!",
+            object.getClass().getName()));
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import com.salesforce.functions.jvm.runtime.util.ByteArrayPool;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OutputStream} that writes to arrays taken from a {@link ByteArrayPool}. The written
+ * bytes are exposed as a {@link ByteBuffer} backed by the pooled array to avoid another copy. The
+ * stream must not be written to after the buffer has been obtained and neither the stream nor the
+ * buffer must be used after {@link #release()} has been called.
+ */
+final class PooledByteArrayOutputStream extends OutputStream {
+  private final ByteArrayPool pool;
+  private byte[] buffer;
+  private int count;
+
+  PooledByteArrayOutputStream(ByteArrayPool pool, int initialSize) {
+    this.pool = pool;
+    this.buffer = pool.acquire(initialSize);
+  }
+
+  @Override
+  public void write(int b) {
+    ensureCapacity(count + 1);
+    buffer[count++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) {
+    ensureCapacity(count + length);
+    System.arraycopy(bytes, offset, buffer, count, length);
+    count += length;
+  }
+
+  ByteBuffer toByteBuffer() {
+    return ByteBuffer.wrap(buffer, 0, count);
+  }
+
+  /** Returns the array of this stream to the pool. */
+  void release() {
+    pool.release(buffer);
+  }
+
+  private void ensureCapacity(int requiredCapacity) {
+    if (requiredCapacity <= buffer.length) {
+      return;
+    }
+
+    if (requiredCapacity < 0) {
+      throw new OutOfMemoryError("Marshalled data exceeds the maximum array size!");
+    }
+
+    byte[] newBuffer = pool.acquire(Math.max(requiredCapacity, buffer.length * 2));
+    System.arraycopy(buffer, 0, newBuffer, 0, count);
+    pool.release(buffer);
+    buffer = newBuffer;
+  }
+}
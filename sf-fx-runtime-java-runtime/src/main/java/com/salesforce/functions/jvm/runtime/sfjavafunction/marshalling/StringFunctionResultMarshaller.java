@@ -8,7 +8,12 @@ package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
 
 import com.google.common.net.MediaType;
 import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionResultMarshallingException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 
@@ -26,14 +31,20 @@ public class StringFunctionResultMarshaller implements FunctionResultMarshaller
   }
 
   @Override
-  public byte[] marshallBytes(Object object) throws FunctionResultMarshallingException {
+  public void marshallTo(Object object, OutputStream outputStream)
+      throws FunctionResultMarshallingException {
     if (!(object instanceof String)) {
       throw new FunctionResultMarshallingException(
           String.format(
               "Expected java.lang.String for marshalling, got %s!", object.getClass().getName()));
     }
 
-    String string = (String) object;
-    return gson.toJson(string).getBytes(StandardCharsets.UTF_8);
+    try {
+      Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+      gson.toJson(object, String.class, writer);
+      writer.flush();
+    } catch (JsonIOException | IOException e) {
+      throw new FunctionResultMarshallingException("Could not write marshalled string!", e);
+    }
   }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of reusable byte arrays, bucketed into size classes. Arrays are acquired and released on
+ * different threads (i.e. marshalled on a worker thread and released by the IO thread once the
+ * response has been written), the pool is therefore shared between all threads instead of being
+ * thread-local.
+ *
+ * <p>Requests larger than the largest size class are served with a fresh array that is not pooled.
+ * Each size class holds a bounded number of arrays, arrays released to a full size class are left
+ * to the garbage collector.
+ *
+ * <p>The pool counts arrays that have been acquired but not yet released, which allows tests to
+ * detect code paths that leak pooled arrays.
+ */
+public final class ByteArrayPool {
+  private static final int SMALLEST_SIZE_CLASS = 1024;
+  private static final int SIZE_CLASS_COUNT = 5;
+
+  private static final ByteArrayPool SHARED =
+      new ByteArrayPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+  private final BlockingQueue<byte[]>[] sizeClasses;
+  private final AtomicLong leasedCount = new AtomicLong();
+
+  /**
+   * Creates an empty pool.
+   *
+   * @param arraysPerSizeClass The maximum number of idle arrays kept per size class.
+   */
+  @SuppressWarnings("unchecked")
+  public ByteArrayPool(int arraysPerSizeClass) {
+    sizeClasses = new BlockingQueue[SIZE_CLASS_COUNT];
+    for (int i = 0; i < SIZE_CLASS_COUNT; i++) {
+      sizeClasses[i] = new ArrayBlockingQueue<>(arraysPerSizeClass);
+    }
+  }
+
+  /**
+   * Returns the pool shared by the whole runtime.
+   *
+   * @return The shared pool.
+   */
+  public static ByteArrayPool shared() {
+    return SHARED;
+  }
+
+  /**
+   * Acquires an array with at least the given size. The returned array can contain data from
+   * previous uses and must be passed to {@link #release(byte[])} once it is no longer used.
+   *
+   * @param minimumSize The minimum size of the array.
+   * @return An array with at least the given size.
+   */
+  public byte[] acquire(int minimumSize) {
+    int sizeClass = sizeClassOf(minimumSize);
+    if (sizeClass == -1) {
+      return new byte[minimumSize];
+    }
+
+    leasedCount.incrementAndGet();
+
+    byte[] array = sizeClasses[sizeClass].poll();
+    if (array == null) {
+      array = new byte[sizeOf(sizeClass)];
+    }
+
+    return array;
+  }
+
+  /**
+   * Releases an array acquired from this pool. The array must not be used after it has been
+   * released.
+   *
+   * @param array The array to release.
+   */
+  public void release(byte[] array) {
+    int sizeClass = sizeClassOf(array.length);
+    if (sizeClass == -1 || sizeOf(sizeClass) != array.length) {
+      // Arrays larger than the largest size class were never pooled.
+      return;
+    }
+
+    leasedCount.decrementAndGet();
+    sizeClasses[sizeClass].offer(array);
+  }
+
+  /**
+   * Returns the number of pooled arrays that have been acquired but not released yet.
+   *
+   * @return The number of leased arrays.
+   */
+  public long getLeasedCount() {
+    return leasedCount.get();
+  }
+
+  /**
+   * Returns the size of the largest arrays that are pooled. Larger arrays are allocated on demand.
+   *
+   * @return The size of the largest pooled arrays.
+   */
+  public static int getMaximumPooledSize() {
+    return sizeOf(SIZE_CLASS_COUNT - 1);
+  }
+
+  private static int sizeClassOf(int size) {
+    for (int i = 0; i < SIZE_CLASS_COUNT; i++) {
+      if (size <= sizeOf(i)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  // Size classes grow by a factor of four: 1KiB, 4KiB, 16KiB, 64KiB and 256KiB.
+  private static int sizeOf(int sizeClass) {
+    return SMALLEST_SIZE_CLASS << (2 * sizeClass);
+  }
+}
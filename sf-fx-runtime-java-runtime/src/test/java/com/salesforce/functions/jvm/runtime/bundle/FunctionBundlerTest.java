@@ -33,7 +33,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.tomlj.Toml;
+import org.tomlj.TomlArray;
 import org.tomlj.TomlParseResult;
+import org.tomlj.TomlTable;
 
 public class FunctionBundlerTest {
   private final InvocationWrapper mockedInvocationWrapper = mock(InvocationWrapper.class);
@@ -133,7 +135,7 @@ public class FunctionBundlerTest {
     FunctionBundler.bundle(
         temporaryProjectFolder.getRoot().toPath(),
         project,
-        function,
+        Collections.singletonList(function),
         temporaryBundleFolder.getRoot().toPath());
 
     assertThat(
@@ -180,4 +182,53 @@ public class FunctionBundlerTest {
 
     assertThat(actualFilesInClasspathDirectory, is(equalTo(expectedFilesInClasspathDirectory)));
   }
+
+  @Test
+  public void testBundlingMultipleFunctions() throws IOException {
+    Files.copy(
+        Paths.get("src", "test", "resources", "default-test-project.toml"),
+        temporaryProjectFolder.getRoot().toPath().resolve("project.toml"),
+        StandardCopyOption.REPLACE_EXISTING);
+
+    Project project =
+        new Project() {
+          @Override
+          public String getTypeName() {
+            return "Test Project";
+          }
+
+          @Override
+          public List<Path> getClasspathPaths() {
+            return Collections.emptyList();
+          }
+        };
+
+    String otherFunctionClassName = "com.example.OtherFunction";
+    FunctionBundler.bundle(
+        temporaryProjectFolder.getRoot().toPath(),
+        project,
+        Arrays.asList(
+            function,
+            new SalesforceFunction(
+                unmarshaller, marshaller, otherFunctionClassName, mockedInvocationWrapper)),
+        temporaryBundleFolder.getRoot().toPath());
+
+    TomlParseResult result =
+        Toml.parse(temporaryBundleFolder.getRoot().toPath().resolve("function-bundle.toml"));
+
+    assertThat(result.hasErrors(), is(false));
+
+    // The first function is still described as [function] for readers of the single function
+    // format.
+    assertThat(result.getString("function.class"), is(equalTo(functionClassName)));
+
+    TomlArray functions = result.getArray("functions");
+    assertThat(functions.size(), is(equalTo(2)));
+    assertThat(functions.getTable(0).get("class"), is(equalTo(functionClassName)));
+
+    TomlTable otherFunction = functions.getTable(1);
+    assertThat(otherFunction.get("class"), is(equalTo(otherFunctionClassName)));
+    assertThat(otherFunction.get("payload_class"), is(equalTo("byte[]")));
+    assertThat(otherFunction.get("return_class"), is(equalTo("java.lang.String")));
+  }
 }
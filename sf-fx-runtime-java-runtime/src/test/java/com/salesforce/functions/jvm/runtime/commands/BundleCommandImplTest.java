@@ -25,6 +25,8 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.tomlj.Toml;
+import org.tomlj.TomlParseResult;
 
 public class BundleCommandImplTest extends StdOutAndStdErrCapturingTest {
   @Rule public TemporaryFolder projectDirectoryFolder = new TemporaryFolder();
@@ -162,7 +164,7 @@ public class BundleCommandImplTest extends StdOutAndStdErrCapturingTest {
   }
 
   @Test
-  public void testFailureMultipleFunction() throws Exception {
+  public void testSuccessWithMultipleFunctions() throws Exception {
     Project mockedProject = mock(Project.class);
 
     List<Path> paths = new ArrayList<>();
@@ -181,10 +183,22 @@ public class BundleCommandImplTest extends StdOutAndStdErrCapturingTest {
             bundleDirectoryFolder.getRoot().toPath(),
             Collections.singletonList(mockedProjectBuilder));
 
-    assertThat(bundleCommandImpl.call(), is(ExitCodes.MULTIPLE_FUNCTIONS_FOUND));
+    assertThat(bundleCommandImpl.call(), is(ExitCodes.SUCCESS));
     assertThat(systemOutContent.toString(), containsString("Found 2 function(s) after"));
     assertThat(systemErrContent.toString(), is(emptyString()));
 
+    TomlParseResult result =
+        Toml.parse(bundleDirectoryFolder.getRoot().toPath().resolve("function-bundle.toml"));
+
+    List<Object> functionClassNames = new ArrayList<>();
+    for (int i = 0; i < result.getArray("functions").size(); i++) {
+      functionClassNames.add(result.getArray("functions").getTable(i).get("class"));
+    }
+
+    assertThat(
+        functionClassNames,
+        containsInAnyOrder("com.example.ExampleFunction", "com.example.AdditionalExampleFunction"));
+
     verify(mockedProjectBuilder).build(projectDirectoryFolder.getRoot().toPath());
   }
 
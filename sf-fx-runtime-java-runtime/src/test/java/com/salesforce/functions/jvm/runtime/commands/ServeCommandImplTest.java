@@ -9,11 +9,11 @@ package com.salesforce.functions.jvm.runtime.commands;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.*;
-import static org.mockito.Mockito.any;
 
 import com.salesforce.functions.jvm.runtime.InvocationInterface;
 import com.salesforce.functions.jvm.runtime.project.Project;
 import com.salesforce.functions.jvm.runtime.project.ProjectBuilder;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunction;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.SalesforceFunctionException;
 import com.salesforce.functions.jvm.runtime.test.Util;
@@ -67,7 +67,7 @@ public class ServeCommandImplTest extends StdOutAndStdErrCapturingTest {
 
     InvocationInterface<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
         mockedInvocationInterface = mock(InvocationInterface.class);
-    doNothing().when(mockedInvocationInterface).start(any());
+    doNothing().when(mockedInvocationInterface).start(anyList());
 
     ServeCommandImpl serveCommandImpl =
         new ServeCommandImpl(
@@ -82,6 +82,44 @@ public class ServeCommandImplTest extends StdOutAndStdErrCapturingTest {
     assertThat(systemErrContent.toString(), is(emptyString()));
 
     verify(mockedProjectBuilder).build(projectDirectoryFolder.getRoot().toPath());
-    verify(mockedInvocationInterface).start(any());
+    verify(mockedInvocationInterface)
+        .start(argThat((List<SalesforceFunction> functions) -> functions.size() == 1));
+  }
+
+  @Test
+  public void testSuccessWithMultipleFunctions() throws Exception {
+    List<Path> paths = new ArrayList<>();
+    paths.add(sdkJarPath);
+    paths.add(Paths.get("src", "test", "resources", "sdk-1.0-multiple-functions"));
+
+    Project mockedProject = mock(Project.class);
+    when(mockedProject.getClasspathPaths()).thenReturn(paths);
+
+    ProjectBuilder mockedProjectBuilder = mock(ProjectBuilder.class);
+    when(mockedProjectBuilder.build(projectDirectoryFolder.getRoot().toPath()))
+        .thenReturn(Optional.of(mockedProject));
+
+    InvocationInterface<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+        mockedInvocationInterface = mock(InvocationInterface.class);
+    doNothing().when(mockedInvocationInterface).start(anyList());
+
+    ServeCommandImpl serveCommandImpl =
+        new ServeCommandImpl(
+            projectDirectoryFolder.getRoot().toPath(),
+            Collections.singletonList(mockedProjectBuilder),
+            mockedInvocationInterface);
+
+    assertThat(serveCommandImpl.call(), is(ExitCodes.SUCCESS));
+    assertThat(systemOutContent.toString(), containsString("Found 2 function(s) after"));
+    assertThat(
+        systemOutContent.toString(), containsString("Found function: com.example.ExampleFunction"));
+    assertThat(
+        systemOutContent.toString(),
+        containsString("Found function: com.example.AdditionalExampleFunction"));
+
+    // Both functions are served by the same invocation interface.
+    verify(mockedInvocationInterface)
+        .start(argThat((List<SalesforceFunction> functions) -> functions.size() == 2));
+    verify(mockedInvocationInterface).block();
   }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.commands;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import com.salesforce.functions.jvm.runtime.invocation.undertow.UndertowServerConfiguration;
+import java.time.Duration;
+import org.junit.Test;
+import picocli.CommandLine;
+
+public class ServeCommandTest {
+
+  @Test
+  public void testDefaultServerConfiguration() {
+    ServeCommand serveCommand = new ServeCommand();
+    new CommandLine(serveCommand).parseArgs("/tmp/project");
+
+    UndertowServerConfiguration configuration = serveCommand.createServerConfiguration();
+    UndertowServerConfiguration defaultConfiguration =
+        UndertowServerConfiguration.fromAvailableResources();
+
+    assertThat(configuration.getIoThreads(), is(equalTo(defaultConfiguration.getIoThreads())));
+    assertThat(
+        configuration.getWorkerThreads(), is(equalTo(defaultConfiguration.getWorkerThreads())));
+    assertThat(configuration.getBacklog(), is(equalTo(defaultConfiguration.getBacklog())));
+    assertThat(configuration.isHttp2Enabled(), is(false));
+    assertThat(configuration.isVirtualThreadsEnabled(), is(false));
+    assertThat(configuration.getMaxConcurrentInvocations(), is(equalTo(0)));
+    assertThat(configuration.isAdaptiveConcurrencyLimitEnabled(), is(false));
+    assertThat(configuration.getInvocationTimeout(), is(equalTo(Duration.ZERO)));
+    assertThat(configuration.isMetricsEnabled(), is(false));
+  }
+
+  @Test
+  public void testCustomServerConfiguration() {
+    ServeCommand serveCommand = new ServeCommand();
+    new CommandLine(serveCommand)
+        .parseArgs(
+            "--io-threads=3",
+            "--worker-threads=12",
+            "--buffer-size=2048",
+            "--no-direct-buffers",
+            "--backlog=64",
+            "--http2",
+            "--virtual-threads",
+            "--max-concurrency=10",
+            "--max-queue-size=5",
+            "--adaptive-concurrency",
+            "--invocation-timeout=30000",
+            "--metrics",
+            "/tmp/project");
+
+    UndertowServerConfiguration configuration = serveCommand.createServerConfiguration();
+
+    assertThat(configuration.getIoThreads(), is(equalTo(3)));
+    assertThat(configuration.getWorkerThreads(), is(equalTo(12)));
+    assertThat(configuration.getBufferSize(), is(equalTo(2048)));
+    assertThat(configuration.isDirectBuffers(), is(false));
+    assertThat(configuration.getBacklog(), is(equalTo(64)));
+    assertThat(configuration.isHttp2Enabled(), is(true));
+    assertThat(configuration.isVirtualThreadsEnabled(), is(true));
+    assertThat(configuration.getMaxConcurrentInvocations(), is(equalTo(10)));
+    assertThat(configuration.getMaxQueuedInvocations(), is(equalTo(5)));
+    assertThat(configuration.isAdaptiveConcurrencyLimitEnabled(), is(true));
+    assertThat(configuration.getInvocationTimeout(), is(equalTo(Duration.ofSeconds(30))));
+    assertThat(configuration.isMetricsEnabled(), is(true));
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ConcurrencyLimiterTest {
+  private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  public void testTasksBelowLimitRunImmediately() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 0, false);
+    List<String> started = new ArrayList<>();
+
+    assertThat(limiter.submit(() -> started.add("a")), is(true));
+    assertThat(limiter.submit(() -> started.add("b")), is(true));
+
+    assertThat(started, contains("a", "b"));
+    assertThat(limiter.getInFlight(), is(equalTo(2)));
+  }
+
+  @Test
+  public void testTasksAboveLimitAreQueuedAndRejected() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, false);
+    List<String> started = new ArrayList<>();
+
+    assertThat(limiter.submit(() -> started.add("a")), is(true));
+    assertThat(limiter.submit(() -> started.add("b")), is(true));
+    assertThat(limiter.submit(() -> started.add("c")), is(false));
+
+    assertThat(started, contains("a"));
+    assertThat(limiter.getQueueSize(), is(equalTo(1)));
+
+    limiter.release(MILLISECOND);
+
+    assertThat(started, contains("a", "b"));
+    assertThat(limiter.getInFlight(), is(equalTo(1)));
+    assertThat(limiter.getQueueSize(), is(equalTo(0)));
+
+    limiter.release(MILLISECOND);
+    assertThat(limiter.getInFlight(), is(equalTo(0)));
+  }
+
+  @Test
+  public void testStaticLimitIgnoresLatency() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 0, false);
+
+    limiter.submit(() -> {});
+    limiter.release(MILLISECOND);
+    limiter.submit(() -> {});
+    limiter.release(1000 * MILLISECOND);
+
+    assertThat(limiter.getLimit(), is(equalTo(10)));
+  }
+
+  @Test
+  public void testAdaptiveLimitDecreasesOnLatencySpike() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 0, true);
+
+    limiter.submit(() -> {});
+    limiter.release(10 * MILLISECOND);
+    assertThat(limiter.getLimit(), is(equalTo(10)));
+
+    limiter.submit(() -> {});
+    limiter.release(100 * MILLISECOND);
+    assertThat(limiter.getLimit(), is(equalTo(9)));
+  }
+
+  @Test
+  public void testAdaptiveLimitNeverDropsBelowOne() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 0, true);
+
+    long latency = MILLISECOND;
+    for (int i = 0; i < 10; i++) {
+      limiter.submit(() -> {});
+      limiter.release(latency);
+      latency *= 10;
+    }
+
+    assertThat(limiter.getLimit(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testAdaptiveLimitRecoversUpToMaximum() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 0, true);
+
+    limiter.submit(() -> {});
+    limiter.release(10 * MILLISECOND);
+    limiter.submit(() -> {});
+    limiter.release(100 * MILLISECOND);
+    assertThat(limiter.getLimit(), is(equalTo(3)));
+
+    // Keep the limit utilized so it is allowed to grow again
+    limiter.submit(() -> {});
+    limiter.submit(() -> {});
+    for (int i = 0; i < 10; i++) {
+      limiter.submit(() -> {});
+      limiter.release(10 * MILLISECOND);
+    }
+
+    assertThat(limiter.getLimit(), is(equalTo(4)));
+  }
+
+  @Test
+  public void testAdaptiveLimitDecreasesOncePerWindow() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 0, true);
+
+    limiter.submit(() -> {});
+    limiter.release(10 * MILLISECOND);
+
+    // A burst of slow completions, i.e. all invocations running during a latency spike, only
+    // decreases the limit once.
+    for (int i = 0; i < 5; i++) {
+      limiter.submit(() -> {});
+      limiter.release(100 * MILLISECOND);
+    }
+
+    assertThat(limiter.getLimit(), is(equalTo(9)));
+
+    // Once a full window of 9 completions has passed, the limit can decrease again.
+    for (int i = 0; i < 3; i++) {
+      limiter.submit(() -> {});
+      limiter.release(100 * MILLISECOND);
+    }
+
+    assertThat(limiter.getLimit(), is(equalTo(9)));
+
+    for (int i = 0; i < 2; i++) {
+      limiter.submit(() -> {});
+      limiter.release(100 * MILLISECOND);
+    }
+
+    assertThat(limiter.getLimit(), is(equalTo(8)));
+  }
+
+  @Test
+  public void testIncreasedLimitRunsAllQueuedTasksThatFit() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10, true);
+    List<String> started = new ArrayList<>();
+
+    limiter.submit(() -> started.add("a"));
+    limiter.submit(() -> started.add("b"));
+    limiter.release(10 * MILLISECOND);
+    limiter.release(100 * MILLISECOND);
+    assertThat(limiter.getLimit(), is(equalTo(1)));
+
+    limiter.submit(() -> started.add("c"));
+    limiter.submit(() -> started.add("d"));
+    limiter.submit(() -> started.add("e"));
+    assertThat(limiter.getQueueSize(), is(equalTo(2)));
+
+    // The limit increases back to 2, both queued tasks fit into the slots that are now available.
+    limiter.release(10 * MILLISECOND);
+    assertThat(limiter.getLimit(), is(equalTo(2)));
+    assertThat(started, contains("a", "b", "c", "d", "e"));
+    assertThat(limiter.getInFlight(), is(equalTo(2)));
+    assertThat(limiter.getQueueSize(), is(equalTo(0)));
+  }
+
+  @Test
+  public void testTasksDoNotOvertakeQueuedTasks() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10, false);
+    List<String> started = new ArrayList<>();
+
+    limiter.submit(() -> started.add("a"));
+    limiter.submit(() -> started.add("b"));
+    limiter.submit(() -> started.add("c"));
+
+    limiter.release(MILLISECOND);
+    limiter.submit(() -> started.add("d"));
+    limiter.release(MILLISECOND);
+    limiter.release(MILLISECOND);
+
+    assertThat(started, contains("a", "b", "c", "d"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidLimit() {
+    new ConcurrencyLimiter(0, 0, false);
+  }
+}
@@ -10,6 +10,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import com.google.gson.Gson;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.InvocationPhaseTimings;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionThrewExceptionException;
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.v1.CloudEventBuilder;
@@ -31,6 +32,34 @@ public class ExtraInfoTest {
     assertThat(extraInfo.getStatusCode(), is(200));
     assertThat(extraInfo.isFunctionError(), is(false));
     assertThat(extraInfo.getStacktrace(), is(empty()));
+    assertThat(extraInfo.isShed(), is(false));
+  }
+
+  @Test
+  public void testExceptionType() {
+    ExtraInfo extraInfo = new ExtraInfo();
+    assertThat(extraInfo.getExceptionType().isPresent(), is(false));
+
+    ExtraInfo updatedExtraInfo =
+        extraInfo.withInternalExceptionData(new IllegalStateException()).withStatusCode(400);
+
+    assertThat(updatedExtraInfo.getExceptionType().get(), is(equalTo("IllegalStateException")));
+    assertThat(new Gson().toJson(updatedExtraInfo), not(containsString("IllegalStateException")));
+  }
+
+  @Test
+  public void testWithShed() {
+    ExtraInfo extraInfo = new ExtraInfo();
+    ExtraInfo updatedExtraInfo = extraInfo.withShed().withStatusCode(503);
+
+    assertThat(updatedExtraInfo.isShed(), is(true));
+    assertThat(updatedExtraInfo.getStatusCode(), is(equalTo(503)));
+
+    assertThat(updatedExtraInfo.getRequestId(), is(equalTo(extraInfo.getRequestId())));
+    assertThat(updatedExtraInfo.getSource(), is(equalTo(extraInfo.getSource())));
+    assertThat(updatedExtraInfo.getExecutionTime(), is(equalTo(extraInfo.getExecutionTime())));
+    assertThat(updatedExtraInfo.isFunctionError(), is(equalTo(extraInfo.isFunctionError())));
+    assertThat(updatedExtraInfo.getStacktrace(), is(equalTo(extraInfo.getStacktrace())));
   }
 
   @Test
@@ -153,4 +182,43 @@ public class ExtraInfoTest {
             equalTo(
                 "{\"requestId\":\"requestId\",\"source\":\"source\",\"execTimeMs\":60000,\"statusCode\":200,\"isFunctionError\":true,\"stack\":[\"com.example.Test.testMethod(Test.java:1337)\"]}")));
   }
+
+  @Test
+  public void testGsonSerializationShed() {
+    ExtraInfo extraInfo = new ExtraInfo().withShed().withStatusCode(503);
+
+    assertThat(
+        new Gson().toJson(extraInfo),
+        is(
+            equalTo(
+                "{\"requestId\":\"n/a\",\"source\":\"n/a\",\"execTimeMs\":0,\"statusCode\":503,\"isFunctionError\":false,\"stack\":[],\"isShed\":true}")));
+  }
+
+  @Test
+  public void testGsonSerializationPhaseTimes() {
+    ExtraInfo extraInfo =
+        new ExtraInfo()
+            .withPhaseTimes(
+                new PhaseTimes(
+                    Duration.ofNanos(1_234_567),
+                    new InvocationPhaseTimings(
+                        Duration.ofNanos(12_000),
+                        Duration.ofMillis(2),
+                        Duration.ofNanos(500),
+                        Duration.ofMillis(40),
+                        Duration.ZERO)));
+
+    assertThat(
+        new Gson().toJson(extraInfo),
+        is(
+            equalTo(
+                "{\"requestId\":\"n/a\",\"source\":\"n/a\",\"execTimeMs\":0,\"statusCode\":200,\"isFunctionError\":false,\"stack\":[],\"phases\":{\"bodyReadMs\":1.234,\"extensionValidationMs\":0.012,\"unmarshallMs\":2.000,\"sdkInitializationMs\":0.000,\"functionMs\":40.000,\"marshallMs\":0.000}}")));
+  }
+
+  @Test
+  public void testGsonSerializationBodyReadTimeOnly() {
+    ExtraInfo extraInfo = new ExtraInfo().withPhaseTimes(new PhaseTimes(Duration.ofMillis(3)));
+
+    assertThat(new Gson().toJson(extraInfo), containsString("\"phases\":{\"bodyReadMs\":3.000}"));
+  }
 }
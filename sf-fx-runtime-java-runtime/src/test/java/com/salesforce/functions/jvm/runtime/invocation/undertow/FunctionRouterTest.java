@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import com.salesforce.functions.jvm.runtime.project.ProjectFunction;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.SalesforceFunctionException;
+import io.cloudevents.CloudEvent;
+import io.undertow.util.HeaderMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.Test;
+
+public class FunctionRouterTest {
+  private final ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+      function = makeFunctionMock("com.example.Function");
+  private final ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+      otherFunction = makeFunctionMock("com.example.OtherFunction");
+
+  @Test
+  public void testSingleFunction() {
+    FunctionRouter router = new FunctionRouter(Collections.singletonList(function));
+
+    assertThat(router.isRoutablePath("/"), is(true));
+    assertThat(router.isRoutablePath("/com.example.Function"), is(true));
+    assertThat(router.isRoutablePath("/invoke"), is(false));
+
+    assertThat(router.route("/", new HeaderMap()), is(equalTo(Optional.of(function))));
+    assertThat(
+        router.route("/com.example.Function", new HeaderMap()), is(equalTo(Optional.of(function))));
+    assertThat(
+        router.route("/", headers("com.example.Function")), is(equalTo(Optional.of(function))));
+
+    // With a single function, the header is ignored for requests to the root path.
+    assertThat(
+        router.route("/", headers("com.example.Unknown")), is(equalTo(Optional.of(function))));
+  }
+
+  @Test
+  public void testMultipleFunctions() {
+    FunctionRouter router = new FunctionRouter(Arrays.asList(function, otherFunction));
+
+    assertThat(router.isRoutablePath("/"), is(true));
+    assertThat(router.isRoutablePath("/com.example.Function"), is(true));
+    assertThat(router.isRoutablePath("/com.example.OtherFunction"), is(true));
+    assertThat(router.isRoutablePath("/com.example.Unknown"), is(false));
+
+    // Without a function name, requests to the root path are ambiguous.
+    assertThat(router.route("/", new HeaderMap()), is(equalTo(Optional.empty())));
+
+    assertThat(
+        router.route("/", headers("com.example.OtherFunction")),
+        is(equalTo(Optional.of(otherFunction))));
+    assertThat(router.route("/", headers("com.example.Unknown")), is(equalTo(Optional.empty())));
+    assertThat(
+        router.route("/com.example.Function", new HeaderMap()), is(equalTo(Optional.of(function))));
+
+    // The path takes precedence over the header.
+    assertThat(
+        router.route("/com.example.OtherFunction", headers("com.example.Function")),
+        is(equalTo(Optional.of(otherFunction))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoFunctions() {
+    new FunctionRouter(Collections.emptyList());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateFunctionNames() {
+    new FunctionRouter(Arrays.asList(function, makeFunctionMock("com.example.Function")));
+  }
+
+  private static HeaderMap headers(String functionName) {
+    HeaderMap headers = new HeaderMap();
+    headers.put(FunctionRouter.FUNCTION_NAME_HEADER, functionName);
+    return headers;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+      makeFunctionMock(String name) {
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+        functionMock = mock(ProjectFunction.class);
+    when(functionMock.getName()).thenReturn(name);
+    return functionMock;
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.xnio.XnioExecutor;
+
+public class InvocationTimerTest {
+  private final XnioExecutor executor = mock(XnioExecutor.class);
+  private final XnioExecutor.Key key = mock(XnioExecutor.Key.class);
+  private final ArgumentCaptor<Runnable> expireCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+  @Before
+  public void setUp() {
+    when(executor.executeAfter(expireCaptor.capture(), anyLong(), any())).thenReturn(key);
+  }
+
+  @After
+  public void tearDown() {
+    // Make sure no test leaks the interrupt flag into other tests running on this thread.
+    Thread.interrupted();
+  }
+
+  @Test
+  public void testTimerIsScheduledWithTimeout() {
+    InvocationTimer.start(executor, Duration.ofSeconds(3), stackTrace -> {});
+    verify(executor).executeAfter(any(), eq(3000L), eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testCompleteBeforeTimeout() {
+    AtomicReference<StackTraceElement[]> timeoutStackTrace = new AtomicReference<>();
+    InvocationTimer timer =
+        InvocationTimer.start(executor, Duration.ofSeconds(1), timeoutStackTrace::set);
+
+    assertThat(timer.complete(), is(true));
+    verify(key).remove();
+
+    // A timer that fires concurrently with complete() must not have any effect.
+    expireCaptor.getValue().run();
+
+    assertThat(timeoutStackTrace.get(), is(nullValue()));
+    assertThat(timer.getCancellation().toCompletableFuture().isDone(), is(false));
+    assertThat(Thread.currentThread().isInterrupted(), is(false));
+  }
+
+  @Test
+  public void testTimeout() {
+    AtomicReference<StackTraceElement[]> timeoutStackTrace = new AtomicReference<>();
+    InvocationTimer timer =
+        InvocationTimer.start(executor, Duration.ofSeconds(1), timeoutStackTrace::set);
+
+    expireCaptor.getValue().run();
+
+    assertThat(timeoutStackTrace.get(), is(notNullValue()));
+    assertThat(timer.getCancellation().toCompletableFuture().isDone(), is(true));
+    assertThat(Thread.currentThread().isInterrupted(), is(true));
+
+    assertThat(timer.complete(), is(false));
+    assertThat(Thread.currentThread().isInterrupted(), is(false));
+  }
+
+  @Test
+  public void testTimeoutCallbacksRunWithoutHoldingTheLock() {
+    AtomicReference<InvocationTimer> timerReference = new AtomicReference<>();
+    AtomicReference<Boolean> lockHeldDuringCallback = new AtomicReference<>();
+
+    InvocationTimer timer =
+        InvocationTimer.start(
+            executor,
+            Duration.ofSeconds(1),
+            stackTrace -> lockHeldDuringCallback.set(Thread.holdsLock(timerReference.get())));
+    timerReference.set(timer);
+
+    timer
+        .getCancellation()
+        .thenRun(() -> assertThat(Thread.holdsLock(timerReference.get()), is(false)));
+
+    expireCaptor.getValue().run();
+
+    assertThat(lockHeldDuringCallback.get(), is(false));
+    assertThat(timer.complete(), is(false));
+    assertThat(Thread.currentThread().isInterrupted(), is(false));
+  }
+}
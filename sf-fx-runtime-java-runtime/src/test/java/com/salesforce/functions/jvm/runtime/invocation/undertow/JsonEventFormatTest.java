@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.SpecVersion;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.cloudevents.core.format.EventDeserializationException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import org.junit.Test;
+
+public class JsonEventFormatTest {
+
+  @Test
+  public void testIsStructuredContentType() {
+    assertThat(JsonEventFormat.isStructuredContentType("application/cloudevents+json"), is(true));
+    assertThat(
+        JsonEventFormat.isStructuredContentType("Application/CloudEvents+JSON; charset=UTF-8"),
+        is(true));
+    assertThat(JsonEventFormat.isStructuredContentType("application/json"), is(false));
+    assertThat(
+        JsonEventFormat.isStructuredContentType("application/cloudevents-batch+json"), is(false));
+  }
+
+  @Test
+  public void testDeserialize() {
+    CloudEvent cloudEvent =
+        deserialize(
+            "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\","
+                + "\"time\":\"2021-05-31T20:20:20.297915Z\",\"subject\":null,"
+                + "\"sfcontext\":\"abc\",\"count\":42,\"flag\":true,"
+                + "\"data\":{\"list\":[1,2.50,null,\"x\"],\"nested\":{\"a\":false}}}");
+
+    assertThat(cloudEvent.getSpecVersion(), is(equalTo(SpecVersion.V1)));
+    assertThat(cloudEvent.getId(), is(equalTo("1234")));
+    assertThat(cloudEvent.getSource(), is(equalTo(URI.create("urn:source"))));
+    assertThat(cloudEvent.getType(), is(equalTo("type")));
+    assertThat(
+        cloudEvent.getTime(), is(equalTo(OffsetDateTime.parse("2021-05-31T20:20:20.297915Z"))));
+    assertThat(cloudEvent.getSubject(), is(nullValue()));
+    assertThat(cloudEvent.getExtension("sfcontext"), is(equalTo("abc")));
+    assertThat(cloudEvent.getExtension("count"), is(equalTo(42)));
+    assertThat(cloudEvent.getExtension("flag"), is(equalTo(true)));
+    assertThat(
+        dataOf(cloudEvent), is(equalTo("{\"list\":[1,2.50,null,\"x\"],\"nested\":{\"a\":false}}")));
+  }
+
+  @Test
+  public void testDeserializeDataBeforeContentType() {
+    CloudEvent cloudEvent =
+        deserialize(
+            "{\"data\":\"Hello!\",\"specversion\":\"1.0\",\"id\":\"1234\","
+                + "\"source\":\"urn:source\",\"type\":\"type\",\"datacontenttype\":\"text/plain\"}");
+
+    assertThat(dataOf(cloudEvent), is(equalTo("Hello!")));
+  }
+
+  @Test
+  public void testDeserializeJsonStringData() {
+    CloudEvent cloudEvent =
+        deserialize(
+            "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\","
+                + "\"data\":\"Hello \\\"World\\\"!\"}");
+
+    assertThat(dataOf(cloudEvent), is(equalTo("\"Hello \\\"World\\\"!\"")));
+  }
+
+  @Test
+  public void testDeserializeBase64Data() {
+    CloudEvent cloudEvent =
+        deserialize(
+            "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\","
+                + "\"datacontenttype\":\"application/octet-stream\",\"data_base64\":\"AAEC\"}");
+
+    assertThat(cloudEvent.getData().toBytes(), is(equalTo(new byte[] {0, 1, 2})));
+  }
+
+  @Test
+  public void testDeserializeWithoutData() {
+    CloudEvent cloudEvent =
+        deserialize(
+            "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\"}");
+
+    assertThat(cloudEvent.getData(), is(nullValue()));
+  }
+
+  @Test
+  public void testDeserializeMalformedEvents() {
+    String[] malformedEvents = {
+      "",
+      "[]",
+      "{\"specversion\":\"1.0\",\"id\":\"1234\"",
+      "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\"} {}",
+      "{\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\"}",
+      "{\"specversion\":\"9.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\"}",
+      "{\"specversion\":\"1.0\",\"source\":\"urn:source\",\"type\":\"type\"}",
+      "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\","
+          + "\"data\":{},\"data_base64\":\"AAEC\"}",
+      "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\","
+          + "\"data_base64\":\"not base64!\"}",
+      "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\","
+          + "\"extension\":{\"a\":1}}",
+      "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\","
+          + "\"extension\":1.5}",
+      "{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:source\",\"type\":\"type\","
+          + "\"time\":\"yesterday\"}"
+    };
+
+    for (String malformedEvent : malformedEvents) {
+      try {
+        deserialize(malformedEvent);
+        throw new AssertionError("Expected an exception for: " + malformedEvent);
+      } catch (EventDeserializationException e) {
+        // This is the exception we expect, no nothing.
+      }
+    }
+  }
+
+  @Test
+  public void testSerializeRoundTrip() {
+    CloudEvent cloudEvent =
+        CloudEventBuilder.v1()
+            .withId("1234")
+            .withSource(URI.create("urn:source"))
+            .withType("type")
+            .withTime(OffsetDateTime.parse("2021-05-31T20:20:20.297915Z"))
+            .withExtension("sfcontext", "abc")
+            .withExtension("count", 42)
+            .withExtension("flag", true)
+            .withData("application/json", "{\"foo\":[1,2]}".getBytes(StandardCharsets.UTF_8))
+            .build();
+
+    assertThat(
+        JsonEventFormat.INSTANCE.deserialize(JsonEventFormat.INSTANCE.serialize(cloudEvent)),
+        is(equalTo(cloudEvent)));
+
+    CloudEvent binaryCloudEvent =
+        CloudEventBuilder.v1(cloudEvent)
+            .withData("application/octet-stream", new byte[] {0, 1, 2})
+            .build();
+
+    assertThat(
+        JsonEventFormat.INSTANCE.deserialize(JsonEventFormat.INSTANCE.serialize(binaryCloudEvent)),
+        is(equalTo(binaryCloudEvent)));
+  }
+
+  @Test
+  public void testSerializeTimeWithZeroSeconds() {
+    CloudEvent cloudEvent =
+        CloudEventBuilder.v1()
+            .withId("1234")
+            .withSource(URI.create("urn:source"))
+            .withType("type")
+            .withTime(OffsetDateTime.parse("2021-05-31T20:20:00Z"))
+            .build();
+
+    assertThat(
+        new String(JsonEventFormat.INSTANCE.serialize(cloudEvent), StandardCharsets.UTF_8),
+        containsString("\"time\":\"2021-05-31T20:20:00Z\""));
+  }
+
+  private static CloudEvent deserialize(String json) {
+    return JsonEventFormat.INSTANCE.deserialize(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String dataOf(CloudEvent cloudEvent) {
+    return new String(cloudEvent.getData().toBytes(), StandardCharsets.UTF_8);
+  }
+}
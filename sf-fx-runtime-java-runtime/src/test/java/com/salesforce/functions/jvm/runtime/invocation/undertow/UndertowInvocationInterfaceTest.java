@@ -18,13 +18,23 @@ import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionRes
 import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.*;
 import io.cloudevents.CloudEvent;
 import io.undertow.util.StatusCodes;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.BufferedSink;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -80,6 +90,76 @@ public class UndertowInvocationInterfaceTest {
     assertThat(response.body().string(), is(equalTo("\"HTTP 405: Method Not Allowed\"")));
   }
 
+  @Test
+  public void testMetrics() throws Exception {
+    invocationInterface = makeMetricsInvocationInterface();
+    invocationInterface.start(helloWorldFunction);
+
+    client.newCall(makeJsonRequest("{}")).execute().close();
+
+    Response response =
+        client
+            .newCall(new Request.Builder().url("http://localhost:54321/metrics").get().build())
+            .execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(response.header("content-type"), startsWith("text/plain; version=0.0.4"));
+
+    String body = response.body().string();
+    assertThat(body, containsString("sf_fx_invocations_in_flight{function=\"Hello World\"} 0\n"));
+    assertThat(
+        body,
+        containsString("sf_fx_invocation_duration_seconds_count{function=\"Hello World\"} 1\n"));
+    assertThat(
+        body,
+        containsString(
+            "sf_fx_responses_total{function=\"Hello World\",status=\"200\",exception=\"none\"} 1\n"));
+    assertThat(
+        body,
+        containsString(
+            "sf_fx_invocation_phase_duration_seconds_count{function=\"Hello World\",phase=\"body_read\"} 1\n"));
+    assertThat(
+        body,
+        containsString(
+            "sf_fx_invocation_phase_duration_seconds_count{function=\"Hello World\",phase=\"response_write\"} 1\n"));
+    assertThat(body, containsString("# TYPE jvm_memory_used_bytes gauge\n"));
+  }
+
+  @Test
+  public void testMetricsCountExceptions() throws Exception {
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException> function =
+        mock(ProjectFunction.class);
+    when(function.getName()).thenReturn("com.example.Function");
+    when(function.apply(any())).thenThrow(new SdkInitializationException());
+
+    invocationInterface = makeMetricsInvocationInterface();
+    invocationInterface.start(function);
+    client.newCall(makeJsonRequest("{}")).execute().close();
+
+    Response response =
+        client
+            .newCall(new Request.Builder().url("http://localhost:54321/metrics").get().build())
+            .execute();
+
+    assertThat(
+        response.body().string(),
+        containsString(
+            "sf_fx_responses_total{function=\"com.example.Function\",status=\"503\","
+                + "exception=\"SdkInitializationException\"} 1\n"));
+  }
+
+  @Test
+  public void testMetricsDisabledByDefault() throws Exception {
+    invocationInterface.start(helloWorldFunction);
+
+    Response response =
+        client
+            .newCall(new Request.Builder().url("http://localhost:54321/metrics").get().build())
+            .execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.METHOD_NOT_ALLOWED)));
+  }
+
   @Test
   public void testInvalidPath() throws Exception {
     invocationInterface.start(helloWorldFunction);
@@ -97,6 +177,85 @@ public class UndertowInvocationInterfaceTest {
     assertThat(response.body().string(), is(equalTo("\"HTTP 404: Not Found\"")));
   }
 
+  @Test
+  public void testMultipleFunctions() throws Exception {
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+        otherFunction = mock(ProjectFunction.class);
+    when(otherFunction.getName()).thenReturn("com.example.OtherFunction");
+    when(otherFunction.apply(any()))
+        .thenReturn(
+            new SalesforceFunctionResult(
+                MediaType.JSON_UTF_8, "\"Hello Other World!\"".getBytes(StandardCharsets.UTF_8)));
+
+    invocationInterface.start(Arrays.asList(helloWorldFunction, otherFunction));
+
+    Response pathResponse =
+        client
+            .newCall(
+                makeJsonRequest("{}")
+                    .newBuilder()
+                    .url("http://localhost:54321/com.example.OtherFunction")
+                    .build())
+            .execute();
+
+    assertThat(pathResponse.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(pathResponse.body().string(), is(equalTo("\"Hello Other World!\"")));
+
+    Response headerResponse =
+        client
+            .newCall(
+                makeJsonRequest("{}").newBuilder().header("x-function-name", "Hello World").build())
+            .execute();
+
+    assertThat(headerResponse.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(headerResponse.body().string(), is(equalTo("\"Hello World!\"")));
+
+    // Requests to the root path must name the function if multiple functions are served.
+    Response ambiguousResponse = client.newCall(makeJsonRequest("{}")).execute();
+
+    assertThat(ambiguousResponse.code(), is(equalTo(StatusCodes.NOT_FOUND)));
+    assertThat(ambiguousResponse.body().string(), is(equalTo("\"HTTP 404: Not Found\"")));
+
+    Response unknownResponse =
+        client
+            .newCall(
+                makeJsonRequest("{}")
+                    .newBuilder()
+                    .header("x-function-name", "com.example.UnknownFunction")
+                    .build())
+            .execute();
+
+    assertThat(unknownResponse.code(), is(equalTo(StatusCodes.NOT_FOUND)));
+
+    Response healthCheckResponse =
+        client
+            .newCall(makeJsonRequest("{}").newBuilder().header("X-Health-Check", "true").build())
+            .execute();
+
+    assertThat(healthCheckResponse.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(healthCheckResponse.body().string(), is(equalTo("\"OK\"")));
+
+    verify(helloWorldFunction, times(1)).apply(any());
+    verify(otherFunction, times(1)).apply(any());
+  }
+
+  @Test
+  public void testSingleFunctionPath() throws Exception {
+    invocationInterface.start(helloWorldFunction);
+
+    Response response =
+        client
+            .newCall(
+                makeJsonRequest("{}")
+                    .newBuilder()
+                    .url("http://localhost:54321/Hello%20World")
+                    .build())
+            .execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(response.body().string(), is(equalTo("\"Hello World!\"")));
+  }
+
   @Test
   public void testHealthCheckTrue() throws Exception {
     invocationInterface.start(helloWorldFunction);
@@ -146,6 +305,348 @@ public class UndertowInvocationInterfaceTest {
     assertThat(response.code(), is(equalTo(StatusCodes.OK)));
     assertThat(response.header("content-type"), is(equalTo("application/json")));
     assertThat(response.body().string(), is(equalTo("\"Hello World!\"")));
+    assertThat(
+        URLDecoder.decode(response.header("x-extra-info"), "UTF-8"),
+        containsString("\"phases\":{\"bodyReadMs\":"));
+  }
+
+  @Test
+  public void testHelloWorldInvocationWithVirtualThreads() throws Exception {
+    // Falls back to worker threads when running on a JVM without virtual thread support.
+    invocationInterface =
+        new UndertowInvocationInterface(
+            54321,
+            "localhost",
+            UndertowServerConfiguration.fromAvailableResources().withVirtualThreadsEnabled(true));
+
+    invocationInterface.start(helloWorldFunction);
+
+    Response response = client.newCall(makeJsonRequest("{}")).execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(response.header("content-type"), is(equalTo("application/json")));
+    assertThat(response.body().string(), is(equalTo("\"Hello World!\"")));
+  }
+
+  @Test
+  public void testRequestsAboveConcurrencyLimitAreShed() throws Exception {
+    CountDownLatch functionStarted = new CountDownLatch(1);
+    CountDownLatch functionMayComplete = new CountDownLatch(1);
+
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+        blockingFunction = mock(ProjectFunction.class);
+    when(blockingFunction.getName()).thenReturn("Blocking function");
+    when(blockingFunction.apply(any()))
+        .thenAnswer(
+            invocation -> {
+              functionStarted.countDown();
+              functionMayComplete.await();
+              return new SalesforceFunctionResult(
+                  MediaType.JSON_UTF_8, "\"Hello World!\"".getBytes(StandardCharsets.UTF_8));
+            });
+
+    invocationInterface =
+        new UndertowInvocationInterface(
+            54321,
+            "localhost",
+            UndertowServerConfiguration.fromAvailableResources()
+                .withMaxConcurrentInvocations(1)
+                .withMaxQueuedInvocations(0));
+
+    invocationInterface.start(blockingFunction);
+
+    CompletableFuture<Integer> firstResponseCode =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try (Response response = client.newCall(makeJsonRequest("{}")).execute()) {
+                return response.code();
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+
+    assertThat(functionStarted.await(10, TimeUnit.SECONDS), is(true));
+
+    Response shedResponse = client.newCall(makeJsonRequest("{}")).execute();
+    assertThat(shedResponse.code(), is(equalTo(StatusCodes.SERVICE_UNAVAILABLE)));
+    assertThat(shedResponse.header("retry-after"), is(equalTo("1")));
+    assertThat(
+        URLDecoder.decode(shedResponse.header("x-extra-info"), "UTF-8"),
+        containsString("\"isShed\":true"));
+    assertThat(shedResponse.body().string(), is(equalTo("\"HTTP 503: Service Unavailable\"")));
+
+    functionMayComplete.countDown();
+    assertThat(firstResponseCode.get(10, TimeUnit.SECONDS), is(equalTo(StatusCodes.OK)));
+
+    // The slot is released by the worker thread after the response has been sent, so the client
+    // can see the response slightly before new requests are admitted again.
+    long deadlineNanoTime = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    int responseCode;
+    do {
+      try (Response response = client.newCall(makeJsonRequest("{}")).execute()) {
+        responseCode = response.code();
+      }
+    } while (responseCode == StatusCodes.SERVICE_UNAVAILABLE
+        && System.nanoTime() < deadlineNanoTime);
+
+    assertThat(responseCode, is(equalTo(StatusCodes.OK)));
+  }
+
+  @Test
+  public void testQueuedRequestsReceiveFunctionResponse() throws Exception {
+    CountDownLatch functionStarted = new CountDownLatch(1);
+    CountDownLatch functionMayComplete = new CountDownLatch(1);
+
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+        blockingFunction = mock(ProjectFunction.class);
+    when(blockingFunction.getName()).thenReturn("Blocking function");
+    when(blockingFunction.apply(any()))
+        .thenAnswer(
+            invocation -> {
+              functionStarted.countDown();
+              functionMayComplete.await();
+              return new SalesforceFunctionResult(
+                  MediaType.JSON_UTF_8, "\"Hello World!\"".getBytes(StandardCharsets.UTF_8));
+            });
+
+    invocationInterface =
+        new UndertowInvocationInterface(
+            54321,
+            "localhost",
+            UndertowServerConfiguration.fromAvailableResources()
+                .withMaxConcurrentInvocations(1)
+                .withMaxQueuedInvocations(1));
+
+    invocationInterface.start(blockingFunction);
+
+    CompletableFuture<String> firstResponse = executeAsync(makeJsonRequest("{}"));
+    assertThat(functionStarted.await(10, TimeUnit.SECONDS), is(true));
+
+    CompletableFuture<String> queuedResponse = executeAsync(makeJsonRequest("{}"));
+
+    try {
+      // The queued request must wait for the running invocation instead of being answered early.
+      Thread.sleep(500);
+      assertThat(queuedResponse.isDone(), is(false));
+    } finally {
+      functionMayComplete.countDown();
+    }
+
+    assertThat(firstResponse.get(10, TimeUnit.SECONDS), is(equalTo("200 \"Hello World!\"")));
+    assertThat(queuedResponse.get(10, TimeUnit.SECONDS), is(equalTo("200 \"Hello World!\"")));
+
+    verify(blockingFunction, times(2)).apply(any());
+  }
+
+  @Test
+  public void testInvocationTimeout() throws Exception {
+    CountDownLatch functionInterrupted = new CountDownLatch(1);
+
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+        runawayFunction = mock(ProjectFunction.class);
+    when(runawayFunction.getName()).thenReturn("Runaway function");
+    when(runawayFunction.apply(any()))
+        .thenAnswer(
+            invocation -> {
+              try {
+                Thread.sleep(30000);
+              } catch (InterruptedException e) {
+                functionInterrupted.countDown();
+              }
+              return new SalesforceFunctionResult(
+                  MediaType.JSON_UTF_8, "\"Too late!\"".getBytes(StandardCharsets.UTF_8));
+            });
+
+    invocationInterface =
+        new UndertowInvocationInterface(
+            54321,
+            "localhost",
+            UndertowServerConfiguration.fromAvailableResources()
+                .withInvocationTimeout(Duration.ofMillis(200)));
+
+    invocationInterface.start(runawayFunction);
+
+    Response response = client.newCall(makeJsonRequest("{}")).execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.GATEWAY_TIME_OUT)));
+    assertThat(response.header("content-type"), is(equalTo("application/json")));
+    assertThat(
+        response.body().string(), is(equalTo("\"Function did not complete within 200ms!\"")));
+
+    String extraInfo = URLDecoder.decode(response.header("x-extra-info"), "UTF-8");
+    assertThat(extraInfo, containsString("\"statusCode\":504"));
+    assertThat(extraInfo, containsString("\"isFunctionError\":true"));
+    assertThat(extraInfo, containsString("\"execTimeMs\":200"));
+
+    assertThat(functionInterrupted.await(10, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void testInvocationTimeoutFromCloudEventExtension() throws Exception {
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+        slowFunction = mock(ProjectFunction.class);
+    when(slowFunction.getName()).thenReturn("Slow function");
+    when(slowFunction.apply(any()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(30000);
+              return new SalesforceFunctionResult(
+                  MediaType.JSON_UTF_8, "\"Too late!\"".getBytes(StandardCharsets.UTF_8));
+            });
+
+    invocationInterface.start(slowFunction);
+
+    Response response =
+        client
+            .newCall(makeJsonRequest("{}").newBuilder().header("ce-sftimeoutms", "100").build())
+            .execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.GATEWAY_TIME_OUT)));
+    assertThat(
+        response.body().string(), is(equalTo("\"Function did not complete within 100ms!\"")));
+  }
+
+  @Test
+  public void testInvocationWithinTimeout() throws Exception {
+    invocationInterface =
+        new UndertowInvocationInterface(
+            54321,
+            "localhost",
+            UndertowServerConfiguration.fromAvailableResources()
+                .withInvocationTimeout(Duration.ofSeconds(10)));
+
+    invocationInterface.start(helloWorldFunction);
+
+    for (int i = 0; i < 3; i++) {
+      Response response = client.newCall(makeJsonRequest("{}")).execute();
+      assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+      assertThat(response.body().string(), is(equalTo("\"Hello World!\"")));
+    }
+  }
+
+  @Test
+  public void testFunctionResultIsPassedThroughUnmodified() throws Exception {
+    // Re-serializing this with Gson would HTML-escape the angle brackets and drop the whitespace.
+    String json = "{ \"html\": \"<b>Hello World!</b>\" }";
+
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException> function =
+        mock(ProjectFunction.class);
+    when(function.getName()).thenReturn("Pass-through function");
+    when(function.apply(any()))
+        .thenReturn(
+            new SalesforceFunctionResult(
+                MediaType.JSON_UTF_8, json.getBytes(StandardCharsets.UTF_8)));
+
+    invocationInterface.start(function);
+
+    Response response = client.newCall(makeJsonRequest("{}")).execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(response.header("content-type"), is(equalTo("application/json")));
+    assertThat(response.body().string(), is(equalTo(json)));
+  }
+
+  @Test
+  public void testNonJsonFunctionResult() throws Exception {
+    byte[] data = new byte[] {(byte) 0xa1, 0x61, 0x61, 0x01};
+
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException> function =
+        mock(ProjectFunction.class);
+    when(function.getName()).thenReturn("CBOR function");
+    when(function.apply(any()))
+        .thenReturn(new SalesforceFunctionResult(MediaType.create("application", "cbor"), data));
+
+    invocationInterface.start(function);
+
+    Response response = client.newCall(makeJsonRequest("{}")).execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(response.header("content-type"), is(equalTo("application/cbor")));
+    assertThat(response.body().bytes(), is(equalTo(data)));
+  }
+
+  @Test
+  public void testOctetStreamFunctionResult() throws Exception {
+    byte[] data = new byte[] {0x00, 0x01, (byte) 0xfe, (byte) 0xff};
+
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException> function =
+        mock(ProjectFunction.class);
+    when(function.getName()).thenReturn("Octet stream function");
+    when(function.apply(any()))
+        .thenReturn(new SalesforceFunctionResult(MediaType.OCTET_STREAM, data));
+
+    invocationInterface.start(function);
+
+    Response response = client.newCall(makeJsonRequest("{}")).execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(response.header("content-type"), is(equalTo("application/octet-stream")));
+    assertThat(response.body().bytes(), is(equalTo(data)));
+  }
+
+  @Test
+  public void testResultIsReleasedAfterResponse() throws Exception {
+    CountDownLatch released = new CountDownLatch(1);
+
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException> function =
+        mock(ProjectFunction.class);
+    when(function.getName()).thenReturn("Pooled result function");
+    when(function.apply(any()))
+        .thenReturn(
+            new SalesforceFunctionResult(
+                MediaType.JSON_UTF_8,
+                ByteBuffer.wrap("\"pooled\"".getBytes(StandardCharsets.UTF_8)),
+                released::countDown));
+
+    invocationInterface.start(function);
+
+    Response response = client.newCall(makeJsonRequest("{}")).execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(response.body().string(), is(equalTo("\"pooled\"")));
+    assertThat(released.await(5, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void testLargeChunkedRequestBody() throws Exception {
+    ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
+        byteCountFunction = mock(ProjectFunction.class);
+    when(byteCountFunction.getName()).thenReturn("Byte count function");
+    when(byteCountFunction.apply(any()))
+        .thenAnswer(
+            invocation -> {
+              CloudEvent cloudEvent = invocation.getArgument(0);
+              return new SalesforceFunctionResult(
+                  MediaType.JSON_UTF_8,
+                  String.valueOf(cloudEvent.getData().toBytes().length)
+                      .getBytes(StandardCharsets.UTF_8));
+            });
+
+    invocationInterface.start(byteCountFunction);
+
+    // Larger than Undertow's default buffer size to ensure the body is read in multiple chunks.
+    final byte[] body = new byte[1024 * 1024];
+    Arrays.fill(body, (byte) 'a');
+
+    // A body with an unknown content length forces chunked transfer encoding.
+    RequestBody chunkedBody =
+        new RequestBody() {
+          @Override
+          public okhttp3.MediaType contentType() {
+            return okhttp3.MediaType.get("application/json");
+          }
+
+          @Override
+          public void writeTo(BufferedSink sink) throws IOException {
+            sink.write(body);
+          }
+        };
+
+    Response response =
+        client.newCall(makeJsonRequest("{}").newBuilder().post(chunkedBody).build()).execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(response.body().string(), is(equalTo(String.valueOf(body.length))));
   }
 
   @Test
@@ -166,7 +667,7 @@ public class UndertowInvocationInterfaceTest {
     assertThat(response.header("content-type"), is(equalTo("application/json")));
     assertThat(
         response.body().string(),
-        is(equalTo("\"Function returned non-JSON data which is unsupported!\"")));
+        is(equalTo("\"Function returned data of unsupported media type image/*!\"")));
   }
 
   @Test
@@ -226,6 +727,19 @@ public class UndertowInvocationInterfaceTest {
         response.body().string(), is(equalTo("\"Could not marshall function result: Test\"")));
   }
 
+  @Test
+  public void testPayloadMarshallingExceptionWithoutCauseInvocation() throws Exception {
+    invocationInterface.start(
+        makeThrowingFunctionMock(new FunctionResultMarshallingException("Unexpected type!")));
+
+    Response response = client.newCall(makeJsonRequest("{}")).execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.BAD_REQUEST)));
+    assertThat(
+        response.body().string(),
+        is(equalTo("\"Could not marshall function result: Unexpected type!\"")));
+  }
+
   @Test
   public void testSdkInitializationExceptionInvocation() throws Exception {
     invocationInterface.start(makeThrowingFunctionMock(new SdkInitializationException()));
@@ -274,6 +788,61 @@ public class UndertowInvocationInterfaceTest {
         response.body().string(), is(equalTo("\"Unknown error while executing function: Test\"")));
   }
 
+  @Test
+  public void testStructuredModeCloudEvent() throws Exception {
+    invocationInterface.start(helloWorldFunction);
+
+    String structuredCloudEvent =
+        "{\"specversion\":\"1.0\",\"id\":\"1644e6abe39e21f0163abd2e\","
+            + "\"source\":\"urn:event:invoke:test\","
+            + "\"type\":\"com.salesforce.function.invoke.sync\","
+            + "\"datacontenttype\":\"application/json\",\"data\":{\"foo\":\"bar\"}}";
+
+    Response response =
+        client
+            .newCall(
+                new Request.Builder()
+                    .url("http://localhost:54321")
+                    .post(
+                        RequestBody.create(
+                            structuredCloudEvent,
+                            okhttp3.MediaType.get("application/cloudevents+json")))
+                    .build())
+            .execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.OK)));
+    assertThat(response.body().string(), is(equalTo("\"Hello World!\"")));
+
+    verify(helloWorldFunction)
+        .apply(
+            argThat(
+                cloudEvent ->
+                    cloudEvent.getId().equals("1644e6abe39e21f0163abd2e")
+                        && new String(cloudEvent.getData().toBytes(), StandardCharsets.UTF_8)
+                            .equals("{\"foo\":\"bar\"}")));
+  }
+
+  @Test
+  public void testMalformedStructuredModeCloudEvent() throws Exception {
+    invocationInterface.start(helloWorldFunction);
+
+    Response response =
+        client
+            .newCall(
+                new Request.Builder()
+                    .url("http://localhost:54321")
+                    .post(
+                        RequestBody.create(
+                            "{\"specversion\":\"1.0\"",
+                            okhttp3.MediaType.get("application/cloudevents+json")))
+                    .build())
+            .execute();
+
+    assertThat(response.code(), is(equalTo(StatusCodes.BAD_REQUEST)));
+    assertThat(response.body().string(), startsWith("\"Could not parse CloudEvent: "));
+    verify(helloWorldFunction, never()).apply(any());
+  }
+
   private static ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
       makeThrowingFunctionMock(Throwable t) {
     ProjectFunction<CloudEvent, SalesforceFunctionResult, SalesforceFunctionException>
@@ -284,6 +853,24 @@ public class UndertowInvocationInterfaceTest {
     return functionMock;
   }
 
+  private static UndertowInvocationInterface makeMetricsInvocationInterface() {
+    return new UndertowInvocationInterface(
+        54321,
+        "localhost",
+        UndertowServerConfiguration.fromAvailableResources().withMetricsEnabled(true));
+  }
+
+  private CompletableFuture<String> executeAsync(Request request) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try (Response response = client.newCall(request).execute()) {
+            return response.code() + " " + response.body().string();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
   private static Request makeJsonRequest(String body) {
     return makeRequest(body, "application/json");
   }
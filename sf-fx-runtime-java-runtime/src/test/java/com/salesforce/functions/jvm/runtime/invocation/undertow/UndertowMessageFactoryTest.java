@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.http.HttpMessageFactory;
+import io.cloudevents.rw.CloudEventRWException;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HttpString;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class UndertowMessageFactoryTest {
+  private static final byte[] BODY = "{\"foo\":\"bar\"}".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void testBinaryModeMatchesHttpMessageFactory() {
+    HeaderMap headers = new HeaderMap();
+    headers.put(HttpString.tryFromString("Content-Type"), "application/json");
+    headers.put(HttpString.tryFromString("CE-SpecVersion"), "1.0");
+    headers.put(HttpString.tryFromString("ce-id"), "1644e6abe39e21f0163abd2e");
+    headers.put(HttpString.tryFromString("ce-source"), "urn:event:invoke:test");
+    headers.put(HttpString.tryFromString("Ce-Type"), "com.salesforce.function.invoke.sync");
+    headers.put(HttpString.tryFromString("ce-time"), "2021-05-31T20:20:20.297915Z");
+    headers.put(HttpString.tryFromString("ce-sfcontext"), "c2Zjb250ZXh0");
+    headers.put(HttpString.tryFromString("ce-"), "ignored");
+    headers.put(HttpString.tryFromString("x-request-id"), "ignored");
+
+    CloudEvent cloudEvent = UndertowMessageFactory.createReader(headers, BODY).toEvent();
+
+    assertThat(cloudEvent, is(equalTo(readWithHttpMessageFactory(headers, BODY))));
+    assertThat(cloudEvent.getId(), is(equalTo("1644e6abe39e21f0163abd2e")));
+    assertThat(cloudEvent.getType(), is(equalTo("com.salesforce.function.invoke.sync")));
+    assertThat(cloudEvent.getDataContentType(), is(equalTo("application/json")));
+    assertThat(cloudEvent.getExtension("sfcontext"), is(equalTo("c2Zjb250ZXh0")));
+    assertThat(cloudEvent.getExtensionNames(), not(hasItem("")));
+    assertThat(cloudEvent.getData().toBytes(), is(sameInstance(BODY)));
+  }
+
+  @Test
+  public void testBinaryModeWithoutBody() {
+    HeaderMap headers = makeBinaryHeaders();
+
+    CloudEvent cloudEvent = UndertowMessageFactory.createReader(headers, new byte[0]).toEvent();
+
+    assertThat(cloudEvent.getData(), is(nullValue()));
+    assertThat(cloudEvent, is(equalTo(readWithHttpMessageFactory(headers, new byte[0]))));
+  }
+
+  @Test
+  public void testStructuredMode() {
+    HeaderMap headers = new HeaderMap();
+    headers.put(
+        HttpString.tryFromString("Content-Type"), "application/cloudevents+json; charset=utf-8");
+
+    byte[] body =
+        ("{\"specversion\":\"1.0\",\"id\":\"1234\",\"source\":\"urn:event:invoke:test\","
+                + "\"type\":\"com.salesforce.function.invoke.sync\","
+                + "\"datacontenttype\":\"application/json\",\"sfcontext\":\"c2Zjb250ZXh0\","
+                + "\"data\":{\"foo\":\"bar\"}}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    CloudEvent cloudEvent = UndertowMessageFactory.createReader(headers, body).toEvent();
+
+    assertThat(cloudEvent.getId(), is(equalTo("1234")));
+    assertThat(cloudEvent.getSource(), is(equalTo(URI.create("urn:event:invoke:test"))));
+    assertThat(cloudEvent.getExtension("sfcontext"), is(equalTo("c2Zjb250ZXh0")));
+    assertThat(cloudEvent.getData().toBytes(), is(equalTo(BODY)));
+  }
+
+  @Test(expected = CloudEventRWException.class)
+  public void testUnknownEncoding() {
+    HeaderMap headers = new HeaderMap();
+    headers.put(HttpString.tryFromString("Content-Type"), "application/json");
+
+    UndertowMessageFactory.createReader(headers, BODY);
+  }
+
+  private static HeaderMap makeBinaryHeaders() {
+    HeaderMap headers = new HeaderMap();
+    headers.put(HttpString.tryFromString("ce-specversion"), "1.0");
+    headers.put(HttpString.tryFromString("ce-id"), "1234");
+    headers.put(HttpString.tryFromString("ce-source"), "urn:event:invoke:test");
+    headers.put(HttpString.tryFromString("ce-type"), "com.salesforce.function.invoke.sync");
+    return headers;
+  }
+
+  private static CloudEvent readWithHttpMessageFactory(HeaderMap headerMap, byte[] body) {
+    Map<String, List<String>> headers = new HashMap<>();
+    headerMap.forEach(
+        headerValues ->
+            headers.put(headerValues.getHeaderName().toString(), new ArrayList<>(headerValues)));
+
+    return HttpMessageFactory.createReaderFromMultimap(headers, body).toEvent();
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.Duration;
+import org.junit.Test;
+
+public class UndertowServerConfigurationTest {
+  private static final long MEBIBYTE = 1024 * 1024;
+
+  @Test
+  public void testSmallDyno() {
+    UndertowServerConfiguration configuration =
+        UndertowServerConfiguration.fromResources(1, 256 * MEBIBYTE);
+
+    assertThat(configuration.getIoThreads(), is(equalTo(2)));
+    assertThat(configuration.getWorkerThreads(), is(equalTo(16)));
+    assertThat(configuration.getBufferSize(), is(equalTo(16364)));
+    assertThat(configuration.isDirectBuffers(), is(true));
+    assertThat(configuration.getBacklog(), is(equalTo(1000)));
+    assertThat(configuration.isHttp2Enabled(), is(false));
+    assertThat(configuration.isVirtualThreadsEnabled(), is(false));
+    assertThat(configuration.getMaxConcurrentInvocations(), is(equalTo(0)));
+    assertThat(configuration.getMaxQueuedInvocations(), is(equalTo(100)));
+    assertThat(configuration.isAdaptiveConcurrencyLimitEnabled(), is(false));
+    assertThat(configuration.getInvocationTimeout(), is(equalTo(Duration.ZERO)));
+    assertThat(configuration.isMetricsEnabled(), is(false));
+  }
+
+  @Test
+  public void testWorkerThreadsAreBoundByMemory() {
+    UndertowServerConfiguration configuration =
+        UndertowServerConfiguration.fromResources(16, 512 * MEBIBYTE);
+
+    assertThat(configuration.getIoThreads(), is(equalTo(16)));
+    assertThat(configuration.getWorkerThreads(), is(equalTo(32)));
+  }
+
+  @Test
+  public void testWorkerThreadsAreAtLeastIoThreads() {
+    UndertowServerConfiguration configuration =
+        UndertowServerConfiguration.fromResources(8, 32 * MEBIBYTE);
+
+    assertThat(configuration.getWorkerThreads(), is(equalTo(8)));
+    assertThat(configuration.getBufferSize(), is(equalTo(512)));
+    assertThat(configuration.isDirectBuffers(), is(false));
+  }
+
+  @Test
+  public void testWorkerThreadsAreBoundByCpus() {
+    UndertowServerConfiguration configuration =
+        UndertowServerConfiguration.fromResources(4, 16 * 1024 * MEBIBYTE);
+
+    assertThat(configuration.getWorkerThreads(), is(equalTo(32)));
+  }
+
+  @Test
+  public void testMediumHeap() {
+    UndertowServerConfiguration configuration =
+        UndertowServerConfiguration.fromResources(2, 100 * MEBIBYTE);
+
+    assertThat(configuration.getBufferSize(), is(equalTo(1024)));
+    assertThat(configuration.isDirectBuffers(), is(true));
+  }
+
+  @Test
+  public void testWithers() {
+    UndertowServerConfiguration configuration =
+        UndertowServerConfiguration.fromResources(1, 256 * MEBIBYTE)
+            .withIoThreads(3)
+            .withWorkerThreads(7)
+            .withBufferSize(4096)
+            .withDirectBuffers(false)
+            .withBacklog(50)
+            .withHttp2Enabled(true)
+            .withVirtualThreadsEnabled(true)
+            .withMaxConcurrentInvocations(8)
+            .withMaxQueuedInvocations(4)
+            .withAdaptiveConcurrencyLimitEnabled(true)
+            .withInvocationTimeout(Duration.ofSeconds(5))
+            .withMetricsEnabled(true);
+
+    assertThat(configuration.getIoThreads(), is(equalTo(3)));
+    assertThat(configuration.getWorkerThreads(), is(equalTo(7)));
+    assertThat(configuration.getBufferSize(), is(equalTo(4096)));
+    assertThat(configuration.isDirectBuffers(), is(false));
+    assertThat(configuration.getBacklog(), is(equalTo(50)));
+    assertThat(configuration.isHttp2Enabled(), is(true));
+    assertThat(configuration.isVirtualThreadsEnabled(), is(true));
+    assertThat(configuration.getMaxConcurrentInvocations(), is(equalTo(8)));
+    assertThat(configuration.getMaxQueuedInvocations(), is(equalTo(4)));
+    assertThat(configuration.isAdaptiveConcurrencyLimitEnabled(), is(true));
+    assertThat(configuration.getInvocationTimeout(), is(equalTo(Duration.ofSeconds(5))));
+    assertThat(configuration.isMetricsEnabled(), is(true));
+  }
+}
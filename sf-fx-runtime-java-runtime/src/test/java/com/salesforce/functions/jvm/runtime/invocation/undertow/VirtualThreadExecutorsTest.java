@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.invocation.undertow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+
+public class VirtualThreadExecutorsTest {
+
+  @Test
+  public void testAvailability() throws Exception {
+    Optional<ExecutorService> executor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+
+    boolean supported;
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      supported = true;
+    } catch (Exception e) {
+      supported = false;
+    }
+
+    assertThat(executor.isPresent(), is(equalTo(supported)));
+    executor.ifPresent(ExecutorService::shutdown);
+  }
+
+  @Test
+  public void testTasksAreExecuted() throws Exception {
+    Optional<ExecutorService> executor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+
+    if (executor.isPresent()) {
+      assertThat(executor.get().submit(() -> "Hello World!").get(), is(equalTo("Hello World!")));
+      executor.get().shutdown();
+    }
+  }
+}
@@ -16,8 +16,11 @@ import com.google.gson.JsonSyntaxException;
 import com.google.gson.annotations.JsonAdapter;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonDeserializationException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonSerializationException;
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Test;
 
 public class GsonReflectionJsonLibraryTest {
@@ -45,6 +48,41 @@ public class GsonReflectionJsonLibraryTest {
     assertThat(((TestClass) testClass).getFoo(), is(equalTo("bar")));
   }
 
+  @Test(expected = JsonDeserializationException.class)
+  public void testDeserializationWithMissingPath() throws Exception {
+    JsonLibrary jsonLibrary = new GsonReflectionJsonLibrary(getClass().getClassLoader());
+    jsonLibrary.deserializeAt("{\"inner\": {\"foo\": \"bar\"}}", TestClass.class, "outer");
+  }
+
+  @Test
+  public void testDeserializationFromBytes() throws Exception {
+    JsonLibrary jsonLibrary = new GsonReflectionJsonLibrary(getClass().getClassLoader());
+    Object testClass =
+        jsonLibrary.deserialize(
+            "{\"foo\": \"Hello 👋🏻!\"}".getBytes(StandardCharsets.UTF_8), TestClass.class);
+
+    assertThat(((TestClass) testClass).getFoo(), is(equalTo("Hello 👋🏻!")));
+  }
+
+  @Test
+  public void testListDeserializationFromBytes() throws Exception {
+    JsonLibrary jsonLibrary = new GsonReflectionJsonLibrary(getClass().getClassLoader());
+    Object testClassList =
+        jsonLibrary.deserialize(
+            "[{\"foo\": \"one\"},{\"foo\": \"two\"}]".getBytes(StandardCharsets.UTF_8),
+            new ListParameterizedType(TestClass.class));
+
+    assertThat(
+        (List<Object>) testClassList,
+        contains(hasProperty("foo", equalTo("one")), hasProperty("foo", equalTo("two"))));
+  }
+
+  @Test(expected = JsonDeserializationException.class)
+  public void testDeserializationFromBytesExceptionWrapping() throws Exception {
+    JsonLibrary jsonLibrary = new GsonReflectionJsonLibrary(getClass().getClassLoader());
+    jsonLibrary.deserialize("{\"foo: \"bar\"}".getBytes(StandardCharsets.UTF_8), TestClass.class);
+  }
+
   @Test
   public void testPojoListDeserialization() throws Exception {
     JsonLibrary jsonLibrary = new GsonReflectionJsonLibrary(getClass().getClassLoader());
@@ -73,6 +111,33 @@ public class GsonReflectionJsonLibraryTest {
     assertThat((List<Object>) testClass, hasItems(equalTo("foo"), equalTo("foo"), equalTo("foo")));
   }
 
+  @Test
+  public void testSerializationToStream() throws Exception {
+    JsonLibrary jsonLibrary = new GsonReflectionJsonLibrary(getClass().getClassLoader());
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    jsonLibrary.serialize(new TestClass("Hello 👋🏻!"), outputStream);
+
+    assertThat(
+        outputStream.toByteArray(),
+        is(equalTo("{\"foo\":\"Hello 👋🏻!\"}".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  public void testSerializationToStreamDoesNotCloseStream() throws Exception {
+    JsonLibrary jsonLibrary = new GsonReflectionJsonLibrary(getClass().getClassLoader());
+    AtomicBoolean closed = new AtomicBoolean(false);
+    ByteArrayOutputStream outputStream =
+        new ByteArrayOutputStream() {
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+
+    jsonLibrary.serialize(new TestClass("baar"), outputStream);
+    assertThat(closed.get(), is(false));
+  }
+
   @Test
   public void testSerialization() throws Exception {
     JsonLibrary jsonLibrary = new GsonReflectionJsonLibrary(getClass().getClassLoader());
@@ -15,7 +15,10 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonDeserializationException;
 import com.salesforce.functions.jvm.runtime.json.exception.JsonSerializationException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Test;
 
 public class JacksonReflectionJsonLibraryTest {
@@ -36,6 +39,35 @@ public class JacksonReflectionJsonLibraryTest {
     assertThat(((TestClass) testClass).getFoo(), is(equalTo("bar")));
   }
 
+  @Test
+  public void testDeserializationFromBytes() throws Exception {
+    JsonLibrary jsonLibrary = new JacksonReflectionJsonLibrary(getClass().getClassLoader());
+    Object testClass =
+        jsonLibrary.deserialize(
+            "{\"foo\": \"Hello 👋🏻!\"}".getBytes(StandardCharsets.UTF_8), TestClass.class);
+
+    assertThat(((TestClass) testClass).getFoo(), is(equalTo("Hello 👋🏻!")));
+  }
+
+  @Test
+  public void testListDeserializationFromBytes() throws Exception {
+    JsonLibrary jsonLibrary = new JacksonReflectionJsonLibrary(getClass().getClassLoader());
+    Object testClassList =
+        jsonLibrary.deserialize(
+            "[{\"foo\": \"one\"},{\"foo\": \"two\"}]".getBytes(StandardCharsets.UTF_8),
+            new ListParameterizedType(TestClass.class));
+
+    assertThat(
+        (List<Object>) testClassList,
+        contains(hasProperty("foo", equalTo("one")), hasProperty("foo", equalTo("two"))));
+  }
+
+  @Test(expected = JsonDeserializationException.class)
+  public void testDeserializationFromBytesExceptionWrapping() throws Exception {
+    JsonLibrary jsonLibrary = new JacksonReflectionJsonLibrary(getClass().getClassLoader());
+    jsonLibrary.deserialize("{\"foo: \"bar\"}".getBytes(StandardCharsets.UTF_8), TestClass.class);
+  }
+
   @Test
   public void testPojoListDeserialization() throws Exception {
     JsonLibrary jsonLibrary = new JacksonReflectionJsonLibrary(getClass().getClassLoader());
@@ -64,6 +96,53 @@ public class JacksonReflectionJsonLibraryTest {
     assertThat((List<Object>) testClass, hasItems(equalTo("foo"), equalTo("foo"), equalTo("foo")));
   }
 
+  @Test
+  public void testRepeatedDeserializationOfDifferentTypes() throws Exception {
+    JsonLibrary jsonLibrary = new JacksonReflectionJsonLibrary(getClass().getClassLoader());
+
+    for (int i = 0; i < 3; i++) {
+      Object testClass =
+          jsonLibrary.deserializeAt("{\"inner\": {\"foo\": \"bar\"}}", TestClass.class, "inner");
+      assertThat(((TestClass) testClass).getFoo(), is(equalTo("bar")));
+
+      Object testClassList =
+          jsonLibrary.deserializeAt(
+              "[{\"foo\": \"one\"}]", new ListParameterizedType(TestClass.class));
+      assertThat((List<Object>) testClassList, contains(hasProperty("foo", equalTo("one"))));
+
+      Object stringList =
+          jsonLibrary.deserializeAt("[\"foo\"]", new ListParameterizedType(String.class));
+      assertThat((List<Object>) stringList, contains(equalTo("foo")));
+    }
+  }
+
+  @Test
+  public void testSerializationToStream() throws Exception {
+    JsonLibrary jsonLibrary = new JacksonReflectionJsonLibrary(getClass().getClassLoader());
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    jsonLibrary.serialize(new TestClass("Hello 👋🏻!"), outputStream);
+
+    assertThat(
+        outputStream.toByteArray(),
+        is(equalTo("{\"foo\":\"Hello 👋🏻!\"}".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  public void testSerializationToStreamDoesNotCloseStream() throws Exception {
+    JsonLibrary jsonLibrary = new JacksonReflectionJsonLibrary(getClass().getClassLoader());
+    AtomicBoolean closed = new AtomicBoolean(false);
+    ByteArrayOutputStream outputStream =
+        new ByteArrayOutputStream() {
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+
+    jsonLibrary.serialize(new TestClass("baar"), outputStream);
+    assertThat(closed.get(), is(false));
+  }
+
   @Test
   public void testSerialization() throws Exception {
     JsonLibrary jsonLibrary = new JacksonReflectionJsonLibrary(getClass().getClassLoader());
@@ -6,9 +6,14 @@
  */
 package com.salesforce.functions.jvm.runtime.json;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.gson.annotations.SerializedName;
 import com.salesforce.functions.jvm.runtime.json.exception.AmbiguousJsonLibraryException;
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -38,6 +43,15 @@ public class JsonLibraryDetectorTest {
     }
   }
 
+  @Test
+  public void testNestedJacksonJsonLibrary() throws Exception {
+    JsonLibrary lib = JsonLibraryDetector.detect(NestedJacksonJsonClass.class);
+    if (!(lib instanceof JacksonReflectionJsonLibrary)) {
+      Assert.fail(
+          "Expected JacksonReflectionJsonLibrary for classes with nested Jackson annotations");
+    }
+  }
+
   @Test(expected = AmbiguousJsonLibraryException.class)
   public void testAmbiguousJsonLibrary() throws Exception {
     JsonLibraryDetector.detect(AmbiguousJsonClass.class);
@@ -51,11 +65,39 @@ public class JsonLibraryDetectorTest {
     }
   }
 
+  @Test
+  public void testDetectionIsCached() throws Exception {
+    assertThat(
+        JsonLibraryDetector.detect(JacksonJsonClass.class),
+        is(sameInstance(JsonLibraryDetector.detect(JacksonJsonClass.class))));
+
+    assertThat(
+        JsonLibraryDetector.detect(
+            new ListParameterizedType(GsonJsonClass.class), getClass().getClassLoader()),
+        is(
+            sameInstance(
+                JsonLibraryDetector.detect(
+                    new ListParameterizedType(GsonJsonClass.class), getClass().getClassLoader()))));
+  }
+
+  @Test
+  public void testLibrariesAreSharedPerClassLoader() throws Exception {
+    assertThat(
+        JsonLibraryDetector.detect(JacksonJsonClass.class),
+        is(sameInstance(JsonLibraryDetector.detect(OtherJacksonJsonClass.class))));
+
+    assertThat(
+        JsonLibraryDetector.detect(GenericJsonClass.class),
+        is(sameInstance(JsonLibraryDetector.detect(String.class))));
+  }
+
+  @SuppressWarnings("unused")
   private static class GenericJsonClass {
     private String value1;
     private int value2;
   }
 
+  @SuppressWarnings("unused")
   private static class JacksonJsonClass {
     private String value1;
 
@@ -63,6 +105,18 @@ public class JsonLibraryDetectorTest {
     private int value2;
   }
 
+  @SuppressWarnings("unused")
+  private static class OtherJacksonJsonClass {
+    @JsonProperty("value")
+    private String value;
+  }
+
+  @SuppressWarnings("unused")
+  private static class NestedJacksonJsonClass {
+    private List<JacksonJsonClass> values;
+  }
+
+  @SuppressWarnings("unused")
   private static class GsonJsonClass {
     private String value1;
 
@@ -70,6 +124,7 @@ public class JsonLibraryDetectorTest {
     private int value2;
   }
 
+  @SuppressWarnings("unused")
   private static class AmbiguousJsonClass {
     @JsonProperty("valueOne")
     private String value1;
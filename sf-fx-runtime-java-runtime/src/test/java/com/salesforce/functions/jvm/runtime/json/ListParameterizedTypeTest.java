@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.json;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import org.junit.Test;
+
+public class ListParameterizedTypeTest {
+
+  @Test
+  public void testEquals() {
+    assertThat(
+        new ListParameterizedType(String.class),
+        is(equalTo(new ListParameterizedType(String.class))));
+    assertThat(
+        new ListParameterizedType(String.class),
+        is(not(equalTo(new ListParameterizedType(Integer.class)))));
+  }
+
+  @Test
+  public void testEqualsReflectionType() throws Exception {
+    Type reflectionType = getClass().getDeclaredField("stringList").getGenericType();
+
+    assertThat(new ListParameterizedType(String.class), is(equalTo(reflectionType)));
+    assertThat(reflectionType, is(equalTo(new ListParameterizedType(String.class))));
+    assertThat(
+        new ListParameterizedType(String.class).hashCode(), is(equalTo(reflectionType.hashCode())));
+  }
+
+  @SuppressWarnings("unused")
+  private List<String> stringList;
+}
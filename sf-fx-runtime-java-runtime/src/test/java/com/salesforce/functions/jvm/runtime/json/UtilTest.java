@@ -9,11 +9,19 @@ package com.salesforce.functions.jvm.runtime.json;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.io.ByteStreams;
 import io.leangen.geantyref.AnnotationFormatException;
 import io.leangen.geantyref.TypeFactory;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +43,102 @@ public class UtilTest {
             equalTo(createAnnotation(Bar.class, "privateMethod"))));
   }
 
+  @Test
+  public void testTypeContainsAnnotationFromPackage() {
+    Package annotationsPackage = JsonProperty.class.getPackage();
+
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(Annotated.class, annotationsPackage), is(true));
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(NotAnnotated.class, annotationsPackage), is(false));
+    assertThat(Util.typeContainsAnnotationFromPackage(String.class, annotationsPackage), is(false));
+    assertThat(Util.typeContainsAnnotationFromPackage(int[].class, annotationsPackage), is(false));
+  }
+
+  @Test
+  public void testTypeContainsAnnotationFromPackageNested() throws Exception {
+    Package annotationsPackage = JsonProperty.class.getPackage();
+
+    for (String fieldName : new String[] {"field", "list", "array", "genericArray", "map"}) {
+      assertThat(
+          fieldName,
+          Util.typeContainsAnnotationFromPackage(
+              NestedAnnotated.class.getDeclaredField(fieldName).getGenericType(),
+              annotationsPackage),
+          is(true));
+    }
+
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(NestedAnnotated.class, annotationsPackage),
+        is(true));
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(
+            new ListParameterizedType(NestedAnnotated.class), annotationsPackage),
+        is(true));
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(SubclassOfAnnotated.class, annotationsPackage),
+        is(true));
+  }
+
+  @Test
+  public void testTypeContainsAnnotationFromPackageCycles() {
+    Package annotationsPackage = JsonProperty.class.getPackage();
+
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(CyclicNotAnnotated.class, annotationsPackage),
+        is(false));
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(CyclicAnnotated.class, annotationsPackage),
+        is(true));
+  }
+
+  @Test
+  public void testTypeContainsAnnotationFromPackageIgnoresOtherCodeSources() throws Exception {
+    Package annotationsPackage = JsonProperty.class.getPackage();
+    ProtectionDomain projectProtectionDomain = UtilTest.class.getProtectionDomain();
+    ProtectionDomain libraryProtectionDomain =
+        new ProtectionDomain(
+            new CodeSource(new URL("file:/library.jar"), (Certificate[]) null), null);
+
+    Map<Class<?>, ProtectionDomain> libraryClasses = new HashMap<>();
+    libraryClasses.put(PayloadWithLibraryField.class, projectProtectionDomain);
+    libraryClasses.put(Annotated.class, libraryProtectionDomain);
+
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(
+            new IsolatingClassLoader(libraryClasses).loadClass(PayloadWithLibraryField.class),
+            annotationsPackage),
+        is(false));
+
+    Map<Class<?>, ProtectionDomain> projectClasses = new HashMap<>();
+    projectClasses.put(PayloadWithLibraryField.class, projectProtectionDomain);
+    projectClasses.put(Annotated.class, projectProtectionDomain);
+
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(
+            new IsolatingClassLoader(projectClasses).loadClass(PayloadWithLibraryField.class),
+            annotationsPackage),
+        is(true));
+  }
+
+  @Test
+  public void testTypeContainsAnnotationFromPackageWithMissingDependency() throws Exception {
+    ProtectionDomain projectProtectionDomain = UtilTest.class.getProtectionDomain();
+
+    // MissingDependency is not defined by the class loader, inspecting the fields of
+    // WithMissingDependency fails with a NoClassDefFoundError.
+    Map<Class<?>, ProtectionDomain> classes = new HashMap<>();
+    classes.put(PayloadWithBrokenField.class, projectProtectionDomain);
+    classes.put(WithMissingDependency.class, projectProtectionDomain);
+    classes.put(MissingDependency.class, null);
+
+    assertThat(
+        Util.typeContainsAnnotationFromPackage(
+            new IsolatingClassLoader(classes).loadClass(PayloadWithBrokenField.class),
+            JsonProperty.class.getPackage()),
+        is(false));
+  }
+
   @Retention(RetentionPolicy.RUNTIME)
   public @interface Foo {
     String data();
@@ -59,6 +163,105 @@ public class UtilTest {
     public void privateMethod() {}
   }
 
+  @SuppressWarnings("unused")
+  private static class Annotated {
+    @JsonProperty("value")
+    private String value;
+  }
+
+  @SuppressWarnings("unused")
+  private static class NotAnnotated {
+    private String value;
+    private static Annotated staticField;
+  }
+
+  @SuppressWarnings("unused")
+  private static class NestedAnnotated {
+    private Annotated field;
+    private List<Annotated> list;
+    private Annotated[] array;
+    private List<? extends Annotated>[] genericArray;
+    private Map<String, List<Annotated>> map;
+  }
+
+  private static class SubclassOfAnnotated extends Annotated {}
+
+  @SuppressWarnings("unused")
+  private static class CyclicNotAnnotated {
+    private CyclicNotAnnotated next;
+    private List<CyclicNotAnnotated> children;
+  }
+
+  @SuppressWarnings("unused")
+  private static class CyclicAnnotated {
+    private CyclicAnnotated next;
+    private NestedAnnotated nested;
+  }
+
+  @SuppressWarnings("unused")
+  private static class PayloadWithLibraryField {
+    private Annotated library;
+  }
+
+  private static class MissingDependency {}
+
+  @SuppressWarnings("unused")
+  private static class WithMissingDependency {
+    private MissingDependency dependency;
+  }
+
+  @SuppressWarnings("unused")
+  private static class PayloadWithBrokenField {
+    private String value;
+    private WithMissingDependency library;
+  }
+
+  /**
+   * Defines copies of the given classes with the given protection domains. Classes mapped to null
+   * cannot be loaded, all other classes are loaded by the parent class loader.
+   */
+  private static final class IsolatingClassLoader extends ClassLoader {
+    private final Map<String, ProtectionDomain> protectionDomains = new HashMap<>();
+
+    private IsolatingClassLoader(Map<Class<?>, ProtectionDomain> classes) {
+      super(UtilTest.class.getClassLoader());
+      for (Map.Entry<Class<?>, ProtectionDomain> entry : classes.entrySet()) {
+        protectionDomains.put(entry.getKey().getName(), entry.getValue());
+      }
+    }
+
+    private Class<?> loadClass(Class<?> clazz) throws ClassNotFoundException {
+      return loadClass(clazz.getName());
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!protectionDomains.containsKey(name)) {
+        return super.loadClass(name, resolve);
+      }
+
+      ProtectionDomain protectionDomain = protectionDomains.get(name);
+      if (protectionDomain == null) {
+        throw new ClassNotFoundException(name);
+      }
+
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> clazz = findLoadedClass(name);
+        if (clazz == null) {
+          try (InputStream inputStream =
+              getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+            byte[] bytes = ByteStreams.toByteArray(inputStream);
+            clazz = defineClass(name, bytes, 0, bytes.length, protectionDomain);
+          } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+          }
+        }
+
+        return clazz;
+      }
+    }
+  }
+
   private <A extends Annotation> A createAnnotation(Class<A> clazz, String data)
       throws AnnotationFormatException {
     Map<String, Object> map = new HashMap<>();
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void testBucketIndex() {
+    assertThat(Histogram.bucketIndex(0), is(equalTo(0)));
+    assertThat(Histogram.bucketIndex(1L << 17), is(equalTo(0)));
+    assertThat(Histogram.bucketIndex((1L << 17) + 1), is(equalTo(1)));
+    assertThat(Histogram.bucketIndex(1L << 18), is(equalTo(1)));
+    assertThat(Histogram.bucketIndex(1L << 35), is(equalTo(18)));
+    assertThat(Histogram.bucketIndex((1L << 35) + 1), is(equalTo(19)));
+    assertThat(Histogram.bucketIndex(Long.MAX_VALUE), is(equalTo(19)));
+  }
+
+  @Test
+  public void testObserve() {
+    Histogram histogram = new Histogram("test_seconds", "Test histogram.");
+    Histogram.Child child = histogram.labels();
+
+    child.observeNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    child.observeNanos(TimeUnit.MILLISECONDS.toNanos(3));
+    child.observeNanos(TimeUnit.MINUTES.toNanos(1));
+
+    assertThat(child.getCount(), is(equalTo(3L)));
+    assertThat(
+        child.getSumNanos(),
+        is(equalTo(TimeUnit.MILLISECONDS.toNanos(4) + TimeUnit.MINUTES.toNanos(1))));
+  }
+
+  @Test
+  public void testExposition() {
+    MetricsRegistry registry = new MetricsRegistry();
+    Histogram histogram = registry.histogram("test_seconds", "Test histogram.", "phase");
+
+    histogram.labels("a").observeNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    histogram.labels("a").observeNanos(TimeUnit.MINUTES.toNanos(1));
+
+    String scrape = registry.scrape();
+    assertThat(scrape, containsString("# TYPE test_seconds histogram\n"));
+    // 2^17ns and 2^20ns are the first bucket boundaries below and above one millisecond.
+    assertThat(scrape, containsString("test_seconds_bucket{phase=\"a\",le=\"1.31072E-4\"} 0\n"));
+    assertThat(scrape, containsString("test_seconds_bucket{phase=\"a\",le=\"0.001048576\"} 1\n"));
+    assertThat(scrape, containsString("test_seconds_bucket{phase=\"a\",le=\"+Inf\"} 2\n"));
+    assertThat(scrape, containsString("test_seconds_sum{phase=\"a\"} 60.001\n"));
+    assertThat(scrape, containsString("test_seconds_count{phase=\"a\"} 2\n"));
+  }
+}
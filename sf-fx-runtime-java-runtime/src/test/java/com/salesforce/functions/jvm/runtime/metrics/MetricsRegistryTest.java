@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+  @Test
+  public void testCounter() {
+    MetricsRegistry registry = new MetricsRegistry();
+    Counter counter = registry.counter("requests_total", "Number of requests.", "status");
+
+    counter.labels("200").inc();
+    counter.labels("200").inc();
+    counter.labels("500").inc();
+
+    assertThat(counter.labels("200").get(), is(equalTo(2L)));
+
+    String scrape = registry.scrape();
+    assertThat(scrape, containsString("# HELP requests_total Number of requests.\n"));
+    assertThat(scrape, containsString("# TYPE requests_total counter\n"));
+    assertThat(scrape, containsString("requests_total{status=\"200\"} 2\n"));
+    assertThat(scrape, containsString("requests_total{status=\"500\"} 1\n"));
+  }
+
+  @Test
+  public void testGauge() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.gauge("temperature", "Current temperature.").labels().setSupplier(() -> 21.5);
+
+    assertThat(registry.scrape(), containsString("temperature 21.5\n"));
+  }
+
+  @Test
+  public void testLabelValueEscaping() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("test_total", "Test counter.", "label").labels("a\"b\\c\nd").inc();
+
+    assertThat(registry.scrape(), containsString("test_total{label=\"a\\\"b\\\\c\\nd\"} 1\n"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongNumberOfLabelValues() {
+    new MetricsRegistry().counter("test_total", "Test counter.", "label").labels();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateMetric() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("test_total", "Test counter.");
+    registry.gauge("test_total", "Test gauge.");
+  }
+
+  @Test
+  public void testJvmMetrics() {
+    String scrape = new MetricsRegistry().withJvmMetrics().scrape();
+
+    assertThat(scrape, containsString("jvm_memory_used_bytes{area=\"heap\"} "));
+    assertThat(scrape, containsString("jvm_memory_max_bytes{area=\"nonheap\"} "));
+    assertThat(scrape, containsString("# TYPE jvm_gc_collections gauge\n"));
+    assertThat(scrape, containsString("jvm_threads_current "));
+  }
+}
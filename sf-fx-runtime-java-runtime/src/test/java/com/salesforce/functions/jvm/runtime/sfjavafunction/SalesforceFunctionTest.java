@@ -8,10 +8,14 @@ package com.salesforce.functions.jvm.runtime.sfjavafunction;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.Mockito.*;
 
 import com.google.gson.Gson;
+import com.salesforce.functions.jvm.runtime.cloudevent.MalformedCloudEventExtensionException;
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceCloudEventExtensionParser;
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceContextCloudEventExtension;
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceFunctionContextCloudEventExtension;
@@ -27,6 +31,10 @@ import io.cloudevents.CloudEvent;
 import io.cloudevents.core.v1.CloudEventBuilder;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -75,8 +83,37 @@ public class SalesforceFunctionTest {
         .invoke(
             eq(FUNCTION_INPUT_BYTES),
             eq(CLOUD_EVENT),
-            eq(CONTEXT_EXTENSION),
-            eq(FUNCTION_CONTEXT_EXTENSION));
+            suppliesExtension(CONTEXT_EXTENSION),
+            suppliesExtension(FUNCTION_CONTEXT_EXTENSION));
+  }
+
+  @Test
+  public void testApplyMeasuresPhaseTimings() {
+    when(mockedInvocationWrapper.invoke(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              SalesforceFunction.recordSdkInitializationTime(TimeUnit.MILLISECONDS.toNanos(5));
+              Thread.sleep(20);
+              return FUNCTION_RESULT_OBJECT;
+            });
+
+    SalesforceFunctionResult result = function.apply(CLOUD_EVENT);
+    assertThat(result.getPhaseTimings().isPresent(), is(true));
+
+    InvocationPhaseTimings phaseTimings = result.getPhaseTimings().get();
+    assertThat(phaseTimings.getSdkInitializationTime(), is(equalTo(Duration.ofMillis(5))));
+    assertThat(phaseTimings.getFunctionTime().toMillis(), is(greaterThanOrEqualTo(15L)));
+    assertThat(phaseTimings.getExtensionValidationTime().isNegative(), is(false));
+    assertThat(phaseTimings.getUnmarshallTime().isNegative(), is(false));
+    assertThat(phaseTimings.getMarshallTime().isNegative(), is(false));
+
+    // The SDK initialization time must not leak into the next invocation on the same thread.
+    doReturn(FUNCTION_RESULT_OBJECT)
+        .when(mockedInvocationWrapper)
+        .invoke(any(), any(), any(), any());
+
+    InvocationPhaseTimings nextPhaseTimings = function.apply(CLOUD_EVENT).getPhaseTimings().get();
+    assertThat(nextPhaseTimings.getSdkInitializationTime(), is(equalTo(Duration.ZERO)));
   }
 
   @Test
@@ -127,8 +164,104 @@ public class SalesforceFunctionTest {
         .invoke(
             eq(FUNCTION_INPUT_BYTES),
             eq(CLOUD_EVENT),
-            eq(CONTEXT_EXTENSION),
-            eq(FUNCTION_CONTEXT_EXTENSION));
+            suppliesExtension(CONTEXT_EXTENSION),
+            suppliesExtension(FUNCTION_CONTEXT_EXTENSION));
+  }
+
+  @Test
+  public void testApplyDoesNotDecodeExtensionsUnusedByFunction() {
+    when(mockedInvocationWrapper.invoke(any(), any(), any(), any()))
+        .thenReturn(FUNCTION_RESULT_OBJECT);
+
+    SalesforceFunctionResult result = function.apply(CLOUD_EVENT_WITH_NON_JSON_CONTEXT_EXTENSION);
+    assertThat(result.getData(), is(equalTo(FUNCTION_RESULT_BYTES)));
+  }
+
+  @Test
+  public void testApplyWithNonJsonContextExtensionUsedByFunction() {
+    when(mockedInvocationWrapper.invoke(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Supplier<?> salesforceContext = invocation.getArgument(2);
+              try {
+                return salesforceContext.get();
+              } catch (MalformedCloudEventExtensionException e) {
+                throw new FunctionThrewExceptionException(e, null);
+              }
+            });
+
+    try {
+      function.apply(CLOUD_EVENT_WITH_NON_JSON_CONTEXT_EXTENSION);
+      Assert.fail("Expected MalformedOrMissingSalesforceContextExtensionException!");
+    } catch (MalformedOrMissingSalesforceContextExtensionException e) {
+      // This is the exception we expect, no nothing.
+    }
+  }
+
+  @Test
+  public void testApplyWithNonJsonContextExtensionSwallowedByFunction() {
+    when(mockedInvocationWrapper.invoke(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Supplier<?> salesforceContext = invocation.getArgument(2);
+              try {
+                Object unused = salesforceContext.get();
+              } catch (MalformedCloudEventExtensionException e) {
+                // Functions can catch the exception, the invocation must be rejected regardless.
+              }
+              return FUNCTION_RESULT_OBJECT;
+            });
+
+    try {
+      function.apply(CLOUD_EVENT_WITH_NON_JSON_CONTEXT_EXTENSION);
+      Assert.fail("Expected MalformedOrMissingSalesforceContextExtensionException!");
+    } catch (MalformedOrMissingSalesforceContextExtensionException e) {
+      // This is the exception we expect, no nothing.
+    }
+  }
+
+  @Test
+  public void testApplyReportsExtensionDecodingAsSdkInitialization() {
+    long[] decodingNanos = new long[1];
+    when(mockedInvocationWrapper.invoke(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              // The sffncontext extension is never cached, accessing it always decodes it.
+              Supplier<?> functionContext = invocation.getArgument(3);
+              long startNanoTime = System.nanoTime();
+              Object unused = functionContext.get();
+              decodingNanos[0] = System.nanoTime() - startNanoTime;
+
+              Thread.sleep(20);
+              return FUNCTION_RESULT_OBJECT;
+            });
+
+    InvocationPhaseTimings phaseTimings = function.apply(CLOUD_EVENT).getPhaseTimings().get();
+
+    // Decoding is the only SDK initialization the mocked invocation wrapper performs.
+    assertThat(phaseTimings.getSdkInitializationTime().toNanos(), is(greaterThan(0L)));
+    assertThat(
+        phaseTimings.getSdkInitializationTime().toNanos(), is(lessThanOrEqualTo(decodingNanos[0])));
+    assertThat(phaseTimings.getFunctionTime().toMillis(), is(greaterThanOrEqualTo(20L)));
+  }
+
+  @Test
+  public void testApplyWithNonBase64ContextExtension() {
+    CloudEvent cloudEvent =
+        new CloudEventBuilder(CLOUD_EVENT).withExtension("sfcontext", "not base64!").build();
+
+    try {
+      function.apply(cloudEvent);
+      Assert.fail("Expected MalformedOrMissingSalesforceContextExtensionException!");
+    } catch (MalformedOrMissingSalesforceContextExtensionException e) {
+      // This is the exception we expect, no nothing.
+    }
+
+    verify(mockedInvocationWrapper, Mockito.never()).invoke(any(), any(), any(), any());
+  }
+
+  private static <A> Supplier<A> suppliesExtension(A extension) {
+    return argThat(supplier -> supplier != null && extension.equals(supplier.get()));
   }
 
   private static final SalesforceFunctionContextCloudEventExtension FUNCTION_CONTEXT_EXTENSION =
@@ -196,4 +329,11 @@ public class SalesforceFunctionTest {
               SalesforceCloudEventExtensionParser.serializeSalesforceFunctionContext(
                   FUNCTION_CONTEXT_EXTENSION))
           .build();
+
+  private static final CloudEvent CLOUD_EVENT_WITH_NON_JSON_CONTEXT_EXTENSION =
+      new CloudEventBuilder(CLOUD_EVENT)
+          .withExtension(
+              "sfcontext",
+              Base64.getEncoder().encodeToString("not json".getBytes(StandardCharsets.UTF_8)))
+          .build();
 }
@@ -44,6 +44,7 @@ public class SalesforceFunctionsProjectFunctionsScannerTest extends StdOutAndStd
   private final Path jacksonCoreJarPath;
   private final Path gsonJarPath;
   private final Path jacksonAnnotationsJarPath;
+  private final Path jacksonCborJarPath;
 
   public SalesforceFunctionsProjectFunctionsScannerTest() throws IOException {
     this.sdkJarPath =
@@ -65,6 +66,10 @@ public class SalesforceFunctionsProjectFunctionsScannerTest extends StdOutAndStd
     this.jacksonAnnotationsJarPath =
         Util.downloadFileToTemporary(
             "https://repo1.maven.org/maven2/com/fasterxml/jackson/core/jackson-annotations/2.12.3/jackson-annotations-2.12.3.jar");
+
+    this.jacksonCborJarPath =
+        Util.downloadFileToTemporary(
+            "https://repo1.maven.org/maven2/com/fasterxml/jackson/dataformat/jackson-dataformat-cbor/2.12.3/jackson-dataformat-cbor-2.12.3.jar");
   }
 
   @Test
@@ -102,6 +107,41 @@ public class SalesforceFunctionsProjectFunctionsScannerTest extends StdOutAndStd
     assertThat(systemErrContent.toString(), is(emptyString()));
   }
 
+  @Test
+  public void testGsonPojoIsLimitedToJsonWithBinaryFormatsAvailable() {
+    SalesforceFunctionsProjectFunctionsScanner scanner =
+        new SalesforceFunctionsProjectFunctionsScanner(Constants.DEFAULT_SALESFORCE_API_VERSION);
+
+    // The payload class has a private field and no default constructor. GSON (un)marshalls it
+    // fine, Jackson could not create instances of it.
+    List<Path> paths = new ArrayList<>();
+    paths.add(sdkJarPath);
+    paths.add(jacksonCoreJarPath);
+    paths.add(jacksonDatabindJarPath);
+    paths.add(jacksonAnnotationsJarPath);
+    paths.add(jacksonCborJarPath);
+    paths.add(Paths.get("src", "test", "resources", "sdk-1.0-string-reverse-function"));
+
+    Project mockProject = mock(Project.class);
+    when(mockProject.getTypeName()).thenReturn("Mocked");
+    when(mockProject.getClasspathPaths()).thenReturn(paths);
+
+    List<SalesforceFunction> functions = scanner.scan(mockProject);
+    assertThat(
+        functions,
+        contains(
+            allOf(
+                hasProperty("name", equalTo("com.example.ExampleFunction")),
+                hasProperty("unmarshaller", instanceOf(JsonPayloadUnmarshaller.class)))));
+
+    assertThat(
+        functions
+            .get(0)
+            .apply(
+                cloudEventWithData("{\"value\":\"hello world\"}".getBytes(StandardCharsets.UTF_8))),
+        hasProperty("data", equalTo("\"dlrow olleh\"".getBytes(StandardCharsets.UTF_8))));
+  }
+
   @Test
   public void testSuccessBytesInPojoOutFunction() {
     SalesforceFunctionsProjectFunctionsScanner scanner =
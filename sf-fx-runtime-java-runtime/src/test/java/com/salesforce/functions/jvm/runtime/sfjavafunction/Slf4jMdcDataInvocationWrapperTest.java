@@ -10,10 +10,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.*;
 
+import com.salesforce.functions.jvm.runtime.cloudevent.LazyCloudEventExtension;
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceContextCloudEventExtension;
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceFunctionContextCloudEventExtension;
 import io.cloudevents.CloudEvent;
 import java.util.UUID;
+import java.util.function.Supplier;
 import org.junit.Before;
 import org.junit.Test;
 import org.slf4j.MDC;
@@ -36,11 +38,12 @@ public class Slf4jMdcDataInvocationWrapperTest {
     CloudEvent cloudEvent = mock(CloudEvent.class);
     when(cloudEvent.getId()).thenReturn(cloudEventId);
 
-    SalesforceContextCloudEventExtension contextExtension =
-        mock(SalesforceContextCloudEventExtension.class);
+    Supplier<SalesforceContextCloudEventExtension> contextExtension =
+        LazyCloudEventExtension.of("sfcontext", mock(SalesforceContextCloudEventExtension.class));
 
-    SalesforceFunctionContextCloudEventExtension functionExtension =
-        mock(SalesforceFunctionContextCloudEventExtension.class);
+    Supplier<SalesforceFunctionContextCloudEventExtension> functionExtension =
+        LazyCloudEventExtension.of(
+            "sffncontext", mock(SalesforceFunctionContextCloudEventExtension.class));
 
     Object payload = "payload";
 
@@ -66,11 +69,12 @@ public class Slf4jMdcDataInvocationWrapperTest {
     CloudEvent cloudEvent = mock(CloudEvent.class);
     when(cloudEvent.getId()).thenReturn(cloudEventId);
 
-    SalesforceContextCloudEventExtension contextExtension =
-        mock(SalesforceContextCloudEventExtension.class);
+    Supplier<SalesforceContextCloudEventExtension> contextExtension =
+        LazyCloudEventExtension.of("sfcontext", mock(SalesforceContextCloudEventExtension.class));
 
-    SalesforceFunctionContextCloudEventExtension functionExtension =
-        mock(SalesforceFunctionContextCloudEventExtension.class);
+    Supplier<SalesforceFunctionContextCloudEventExtension> functionExtension =
+        LazyCloudEventExtension.of(
+            "sffncontext", mock(SalesforceFunctionContextCloudEventExtension.class));
 
     Object payload = "payload";
 
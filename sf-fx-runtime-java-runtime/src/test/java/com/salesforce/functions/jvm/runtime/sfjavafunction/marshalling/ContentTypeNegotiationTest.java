@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import static com.spotify.hamcrest.pojo.IsPojo.pojo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.net.MediaType;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.v1.CloudEventBuilder;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ContentTypeNegotiationTest {
+  private final List<JacksonBinaryFormat> formats =
+      JacksonBinaryFormat.detect(getClass().getClassLoader());
+
+  @Test
+  public void testUnmarshallerSelectsByDataContentType() throws Exception {
+    PayloadUnmarshaller unmarshaller = createUnmarshaller();
+    byte[] smileData = new ObjectMapper(new SmileFactory()).writeValueAsBytes(new Pojo("smile"));
+
+    assertThat(
+        unmarshaller.unmarshall(createCloudEvent("application/x-jackson-smile", smileData)),
+        is(pojo(Object.class).withProperty("data", equalTo("smile"))));
+  }
+
+  @Test
+  public void testUnmarshallerFallsBackToDefault() throws Exception {
+    PayloadUnmarshaller unmarshaller = createUnmarshaller();
+    byte[] jsonData = "{\"data\": \"json\"}".getBytes(StandardCharsets.UTF_8);
+
+    for (String dataContentType :
+        new String[] {null, "application/json", "application/json; charset=utf-8", "garbage"}) {
+      assertThat(
+          unmarshaller.unmarshall(createCloudEvent(dataContentType, jsonData)),
+          is(pojo(Object.class).withProperty("data", equalTo("json"))));
+    }
+  }
+
+  @Test
+  public void testUnmarshallerMediaTypeIsDefault() throws Exception {
+    PayloadUnmarshaller unmarshaller = createUnmarshaller();
+
+    assertThat(unmarshaller.getHandledMediaType(), is(equalTo(MediaType.JSON_UTF_8)));
+    assertThat(unmarshaller.getTargetType(), is(equalTo(Pojo.class)));
+  }
+
+  @Test
+  public void testMarshallerSelectsByDataContentType() throws Exception {
+    FunctionResultMarshaller marshaller = createMarshaller();
+
+    SalesforceFunctionResult result =
+        marshaller.marshall(new Pojo("cbor"), createCloudEvent("application/cbor", new byte[0]));
+
+    assertThat(result.getMediaType(), is(equalTo(JacksonBinaryFormat.CBOR)));
+  }
+
+  @Test
+  public void testMarshallerFallsBackToDefault() throws Exception {
+    FunctionResultMarshaller marshaller = createMarshaller();
+
+    SalesforceFunctionResult result =
+        marshaller.marshall(new Pojo("json"), createCloudEvent("application/json", new byte[0]));
+
+    assertThat(result.getMediaType(), is(equalTo(MediaType.JSON_UTF_8)));
+    assertThat(
+        result.getData(), is(equalTo("{\"data\":\"json\"}".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  private PayloadUnmarshaller createUnmarshaller() throws Exception {
+    List<PayloadUnmarshaller> binaryUnmarshallers = new ArrayList<>();
+    for (JacksonBinaryFormat format : formats) {
+      binaryUnmarshallers.add(new JacksonBinaryPayloadUnmarshaller(format, Pojo.class));
+    }
+
+    return new ContentTypeNegotiatingPayloadUnmarshaller(
+        new JsonPayloadUnmarshaller(Pojo.class), binaryUnmarshallers);
+  }
+
+  private FunctionResultMarshaller createMarshaller() throws Exception {
+    List<FunctionResultMarshaller> binaryMarshallers = new ArrayList<>();
+    for (JacksonBinaryFormat format : formats) {
+      binaryMarshallers.add(new JacksonBinaryFunctionResultMarshaller(format, Pojo.class));
+    }
+
+    return new ContentTypeNegotiatingFunctionResultMarshaller(
+        new JsonFunctionResultMarshaller(Pojo.class), binaryMarshallers);
+  }
+
+  private CloudEvent createCloudEvent(String dataContentType, byte[] data) {
+    return new CloudEventBuilder()
+        .withId("id")
+        .withSource(URI.create("urn:foo"))
+        .withType("type")
+        .withData(dataContentType, data)
+        .build();
+  }
+
+  public static class Pojo {
+    private String data;
+
+    public Pojo() {}
+
+    public Pojo(String data) {
+      this.data = data;
+    }
+
+    public String getData() {
+      return data;
+    }
+  }
+}
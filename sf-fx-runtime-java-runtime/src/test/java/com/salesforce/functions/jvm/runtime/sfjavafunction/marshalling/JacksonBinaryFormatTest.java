@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import static com.spotify.hamcrest.pojo.IsPojo.pojo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.common.net.MediaType;
+import com.salesforce.functions.jvm.runtime.json.ListParameterizedType;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.PayloadUnmarshallingException;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.v1.CloudEventBuilder;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class JacksonBinaryFormatTest {
+
+  @Test
+  public void testDetect() {
+    List<MediaType> mediaTypes =
+        JacksonBinaryFormat.detect(getClass().getClassLoader()).stream()
+            .map(JacksonBinaryFormat::getMediaType)
+            .collect(Collectors.toList());
+
+    assertThat(mediaTypes, contains(JacksonBinaryFormat.CBOR, JacksonBinaryFormat.SMILE));
+  }
+
+  @Test
+  public void testDetectWithoutJackson() {
+    ClassLoader classLoader = new ClassLoader(null) {};
+    assertThat(JacksonBinaryFormat.detect(classLoader), is(empty()));
+  }
+
+  @Test
+  public void testUnmarshall() throws Exception {
+    byte[] data =
+        new ObjectMapper(new CBORFactory()).writeValueAsBytes(new Pojo("Hello 👋🏻!", 23));
+
+    PayloadUnmarshaller unmarshaller =
+        new JacksonBinaryPayloadUnmarshaller(getFormat(JacksonBinaryFormat.CBOR), Pojo.class);
+
+    Object result = unmarshaller.unmarshall(createCloudEventWithData(data));
+
+    assertThat(unmarshaller.getHandledMediaType(), is(equalTo(JacksonBinaryFormat.CBOR)));
+    assertThat(
+        result,
+        is(
+            pojo(Object.class)
+                .withProperty("text", equalTo("Hello 👋🏻!"))
+                .withProperty("number", equalTo(23))));
+  }
+
+  @Test(expected = PayloadUnmarshallingException.class)
+  public void testUnmarshallInvalidData() throws Exception {
+    PayloadUnmarshaller unmarshaller =
+        new JacksonBinaryPayloadUnmarshaller(getFormat(JacksonBinaryFormat.CBOR), Pojo.class);
+
+    unmarshaller.unmarshall(createCloudEventWithData(new byte[] {(byte) 0xff, 0x00}));
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    for (JacksonBinaryFormat format : JacksonBinaryFormat.detect(getClass().getClassLoader())) {
+      ListParameterizedType type = new ListParameterizedType(Pojo.class);
+      FunctionResultMarshaller marshaller = new JacksonBinaryFunctionResultMarshaller(format, type);
+      PayloadUnmarshaller unmarshaller = new JacksonBinaryPayloadUnmarshaller(format, type);
+
+      SalesforceFunctionResult result =
+          marshaller.marshall(Arrays.asList(new Pojo("one", 1), new Pojo("two", 2)));
+
+      assertThat(result.getMediaType(), is(equalTo(format.getMediaType())));
+      assertThat(
+          (List<Object>) unmarshaller.unmarshall(createCloudEventWithData(result.getData())),
+          contains(
+              pojo(Object.class).withProperty("text", equalTo("one")),
+              pojo(Object.class).withProperty("text", equalTo("two"))));
+    }
+  }
+
+  @Test
+  public void testRoundTripPrivateFields() throws Exception {
+    for (JacksonBinaryFormat format : JacksonBinaryFormat.detect(getClass().getClassLoader())) {
+      FunctionResultMarshaller marshaller =
+          new JacksonBinaryFunctionResultMarshaller(format, PrivateFieldsPojo.class);
+      PayloadUnmarshaller unmarshaller =
+          new JacksonBinaryPayloadUnmarshaller(format, PrivateFieldsPojo.class);
+
+      SalesforceFunctionResult result = marshaller.marshall(new PrivateFieldsPojo("one", 1));
+      PrivateFieldsPojo pojo =
+          (PrivateFieldsPojo) unmarshaller.unmarshall(createCloudEventWithData(result.getData()));
+
+      assertThat(pojo.text, is(equalTo("one")));
+      assertThat(pojo.number, is(equalTo(1)));
+    }
+  }
+
+  private JacksonBinaryFormat getFormat(MediaType mediaType) {
+    return JacksonBinaryFormat.detect(getClass().getClassLoader()).stream()
+        .filter(format -> format.getMediaType().equals(mediaType))
+        .findFirst()
+        .orElseThrow(IllegalStateException::new);
+  }
+
+  private CloudEvent createCloudEventWithData(byte[] data) {
+    return new CloudEventBuilder()
+        .withId("id")
+        .withSource(URI.create("urn:foo"))
+        .withType("type")
+        .withData(data)
+        .build();
+  }
+
+  public static class Pojo {
+    private String text;
+    private int number;
+
+    public Pojo() {}
+
+    public Pojo(String text, int number) {
+      this.text = text;
+      this.number = number;
+    }
+
+    public String getText() {
+      return text;
+    }
+
+    public int getNumber() {
+      return number;
+    }
+  }
+
+  // Binary formats are only used for types annotated for Jackson, which may declare their
+  // properties on private fields without any accessors.
+  public static class PrivateFieldsPojo {
+    @JsonProperty("text")
+    private String text;
+
+    @JsonProperty("number")
+    private int number;
+
+    private PrivateFieldsPojo() {}
+
+    public PrivateFieldsPojo(String text, int number) {
+      this.text = text;
+      this.number = number;
+    }
+  }
+}
@@ -16,8 +16,15 @@ import com.google.gson.annotations.SerializedName;
 import com.salesforce.functions.jvm.runtime.json.ListParameterizedType;
 import com.salesforce.functions.jvm.runtime.json.exception.AmbiguousJsonLibraryException;
 import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionResultMarshallingException;
+import com.salesforce.functions.jvm.runtime.util.ByteArrayPool;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
 
@@ -37,6 +44,98 @@ public class JsonFunctionResultMarshallerTest {
         is(equalTo("{\"data\":\"Hello 👋🏻!\"}".getBytes(StandardCharsets.UTF_8))));
   }
 
+  @Test
+  public void testMarshallTo() throws Exception {
+    FunctionResultMarshaller marshaller =
+        new JsonFunctionResultMarshaller(PojoWithoutAnnotations.class);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    marshaller.marshallTo(new PojoWithoutAnnotations("Hello 👋🏻!"), outputStream);
+
+    assertThat(
+        outputStream.toByteArray(),
+        is(equalTo("{\"data\":\"Hello 👋🏻!\"}".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  public void testDataBuffer() throws Exception {
+    FunctionResultMarshaller marshaller =
+        new JsonFunctionResultMarshaller(PojoWithoutAnnotations.class);
+    SalesforceFunctionResult result = marshaller.marshall(new PojoWithoutAnnotations("Hello!"));
+
+    ByteBuffer dataBuffer = result.getDataBuffer();
+    byte[] data = new byte[dataBuffer.remaining()];
+    dataBuffer.get(data);
+
+    assertThat(data, is(equalTo("{\"data\":\"Hello!\"}".getBytes(StandardCharsets.UTF_8))));
+    assertThat(result.getDataBuffer().remaining(), is(equalTo(data.length)));
+  }
+
+  @Test
+  public void testReleaseReturnsPooledBuffer() throws Exception {
+    FunctionResultMarshaller marshaller =
+        new JsonFunctionResultMarshaller(PojoWithoutAnnotations.class);
+
+    long leasedCount = ByteArrayPool.shared().getLeasedCount();
+    SalesforceFunctionResult result = marshaller.marshall(new PojoWithoutAnnotations("Hello!"));
+    assertThat(ByteArrayPool.shared().getLeasedCount(), is(equalTo(leasedCount + 1)));
+
+    result.withPhaseTimings(null).release();
+    result.release();
+    assertThat(ByteArrayPool.shared().getLeasedCount(), is(equalTo(leasedCount)));
+  }
+
+  @Test
+  public void testLargeResult() throws Exception {
+    FunctionResultMarshaller marshaller =
+        new JsonFunctionResultMarshaller(PojoWithoutAnnotations.class);
+
+    // Larger than the initial buffer to ensure the marshalled data spans multiple pooled buffers.
+    char[] chars = new char[100 * 1024];
+    Arrays.fill(chars, 'a');
+    String string = new String(chars);
+
+    long leasedCount = ByteArrayPool.shared().getLeasedCount();
+    SalesforceFunctionResult result = marshaller.marshall(new PojoWithoutAnnotations(string));
+
+    assertThat(
+        result.getData(),
+        is(equalTo(("{\"data\":\"" + string + "\"}").getBytes(StandardCharsets.UTF_8))));
+
+    result.release();
+    assertThat(ByteArrayPool.shared().getLeasedCount(), is(equalTo(leasedCount)));
+  }
+
+  @Test
+  public void testFailedMarshallingReleasesPooledBuffer() {
+    FunctionResultMarshaller marshaller =
+        new FunctionResultMarshaller() {
+          @Override
+          public MediaType getMediaType() {
+            return MediaType.JSON_UTF_8;
+          }
+
+          @Override
+          public Type getSourceType() {
+            return Object.class;
+          }
+
+          @Override
+          public void marshallTo(Object object, OutputStream outputStream)
+              throws FunctionResultMarshallingException {
+            throw new FunctionResultMarshallingException("Failed!", new RuntimeException());
+          }
+        };
+
+    long leasedCount = ByteArrayPool.shared().getLeasedCount();
+    try {
+      marshaller.marshall(new Object());
+    } catch (FunctionResultMarshallingException e) {
+      // Expected
+    }
+
+    assertThat(ByteArrayPool.shared().getLeasedCount(), is(equalTo(leasedCount)));
+  }
+
   @Test
   public void testPojoWithGsonAnnotations() throws Exception {
     FunctionResultMarshaller marshaller =
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sfjavafunction.marshalling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import com.google.common.net.MediaType;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.SalesforceFunctionResult;
+import com.salesforce.functions.jvm.runtime.sfjavafunction.exception.FunctionResultMarshallingException;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class OctetStreamFunctionResultMarshallerTest {
+  private static final byte[] DATA = new byte[] {0x00, 0x01, (byte) 0xfe, (byte) 0xff};
+
+  @Test
+  public void testByteArray() {
+    FunctionResultMarshaller marshaller = new OctetStreamFunctionResultMarshaller(byte[].class);
+    SalesforceFunctionResult result = marshaller.marshall(DATA);
+
+    assertThat(marshaller.getSourceType(), is(equalTo(byte[].class)));
+    assertThat(result.getMediaType(), is(MediaType.OCTET_STREAM));
+    assertThat(result.getData(), is(equalTo(DATA)));
+  }
+
+  @Test
+  public void testByteBuffer() {
+    FunctionResultMarshaller marshaller = new OctetStreamFunctionResultMarshaller(ByteBuffer.class);
+
+    ByteBuffer heapBuffer =
+        ByteBuffer.wrap(new byte[] {0x42, 0x00, 0x01, (byte) 0xfe, (byte) 0xff});
+    heapBuffer.position(1);
+    assertThat(marshaller.marshall(heapBuffer).getData(), is(equalTo(DATA)));
+    assertThat(heapBuffer.position(), is(equalTo(1)));
+
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(DATA.length);
+    directBuffer.put(DATA).flip();
+    assertThat(marshaller.marshall(directBuffer).getData(), is(equalTo(DATA)));
+  }
+
+  @Test
+  public void testMarshallTo() {
+    FunctionResultMarshaller marshaller = new OctetStreamFunctionResultMarshaller(ByteBuffer.class);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(DATA.length);
+    directBuffer.put(DATA).flip();
+    marshaller.marshallTo(directBuffer, outputStream);
+
+    assertThat(outputStream.toByteArray(), is(equalTo(DATA)));
+  }
+
+  @Test
+  public void testNull() {
+    FunctionResultMarshaller marshaller = new OctetStreamFunctionResultMarshaller(byte[].class);
+    SalesforceFunctionResult result = marshaller.marshall(null);
+
+    assertThat(result.getMediaType(), is(MediaType.OCTET_STREAM));
+    assertThat(result.getData(), is(equalTo(new byte[0])));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    marshaller.marshallTo(null, outputStream);
+    assertThat(outputStream.size(), is(equalTo(0)));
+  }
+
+  @Test(expected = FunctionResultMarshallingException.class)
+  public void testFailure() {
+    FunctionResultMarshaller marshaller = new OctetStreamFunctionResultMarshaller(byte[].class);
+    marshaller.marshall("Hello!");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedSourceType() {
+    new OctetStreamFunctionResultMarshaller(String.class);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+
+public class ByteArrayPoolTest {
+
+  @Test
+  public void testSizeClasses() {
+    ByteArrayPool pool = new ByteArrayPool(4);
+
+    assertThat(pool.acquire(0).length, is(equalTo(1024)));
+    assertThat(pool.acquire(1024).length, is(equalTo(1024)));
+    assertThat(pool.acquire(1025).length, is(equalTo(4 * 1024)));
+    assertThat(pool.acquire(20 * 1024).length, is(equalTo(64 * 1024)));
+    assertThat(pool.acquire(ByteArrayPool.getMaximumPooledSize()).length, is(equalTo(256 * 1024)));
+  }
+
+  @Test
+  public void testReuse() {
+    ByteArrayPool pool = new ByteArrayPool(4);
+
+    byte[] array = pool.acquire(100);
+    pool.release(array);
+
+    assertThat(pool.acquire(500), is(sameInstance(array)));
+    assertThat(pool.acquire(500), is(not(sameInstance(array))));
+  }
+
+  @Test
+  public void testLargeArraysAreNotPooled() {
+    ByteArrayPool pool = new ByteArrayPool(4);
+
+    int size = ByteArrayPool.getMaximumPooledSize() + 1;
+    byte[] array = pool.acquire(size);
+    assertThat(array.length, is(equalTo(size)));
+    assertThat(pool.getLeasedCount(), is(equalTo(0L)));
+
+    pool.release(array);
+    assertThat(pool.acquire(size), is(not(sameInstance(array))));
+    assertThat(pool.getLeasedCount(), is(equalTo(0L)));
+  }
+
+  @Test
+  public void testSizeClassesAreBounded() {
+    ByteArrayPool pool = new ByteArrayPool(1);
+
+    byte[] first = pool.acquire(10);
+    byte[] second = pool.acquire(10);
+    pool.release(first);
+    pool.release(second);
+
+    assertThat(pool.acquire(10), is(sameInstance(first)));
+    assertThat(pool.acquire(10), is(not(anyOf(sameInstance(first), sameInstance(second)))));
+  }
+
+  @Test
+  public void testLeasedCount() {
+    ByteArrayPool pool = new ByteArrayPool(4);
+
+    byte[] first = pool.acquire(10);
+    byte[] second = pool.acquire(10 * 1024);
+    assertThat(pool.getLeasedCount(), is(equalTo(2L)));
+
+    pool.release(first);
+    pool.release(second);
+    assertThat(pool.getLeasedCount(), is(equalTo(0L)));
+  }
+}
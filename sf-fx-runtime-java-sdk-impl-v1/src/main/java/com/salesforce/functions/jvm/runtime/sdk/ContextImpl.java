@@ -12,20 +12,59 @@ import com.salesforce.functions.jvm.sdk.Context;
 import com.salesforce.functions.jvm.sdk.Org;
 import io.cloudevents.CloudEvent;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 
 @SuppressWarnings("unused")
 public class ContextImpl implements Context {
   private final CloudEvent cloudEvent;
-  private final OrgImpl org;
+  private final Supplier<SalesforceContextCloudEventExtension> salesforceContext;
+  private final Supplier<SalesforceFunctionContextCloudEventExtension> functionContext;
+  private final String apiVersion;
+  private final CompletionStage<?> cancellation;
+  private volatile OrgImpl org;
 
   public ContextImpl(
       CloudEvent cloudEvent,
       SalesforceContextCloudEventExtension salesforceContext,
       SalesforceFunctionContextCloudEventExtension functionContext,
       String apiVersion) {
+    this(cloudEvent, salesforceContext, functionContext, apiVersion, new CompletableFuture<>());
+  }
+
+  public ContextImpl(
+      CloudEvent cloudEvent,
+      SalesforceContextCloudEventExtension salesforceContext,
+      SalesforceFunctionContextCloudEventExtension functionContext,
+      String apiVersion,
+      CompletionStage<?> cancellation) {
+    this(cloudEvent, () -> salesforceContext, () -> functionContext, apiVersion, cancellation);
+  }
+
+  /**
+   * Creates a context whose org is only constructed when it is first accessed. The given suppliers
+   * are not called before that, which allows the runtime to defer decoding the CloudEvent
+   * extensions until a function actually uses the org context.
+   *
+   * @param cloudEvent The CloudEvent of the invocation.
+   * @param salesforceContext Supplies the decoded sfcontext CloudEvent extension.
+   * @param functionContext Supplies the decoded sffncontext CloudEvent extension.
+   * @param apiVersion The Salesforce API version the org uses.
+   * @param cancellation Completes when the invocation is cancelled, i.e. because it timed out.
+   */
+  public ContextImpl(
+      CloudEvent cloudEvent,
+      Supplier<SalesforceContextCloudEventExtension> salesforceContext,
+      Supplier<SalesforceFunctionContextCloudEventExtension> functionContext,
+      String apiVersion,
+      CompletionStage<?> cancellation) {
     this.cloudEvent = cloudEvent;
-    this.org = new OrgImpl(salesforceContext, functionContext, apiVersion);
+    this.salesforceContext = salesforceContext;
+    this.functionContext = functionContext;
+    this.apiVersion = apiVersion;
+    this.cancellation = cancellation;
   }
 
   @Override
@@ -37,6 +76,18 @@ public class ContextImpl implements Context {
   @Override
   @Nonnull
   public Optional<Org> getOrg() {
-    return Optional.of(org);
+    OrgImpl result = org;
+    if (result == null) {
+      synchronized (this) {
+        result = org;
+        if (result == null) {
+          result =
+              new OrgImpl(salesforceContext.get(), functionContext.get(), apiVersion, cancellation);
+          org = result;
+        }
+      }
+    }
+
+    return Optional.of(result);
   }
 }
@@ -22,6 +22,8 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
@@ -35,7 +37,12 @@ public class DataApiImpl implements DataApi {
   private final RestApi restApi;
 
   public DataApiImpl(URI orgDomainUrl, String apiVersion, String accessToken) {
-    this.restApi = new RestApi(orgDomainUrl, apiVersion, accessToken);
+    this(orgDomainUrl, apiVersion, accessToken, new CompletableFuture<>());
+  }
+
+  public DataApiImpl(
+      URI orgDomainUrl, String apiVersion, String accessToken, CompletionStage<?> cancellation) {
+    this.restApi = new RestApi(orgDomainUrl, apiVersion, accessToken, cancellation);
   }
 
   @Override
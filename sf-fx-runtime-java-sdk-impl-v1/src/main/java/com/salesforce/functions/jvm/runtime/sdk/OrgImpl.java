@@ -11,6 +11,8 @@ import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceFunctionContext
 import com.salesforce.functions.jvm.sdk.Org;
 import com.salesforce.functions.jvm.sdk.User;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
 
 public class OrgImpl implements Org {
@@ -23,11 +25,22 @@ public class OrgImpl implements Org {
       SalesforceContextCloudEventExtension salesforceContext,
       SalesforceFunctionContextCloudEventExtension functionContext,
       String apiVersion) {
+    this(salesforceContext, functionContext, apiVersion, new CompletableFuture<>());
+  }
+
+  public OrgImpl(
+      SalesforceContextCloudEventExtension salesforceContext,
+      SalesforceFunctionContextCloudEventExtension functionContext,
+      String apiVersion,
+      CompletionStage<?> cancellation) {
     this.apiVersion = apiVersion;
     this.salesforceContext = salesforceContext;
     this.dataApi =
         new DataApiImpl(
-            this.getDomainUrl(), this.getApiVersion(), functionContext.getAccessToken());
+            this.getDomainUrl(),
+            this.getApiVersion(),
+            functionContext.getAccessToken(),
+            cancellation);
     this.user = new UserImpl(salesforceContext);
   }
 
@@ -11,6 +11,7 @@ import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import com.salesforce.functions.jvm.runtime.cloudevent.SalesforceContextCloudEventExtension;
@@ -22,6 +23,8 @@ import com.salesforce.functions.jvm.sdk.User;
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.v1.CloudEventBuilder;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -71,6 +74,35 @@ public class ContextImplTest {
     assertThat(context.getOrg(), is(optionalWithValue()));
   }
 
+  @Test
+  public void testOrgIsCreatedOnFirstAccess() {
+    AtomicInteger decodeCount = new AtomicInteger();
+
+    Context context =
+        new ContextImpl(
+            cloudEvent,
+            () -> {
+              decodeCount.incrementAndGet();
+              return contextExtension;
+            },
+            () -> {
+              decodeCount.incrementAndGet();
+              return functionContextExtension;
+            },
+            "53.0",
+            new CompletableFuture<>());
+
+    assertThat(context.getId(), is(equalTo(cloudEvent.getId())));
+    assertThat(decodeCount.get(), is(equalTo(0)));
+
+    Org org = context.getOrg().get();
+    assertThat(org.getId(), is(equalTo(contextExtension.getUserContext().getOrgId())));
+    assertThat(decodeCount.get(), is(equalTo(2)));
+
+    assertThat(context.getOrg(), is(optionalWithValue(sameInstance(org))));
+    assertThat(decodeCount.get(), is(equalTo(2)));
+  }
+
   @Test
   public void testOrgValues() {
     Org org = new OrgImpl(contextExtension, functionContextExtension, "53.0");
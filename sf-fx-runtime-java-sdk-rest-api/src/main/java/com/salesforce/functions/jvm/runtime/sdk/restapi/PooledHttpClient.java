@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.salesforce.functions.jvm.runtime.sdk.restapi;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+/**
+ * Holds the {@link CloseableHttpClient} that is shared between all {@link RestApi} instances.
+ *
+ * <p>Every invocation creates new {@link RestApi} instances, but they almost always talk to the
+ * same org domain. Sharing one pooled client allows consecutive requests, even across invocations,
+ * to reuse already established (TLS) connections instead of paying for a new handshake each time.
+ *
+ * <p>Since this module is bundled into every SDK implementation JAR, there is one pool per SDK
+ * implementation class loader which effectively makes it a process-wide pool.
+ */
+final class PooledHttpClient {
+  private static final int MAX_CONNECTIONS_TOTAL = 100;
+  private static final int MAX_CONNECTIONS_PER_ROUTE = 20;
+  private static final int VALIDATE_AFTER_INACTIVITY_MILLIS = 1;
+  private static final long MAX_IDLE_TIME_SECONDS = 30;
+  private static final long DEFAULT_KEEP_ALIVE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private PooledHttpClient() {}
+
+  static CloseableHttpClient get() {
+    return Holder.CLIENT;
+  }
+
+  private static CloseableHttpClient create() {
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(MAX_CONNECTIONS_TOTAL);
+    connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+    // Pooled connections might have been closed by the server while they were idle. Checking them
+    // before reuse avoids failing requests that cannot be retried automatically (i.e. POST). The
+    // check takes at most a millisecond which is still much cheaper than a new (TLS) handshake.
+    connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLIS);
+
+    // Servers that don't announce a keep-alive timeout would otherwise cause connections to be kept
+    // around indefinitely.
+    ConnectionKeepAliveStrategy keepAliveStrategy =
+        (response, context) -> {
+          long keepAliveMillis =
+              DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+          return keepAliveMillis > 0 ? keepAliveMillis : DEFAULT_KEEP_ALIVE_MILLIS;
+        };
+
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setKeepAliveStrategy(keepAliveStrategy)
+        // Starts a daemon thread that periodically closes expired and idle connections
+        .evictExpiredConnections()
+        .evictIdleConnections(MAX_IDLE_TIME_SECONDS, TimeUnit.SECONDS)
+        .build();
+  }
+
+  // Lazily creates the client when it's first needed, functions that never call the Data API won't
+  // pay for the pool and its eviction thread.
+  private static final class Holder {
+    private static final CloseableHttpClient CLIENT = create();
+  }
+}
@@ -13,14 +13,15 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.*;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.ByteArrayEntity;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.util.EntityUtils;
 
 public final class RestApi {
@@ -28,13 +29,49 @@ public final class RestApi {
   private final String apiVersion;
   private final String accessToken;
   private final String clientVersion;
+  private final CloseableHttpClient client;
+  private final Set<HttpUriRequest> inFlightRequests = ConcurrentHashMap.newKeySet();
+  private volatile boolean cancelled = false;
   private final Gson gson = new Gson();
 
   public RestApi(URI orgDomainUrl, String apiVersion, String accessToken) {
+    this(orgDomainUrl, apiVersion, accessToken, new CompletableFuture<>());
+  }
+
+  public RestApi(
+      URI orgDomainUrl, String apiVersion, String accessToken, CompletionStage<?> cancellation) {
+    this(orgDomainUrl, apiVersion, accessToken, PooledHttpClient.get(), cancellation);
+  }
+
+  public RestApi(
+      URI orgDomainUrl, String apiVersion, String accessToken, CloseableHttpClient client) {
+    this(orgDomainUrl, apiVersion, accessToken, client, new CompletableFuture<>());
+  }
+
+  /**
+   * Creates a new RestApi instance.
+   *
+   * @param orgDomainUrl The domain URL of the org.
+   * @param apiVersion The API version to use.
+   * @param accessToken The access token to authenticate requests with.
+   * @param client The HTTP client to execute requests with.
+   * @param cancellation Completes when the function invocation this instance belongs to has been
+   *     cancelled. All in-flight and future requests will then be aborted with an {@link
+   *     IOException}.
+   */
+  public RestApi(
+      URI orgDomainUrl,
+      String apiVersion,
+      String accessToken,
+      CloseableHttpClient client,
+      CompletionStage<?> cancellation) {
     this.orgDomainUrl = orgDomainUrl;
     this.apiVersion = apiVersion;
     this.accessToken = accessToken;
+    this.client = client;
     this.clientVersion = readVersionStringFromProperties().orElse("?.?.?-unknown");
+
+    cancellation.thenRun(this::cancel);
   }
 
   public URI getOrgDomainUrl() {
@@ -58,33 +95,36 @@ public final class RestApi {
       throw new RuntimeException("Unexpected URISyntaxException!", e);
     }
 
-    HttpClient client = HttpClients.createDefault();
-
     HttpUriRequest request =
         createBaseHttpRequest(apiRequest.getHttpMethod(), uri, apiRequest.getBody());
 
-    HttpResponse response = client.execute(request);
-
-    Map<String, String> headers = new HashMap<>();
-    for (Header header : response.getAllHeaders()) {
-      // This will overwrite header values for duplicate headers. This is intentional and consistent
-      // with the composite API that does not support multiple headers with the same name.
-      headers.put(header.getName(), header.getValue());
-    }
+    // Closing the response releases the underlying connection back into the pool. This must also
+    // happen when processing the response fails, otherwise the connection would leak.
+    try (CloseableHttpResponse response = executeAbortable(request)) {
+      Map<String, String> headers = new HashMap<>();
+      for (Header header : response.getAllHeaders()) {
+        // This will overwrite header values for duplicate headers. This is intentional and
+        // consistent with the composite API that does not support multiple headers with the same
+        // name.
+        headers.put(header.getName(), header.getValue());
+      }
 
-    HttpEntity entity = response.getEntity();
-    if (entity == null) {
-      return apiRequest.processResponse(response.getStatusLine().getStatusCode(), headers, null);
-    } else {
-      byte[] bodyBytes = EntityUtils.toByteArray(response.getEntity());
-
-      try {
-        return apiRequest.processResponse(
-            response.getStatusLine().getStatusCode(), headers, apiRequest.parseBody(bodyBytes));
-      } catch (BodyParsingException e) {
-        throw new RestApiException(
-            "Could not parse API response!\n" + Arrays.toString(bodyBytes), e);
+      HttpEntity entity = response.getEntity();
+      if (entity == null) {
+        return apiRequest.processResponse(response.getStatusLine().getStatusCode(), headers, null);
+      } else {
+        byte[] bodyBytes = EntityUtils.toByteArray(response.getEntity());
+
+        try {
+          return apiRequest.processResponse(
+              response.getStatusLine().getStatusCode(), headers, apiRequest.parseBody(bodyBytes));
+        } catch (BodyParsingException e) {
+          throw new RestApiException(
+              "Could not parse API response!\n" + Arrays.toString(bodyBytes), e);
+        }
       }
+    } finally {
+      inFlightRequests.remove(request);
     }
   }
 
@@ -93,8 +133,33 @@ public final class RestApi {
 
     HttpUriRequest request = createBaseHttpRequest(HttpMethod.GET, uri, Optional.empty());
 
-    HttpClient client = HttpClients.createDefault();
-    return ByteBuffer.wrap(EntityUtils.toByteArray(client.execute(request).getEntity()));
+    try (CloseableHttpResponse response = executeAbortable(request)) {
+      return ByteBuffer.wrap(EntityUtils.toByteArray(response.getEntity()));
+    } finally {
+      inFlightRequests.remove(request);
+    }
+  }
+
+  // Executes the request while keeping track of it until the caller removes it from
+  // inFlightRequests, after the response has been consumed. Thread interrupts don't unblock socket
+  // IO, so requests of a cancelled invocation have to be aborted explicitly.
+  private CloseableHttpResponse executeAbortable(HttpUriRequest request) throws IOException {
+    inFlightRequests.add(request);
+
+    // Checked after registering the request, cancel() either sees the request or we see the flag.
+    if (cancelled) {
+      request.abort();
+    }
+
+    return client.execute(request);
+  }
+
+  private void cancel() {
+    cancelled = true;
+
+    for (HttpUriRequest request : inFlightRequests) {
+      request.abort();
+    }
   }
 
   private <A extends RestApiRequestBody> HttpUriRequest createBaseHttpRequest(
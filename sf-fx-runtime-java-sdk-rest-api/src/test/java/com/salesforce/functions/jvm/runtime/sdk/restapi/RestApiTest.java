@@ -6,14 +6,24 @@
  */
 package com.salesforce.functions.jvm.runtime.sdk.restapi;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -43,6 +53,91 @@ public class RestApiTest {
     Assert.fail("Expected Exception!");
   }
 
+  @Test
+  public void testConnectionsAreReleased()
+      throws IOException, RestApiErrorsException, RestApiException {
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(1);
+    connectionManager.setDefaultMaxPerRoute(1);
+
+    // If a connection would not be released, the next request would not be able to lease a
+    // connection from the pool and fail with a timeout.
+    try (CloseableHttpClient client =
+        HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(
+                RequestConfig.custom().setConnectionRequestTimeout(1000).build())
+            .build()) {
+
+      RestApi pooledRestApi =
+          new RestApi(
+              restApi.getOrgDomainUrl(), restApi.getApiVersion(), restApi.getAccessToken(), client);
+
+      for (int i = 0; i < 5; i++) {
+        QueryRecordResult result =
+            pooledRestApi.execute(new QueryRecordRestApiRequest("SELECT Name FROM Account"));
+        assertThat(result.getTotalSize(), is(equalTo(5L)));
+
+        try {
+          pooledRestApi.execute(new QueryRecordRestApiRequest("SELECT Name FROM FruitVendor__c"));
+          Assert.fail("Expected Exception!");
+        } catch (RestApiException e) {
+          assertThat(e.getMessage(), startsWith("Could not parse API response!"));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testInFlightRequestIsAbortedOnCancellation() throws Exception {
+    wireMock.stubFor(
+        get(urlPathEqualTo("/slow")).willReturn(aResponse().withStatus(200).withFixedDelay(30000)));
+
+    CompletableFuture<Void> cancellation = new CompletableFuture<>();
+    RestApi cancellableRestApi =
+        new RestApi(
+            restApi.getOrgDomainUrl(),
+            restApi.getApiVersion(),
+            restApi.getAccessToken(),
+            cancellation);
+
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      executor.schedule(() -> cancellation.complete(null), 200, TimeUnit.MILLISECONDS);
+
+      long startNanoTime = System.nanoTime();
+      try {
+        cancellableRestApi.downloadFile("/slow");
+        Assert.fail("Expected Exception!");
+      } catch (IOException e) {
+        assertThat(
+            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanoTime), is(lessThan(10L)));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testRequestsAfterCancellationAreAborted() throws Exception {
+    CompletableFuture<Void> cancellation = new CompletableFuture<>();
+    cancellation.complete(null);
+
+    RestApi cancelledRestApi =
+        new RestApi(
+            restApi.getOrgDomainUrl(),
+            restApi.getApiVersion(),
+            restApi.getAccessToken(),
+            cancellation);
+
+    try {
+      cancelledRestApi.execute(new QueryRecordRestApiRequest("SELECT Name FROM Account"));
+      Assert.fail("Expected Exception!");
+    } catch (IOException e) {
+      wireMock.verify(0, anyRequestedFor(anyUrl()));
+    }
+  }
+
   @Test
   public void testApiVersionGetter() {
     assertThat(restApi.getApiVersion(), is(equalTo("53.0")));